@@ -0,0 +1,109 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.GsonPlus;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Measures the latency of serializing and deserializing a small object, with a new Gson per call (the previous
+ * behavior of SpecsGson) and with the shared instances.
+ */
+public class SpecsGsonTester {
+
+    private static final int CALLS = 20_000;
+
+    private static final int REPETITIONS = 3;
+
+    static class Sample {
+        String name;
+        int value;
+        List<Double> measurements;
+
+        Sample(int value) {
+            this.name = "sample" + value;
+            this.value = value;
+            this.measurements = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                measurements.add(value * 0.5 + i);
+            }
+        }
+    }
+
+    @Test
+    public void test() {
+        var sample = new Sample(42);
+
+        var json = new GsonBuilder().setPrettyPrinting().create().toJson(sample);
+        assertEquals(json, SpecsGson.toJson(sample));
+
+        for (int i = 0; i < REPETITIONS; i++) {
+            measure("New Gson, toJson", () -> new GsonBuilder().setPrettyPrinting().create().toJson(sample));
+            measure("Shared Gson, toJson", () -> SpecsGson.toJson(sample));
+            measure("New Gson, fromJson", () -> new Gson().fromJson(json, Sample.class));
+            measure("Shared Gson, fromJson", () -> SpecsGson.fromJson(json, Sample.class));
+        }
+    }
+
+    /**
+     * Writes and reads back an array of one million elements, without having it in memory.
+     */
+    @Test
+    public void testStreamArray() throws Exception {
+        int numElements = 1_000_000;
+        var file = File.createTempFile("specs_gson", ".json");
+
+        try {
+            long start = System.nanoTime();
+            SpecsGson.writeArray(IntStream.range(0, numElements).mapToObj(Sample::new), file);
+            long writeNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            var count = new AtomicLong();
+            try (var elements = SpecsGson.streamArray(file, Sample.class)) {
+                elements.forEach(sample -> {
+                    assertEquals(count.getAndIncrement(), sample.value);
+                });
+            }
+            long readNanos = System.nanoTime() - start;
+
+            assertEquals(numElements, count.get());
+            System.out.println("Stream array: write " + (long) (numElements / (writeNanos / 1e9))
+                    + " elements/s, read " + (long) (numElements / (readNanos / 1e9)) + " elements/s");
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void measure(String name, Supplier<Object> call) {
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            assertNotNull(call.get());
+        }
+        long nanos = System.nanoTime() - start;
+
+        System.out.println(name + ": " + String.format("%.2f", nanos / 1000.0 / CALLS) + " us/call");
+    }
+}
@@ -26,7 +26,6 @@ import org.suikasoft.jOptions.Datakey.DataKey;
 import org.suikasoft.jOptions.Datakey.KeyFactory;
 import org.suikasoft.jOptions.Interfaces.DataStore;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 
 import pt.up.fe.specs.util.SpecsFactory;
@@ -70,7 +69,7 @@ public class JsonStringList extends AbstractList<String> {
             value = new JsonStringList(value);
         }
 
-        return new Gson().toJson(((JsonStringList) value).stringList);
+        return SpecsGson.getGson(false).toJson(((JsonStringList) value).stringList);
     }
 
     private static List<String> decode(String json) {
@@ -78,7 +77,7 @@ public class JsonStringList extends AbstractList<String> {
 
         List<String> decoded;
         try {
-            String[] decodedPrim = new Gson().fromJson(json.strip(), String[].class);
+            String[] decodedPrim = SpecsGson.getGson(false).fromJson(json.strip(), String[].class);
             decoded = Arrays.asList(decodedPrim);
         } catch (JsonSyntaxException e) {
             throw new IllegalArgumentException("Exception while deconding JSON of string list: " + e);
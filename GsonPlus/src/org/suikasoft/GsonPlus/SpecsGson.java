@@ -13,23 +13,220 @@
 
 package org.suikasoft.GsonPlus;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
 
+import pt.up.fe.specs.util.SpecsIo;
+
+/**
+ * Utility methods to use Gson.
+ * 
+ * <p>
+ * Gson instances are shared, one with pretty printing and one compact, since they are expensive to create and keep
+ * caches of type adapters. They are thread-safe.
+ */
 public class SpecsGson {
 
+    private static final Gson GSON = new Gson();
+    private static final Gson PRETTY_GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    /**
+     * The returned instance is shared.
+     * 
+     * @param prettyPrinting
+     * @return
+     */
+    public static Gson getGson(boolean prettyPrinting) {
+        return prettyPrinting ? PRETTY_GSON : GSON;
+    }
+
+    /**
+     * 
+     * @param aClass
+     * @return the adapter of the shared instance for the given class, which is created only once
+     */
+    public static <T> TypeAdapter<T> getAdapter(Class<T> aClass) {
+        return GSON.getAdapter(aClass);
+    }
+
     public static String toJson(Object object) {
-        return new GsonBuilder().setPrettyPrinting().create().toJson(object);
+        return PRETTY_GSON.toJson(object);
     }
 
     public static <T> T fromJson(String json, Class<T> aClass) {
-        return new Gson().fromJson(json, aClass);
+        return GSON.fromJson(json, aClass);
+    }
+
+    /**
+     * Reads the elements of a JSON file whose top-level value is an array, one at a time.
+     * 
+     * <p>
+     * The file is closed when the stream is closed, or when the last element is read. Use it in a try-with-resources
+     * statement if the stream might not be consumed until the end.
+     * 
+     * @param file
+     * @param aClass
+     *            the class of the elements
+     * @return a sequential stream over the elements of the array
+     */
+    public static <T> Stream<T> streamArray(File file, Class<T> aClass) {
+        try {
+            return streamArray(Files.newBufferedReader(file.toPath(), Charset.forName(SpecsIo.DEFAULT_CHAR_SET)),
+                    aClass);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not open JSON file '" + file + "'", e);
+        }
+    }
+
+    /**
+     * Reads the elements of a JSON document whose top-level value is an array, one at a time. The reader is closed
+     * when the returned stream is closed, or when the last element is read.
+     * 
+     * @param reader
+     * @param aClass
+     *            the class of the elements
+     * @return a sequential stream over the elements of the array
+     */
+    public static <T> Stream<T> streamArray(Reader reader, Class<T> aClass) {
+        var iterator = new ArrayIterator<>(GSON.newJsonReader(reader), getAdapter(aClass));
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Iterates over the elements of a top-level array with a JsonReader, only the current element is in memory.
+     */
+    private static class ArrayIterator<T> implements Iterator<T>, AutoCloseable {
+
+        private final JsonReader reader;
+        private final TypeAdapter<T> adapter;
+        private boolean hasNext;
+
+        public ArrayIterator(JsonReader reader, TypeAdapter<T> adapter) {
+            this.reader = reader;
+            this.adapter = adapter;
+
+            try {
+                reader.beginArray();
+                advance();
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private void advance() throws IOException {
+            hasNext = reader.hasNext();
+
+            if (!hasNext) {
+                reader.endArray();
+                reader.close();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                T element = adapter.read(reader);
+                advance();
+                return element;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            hasNext = false;
+
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the elements as a compact JSON array, one at a time, without building the document in memory.
+     * 
+     * @param elements
+     * @param file
+     */
+    public static <T> void writeArray(Stream<T> elements, File file) {
+        try (var writer = Files.newBufferedWriter(file.toPath(), Charset.forName(SpecsIo.DEFAULT_CHAR_SET))) {
+            writeArray(elements, writer);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write JSON file '" + file + "'", e);
+        }
+    }
+
+    /**
+     * Writes the elements as a compact JSON array, one at a time, without building the document in memory. The
+     * writer is flushed, but not closed.
+     * 
+     * @param elements
+     * @param writer
+     */
+    public static <T> void writeArray(Stream<T> elements, Writer writer) {
+        try {
+            var jsonWriter = GSON.newJsonWriter(writer);
+
+            jsonWriter.beginArray();
+            elements.forEachOrdered(element -> {
+                if (element == null) {
+                    GSON.toJson(JsonNull.INSTANCE, jsonWriter);
+                    return;
+                }
+
+                GSON.toJson(element, element.getClass(), jsonWriter);
+            });
+            jsonWriter.endArray();
+
+            // Flushes the writer, the JsonWriter is not closed since that would close the writer
+            jsonWriter.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     public static <T> List<T> asList(JsonElement element, Function<JsonElement, T> mapper) {
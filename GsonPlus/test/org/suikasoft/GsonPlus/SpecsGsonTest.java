@@ -0,0 +1,84 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.GsonPlus;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class SpecsGsonTest {
+
+    /**
+     * Records if the reader was closed.
+     */
+    private static class TestReader extends StringReader {
+
+        private boolean closed = false;
+
+        public TestReader(String string) {
+            super(string);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            super.close();
+        }
+    }
+
+    @Test
+    public void testStreamArray() {
+        var writer = new StringWriter();
+        SpecsGson.writeArray(Arrays.asList(1, 2, 3).stream(), writer);
+        assertEquals("[1,2,3]", writer.toString());
+
+        var reader = new TestReader(writer.toString());
+        try (var elements = SpecsGson.streamArray(reader, Integer.class)) {
+            assertEquals(Arrays.asList(1, 2, 3), elements.collect(Collectors.toList()));
+        }
+        assertTrue(reader.closed);
+    }
+
+    @Test
+    public void testStreamEmptyArray() {
+        var reader = new TestReader(" [ ] ");
+        List<Integer> elements = SpecsGson.streamArray(reader, Integer.class).collect(Collectors.toList());
+
+        assertTrue(elements.isEmpty());
+        // Closed at the end of the array, without closing the stream
+        assertTrue(reader.closed);
+    }
+
+    @Test
+    public void testStreamMalformedElement() {
+        var reader = new TestReader("[1, \"a\", 3]");
+        var elements = SpecsGson.streamArray(reader, Integer.class).iterator();
+
+        assertEquals(Integer.valueOf(1), elements.next());
+        try {
+            elements.next();
+            fail("Expected exception");
+        } catch (RuntimeException e) {
+            assertTrue(reader.closed);
+        }
+
+        assertFalse(elements.hasNext());
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.JacksonPlus;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+
+/**
+ * Measures the latency of serializing and deserializing a small object, with a new mapper per call (the previous
+ * behavior of SpecsJackson) and with the shared mappers.
+ */
+public class SpecsJacksonTester {
+
+    private static final int CALLS = 20_000;
+
+    private static final int REPETITIONS = 3;
+
+    public static class Sample {
+        public String name;
+        public int value;
+        public List<Double> measurements;
+
+        public Sample() {
+        }
+
+        public Sample(int value) {
+            this.name = "sample" + value;
+            this.value = value;
+            this.measurements = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                measurements.add(value * 0.5 + i);
+            }
+        }
+    }
+
+    private static ObjectMapper newMapper(boolean typed) {
+        var mapper = new ObjectMapper();
+        if (typed) {
+            var ptv = BasicPolymorphicTypeValidator.builder().allowIfBaseType(Object.class).build();
+            mapper.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL);
+        }
+        return mapper;
+    }
+
+    @Test
+    public void test() throws Exception {
+        var sample = new Sample(42);
+
+        // Shared mappers must give the same results
+        for (boolean typed : new boolean[] { false, true }) {
+            var json = newMapper(typed).writeValueAsString(sample);
+            assertEquals(json, SpecsJackson.toString(sample, typed));
+            assertEquals(json, SpecsJackson.toString(SpecsJackson.fromString(json, Sample.class, typed), typed));
+        }
+
+        var json = SpecsJackson.toString(sample, true);
+
+        for (int i = 0; i < REPETITIONS; i++) {
+            measure("New mapper, toString", () -> {
+                try {
+                    return newMapper(true).writeValueAsString(sample);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            measure("Shared mapper, toString", () -> SpecsJackson.toString(sample, true));
+
+            measure("New mapper, fromString", () -> {
+                try {
+                    return newMapper(true).readValue(json, Sample.class);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            measure("Shared mapper, fromString", () -> SpecsJackson.fromString(json, Sample.class, true));
+        }
+    }
+
+    /**
+     * Writes and reads back an array of one million elements, without having it in memory.
+     */
+    @Test
+    public void testStreamArray() throws Exception {
+        int numElements = 1_000_000;
+        var file = File.createTempFile("specs_jackson", ".json");
+
+        try {
+            for (boolean typed : new boolean[] { false, true }) {
+                long start = System.nanoTime();
+                SpecsJackson.writeArray(IntStream.range(0, numElements).mapToObj(Sample::new), file, typed);
+                long writeNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                var count = new AtomicLong();
+                try (var elements = SpecsJackson.streamArray(file, Sample.class, typed)) {
+                    elements.forEach(sample -> {
+                        assertEquals(count.getAndIncrement(), sample.value);
+                    });
+                }
+                long readNanos = System.nanoTime() - start;
+
+                assertEquals(numElements, count.get());
+                System.out.println("Stream array" + (typed ? " with type info" : "") + ": write "
+                        + (long) (numElements / (writeNanos / 1e9)) + " elements/s, read "
+                        + (long) (numElements / (readNanos / 1e9)) + " elements/s");
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void measure(String name, Supplier<Object> call) {
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            assertNotNull(call.get());
+        }
+        long nanos = System.nanoTime() - start;
+
+        System.out.println(name + ": " + String.format("%.2f", nanos / 1000.0 / CALLS) + " us/call");
+    }
+}
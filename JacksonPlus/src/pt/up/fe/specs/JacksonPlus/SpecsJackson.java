@@ -13,25 +13,111 @@
 
 package pt.up.fe.specs.JacksonPlus;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
 
 /**
  * Wrapper class with utility methods to use Jackson.
  * 
+ * <p>
+ * Mappers are shared, one without and one with type information, since they are expensive to create and keep caches
+ * of (de)serializers. Readers and writers are also built once per class.
+ * 
  * @author pedro
  *
  */
 public class SpecsJackson {
 
+    private static final ObjectMapper MAPPER = newMapper(false);
+    private static final ObjectMapper TYPED_MAPPER = newMapper(true);
+
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectReader> TYPED_READERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> TYPED_WRITERS = new ConcurrentHashMap<>();
+
+    private static ObjectMapper newMapper(boolean hasTypeInfo) {
+        ObjectMapper mapper = new ObjectMapper();
+
+        if (hasTypeInfo) {
+            PolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator.builder()
+                    .allowIfBaseType(Object.class)
+                    .build();
+            mapper.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL);
+        }
+
+        return mapper;
+    }
+
+    /**
+     * The returned mapper is shared, and must not be configured.
+     * 
+     * @param hasTypeInfo
+     * @return
+     */
+    public static ObjectMapper getMapper(boolean hasTypeInfo) {
+        return hasTypeInfo ? TYPED_MAPPER : MAPPER;
+    }
+
+    /**
+     * 
+     * @param clazz
+     * @param hasTypeInfo
+     * @return a shared reader for values of the given class
+     */
+    public static ObjectReader getReader(Class<?> clazz, boolean hasTypeInfo) {
+        var readers = hasTypeInfo ? TYPED_READERS : READERS;
+        return readers.computeIfAbsent(clazz, key -> getMapper(hasTypeInfo).readerFor(key));
+    }
+
+    /**
+     * 
+     * @param clazz
+     * @param embedTypeInfo
+     * @return a shared writer for values of the given class
+     */
+    public static ObjectWriter getWriter(Class<?> clazz, boolean embedTypeInfo) {
+        var writers = embedTypeInfo ? TYPED_WRITERS : WRITERS;
+        return writers.computeIfAbsent(clazz, key -> getMapper(embedTypeInfo).writerFor(key));
+    }
+
+    private static ObjectWriter getWriter(Object object, boolean embedTypeInfo) {
+        // Same as ObjectMapper.writeValue, which uses the runtime class
+        if (object == null) {
+            return getMapper(embedTypeInfo).writer();
+        }
+
+        return getWriter(object.getClass(), embedTypeInfo);
+    }
+
     public static <T> T fromFile(String filePath, Class<T> clazz) {
 
         return fromFile(filePath, clazz, false);
@@ -52,18 +138,8 @@ public class SpecsJackson {
     public static <T> T fromFile(File file, Class<T> clazz, boolean hasTypeInfo) {
 
         try {
-            FileReader fr = new FileReader(file);
-            BufferedReader br = new BufferedReader(fr);
-
-            ObjectMapper mapper = new ObjectMapper();
-
-            if (hasTypeInfo) {
-                PolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator.builder()
-                        .allowIfBaseType(Object.class)
-                        .build();
-                mapper.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL);
-            }
-            T object = mapper.readValue(br, clazz);
+            // Reads the file with a buffered stream, and detects the encoding (UTF-8 by default)
+            T object = getReader(clazz, hasTypeInfo).readValue(file);
             return object;
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -78,16 +154,7 @@ public class SpecsJackson {
     public static <T> T fromString(String string, Class<T> clazz, boolean hasTypeInfo) {
 
         try {
-            ObjectMapper mapper = new ObjectMapper();
-
-            if (hasTypeInfo) {
-                PolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator.builder()
-                        .allowIfBaseType(Object.class)
-                        .build();
-                mapper.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL);
-            }
-
-            T object = mapper.readValue(string, clazz);
+            T object = getReader(clazz, hasTypeInfo).readValue(string);
             return object;
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
@@ -102,19 +169,8 @@ public class SpecsJackson {
     public static <T> void toFile(T object, File file, boolean embedTypeInfo) {
 
         try {
-            FileWriter fw = new FileWriter(file);
-            BufferedWriter bw = new BufferedWriter(fw);
-
-            ObjectMapper mapper = new ObjectMapper();
-
-            if (embedTypeInfo) {
-                PolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator.builder()
-                        .allowIfBaseType(Object.class)
-                        .build();
-                mapper.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL);
-            }
-
-            mapper.writeValue(bw, object);
+            // Writes UTF-8 directly to a buffered stream, without building the document in memory
+            getWriter(object, embedTypeInfo).writeValue(file, object);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -128,18 +184,198 @@ public class SpecsJackson {
     public static <T> String toString(T object, boolean embedTypeInfo) {
 
         try {
-            ObjectMapper mapper = new ObjectMapper();
+            return getWriter(object, embedTypeInfo).writeValueAsString(object);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static <T> Stream<T> streamArray(File file, Class<T> clazz) {
+        return streamArray(file, clazz, false);
+    }
 
-            if (embedTypeInfo) {
-                PolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator.builder()
-                        .allowIfBaseType(Object.class)
-                        .build();
-                mapper.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL);
+    /**
+     * Reads the elements of a JSON file whose top-level value is an array, one at a time.
+     * 
+     * <p>
+     * The file is closed when the stream is closed, or when the last element is read. Use it in a try-with-resources
+     * statement if the stream might not be consumed until the end.
+     * 
+     * @param file
+     * @param clazz
+     *            the class of the elements
+     * @param hasTypeInfo
+     * @return a sequential stream over the elements of the array
+     */
+    public static <T> Stream<T> streamArray(File file, Class<T> clazz, boolean hasTypeInfo) {
+        try {
+            return streamArray(new BufferedInputStream(new FileInputStream(file)), clazz, hasTypeInfo);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not open JSON file '" + file + "'", e);
+        }
+    }
+
+    /**
+     * Reads the elements of a JSON document whose top-level value is an array, one at a time. The input stream is
+     * closed when the returned stream is closed, or when the last element is read.
+     * 
+     * @param inputStream
+     * @param clazz
+     *            the class of the elements
+     * @param hasTypeInfo
+     * @return a sequential stream over the elements of the array
+     */
+    public static <T> Stream<T> streamArray(InputStream inputStream, Class<T> clazz, boolean hasTypeInfo) {
+        var iterator = new ArrayIterator<T>(inputStream, getReader(clazz, hasTypeInfo));
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Iterates over the elements of a top-level array with a JsonParser, only the current element is in memory.
+     */
+    private static class ArrayIterator<T> implements Iterator<T>, AutoCloseable {
+
+        private final JsonParser parser;
+        private final ObjectReader reader;
+        private boolean hasNext;
+
+        public ArrayIterator(InputStream inputStream, ObjectReader reader) {
+            this.reader = reader;
+            this.parser = createParser(inputStream, reader);
+
+            try {
+                advance();
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
             }
+        }
 
-            return mapper.writeValueAsString(object);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+        /**
+         * Creates a parser positioned at the start of the array. If it fails, the parser is closed, or the input stream
+         * if there is no parser yet.
+         */
+        private static JsonParser createParser(InputStream inputStream, ObjectReader reader) {
+            JsonParser parser = null;
+
+            try {
+                parser = reader.createParser(inputStream);
+
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new RuntimeException("Expected a JSON array, found " + parser.currentToken());
+                }
+
+                return parser;
+            } catch (IOException e) {
+                closeAfterError(parser != null ? parser : inputStream, e);
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                closeAfterError(parser != null ? parser : inputStream, e);
+                throw e;
+            }
+        }
+
+        private static void closeAfterError(Closeable closeable, Exception error) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                error.addSuppressed(e);
+            }
+        }
+
+        private void advance() throws IOException {
+            hasNext = parser.nextToken() != JsonToken.END_ARRAY;
+
+            if (!hasNext) {
+                parser.close();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                T element = reader.readValue(parser);
+                advance();
+                return element;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            hasNext = false;
+
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public static <T> void writeArray(Stream<T> elements, File file) {
+        writeArray(elements, file, false);
+    }
+
+    /**
+     * Writes the elements as a JSON array, one at a time, without building the document in memory.
+     * 
+     * @param elements
+     * @param file
+     * @param embedTypeInfo
+     */
+    public static <T> void writeArray(Stream<T> elements, File file, boolean embedTypeInfo) {
+        try (var outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+            writeArray(elements, outputStream, embedTypeInfo);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write JSON file '" + file + "'", e);
+        }
+    }
+
+    /**
+     * Writes the elements as a JSON array, one at a time, without building the document in memory. The output stream
+     * is flushed, but not closed.
+     * 
+     * @param elements
+     * @param outputStream
+     * @param embedTypeInfo
+     */
+    public static <T> void writeArray(Stream<T> elements, OutputStream outputStream, boolean embedTypeInfo) {
+        // Flushing after each element would defeat the buffering
+        var writer = getMapper(embedTypeInfo).writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (var generator = writer.createGenerator(outputStream).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                SequenceWriter sequence = writer.writeValuesAsArray(generator)) {
+
+            elements.forEachOrdered(element -> {
+                try {
+                    sequence.write(element);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 }
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.JacksonPlus;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class SpecsJacksonTest {
+
+    /**
+     * Records if the stream was closed.
+     */
+    private static class TestInputStream extends ByteArrayInputStream {
+
+        private boolean closed = false;
+
+        public TestInputStream(String string) {
+            super(string.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Test
+    public void testStreamArray() {
+        var output = new ByteArrayOutputStream();
+        SpecsJackson.writeArray(Arrays.asList(1, 2, 3).stream(), output, false);
+        var json = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals("[1,2,3]", json);
+
+        var input = new TestInputStream(json);
+        try (var elements = SpecsJackson.streamArray(input, Integer.class, false)) {
+            assertEquals(Arrays.asList(1, 2, 3), elements.collect(Collectors.toList()));
+        }
+        assertTrue(input.closed);
+    }
+
+    @Test
+    public void testStreamEmptyArray() {
+        var input = new TestInputStream(" [ ] ");
+        List<Integer> elements = SpecsJackson.streamArray(input, Integer.class, false)
+                .collect(Collectors.toList());
+
+        assertTrue(elements.isEmpty());
+        // Closed at the end of the array, without closing the stream
+        assertTrue(input.closed);
+    }
+
+    @Test
+    public void testStreamMalformedElement() {
+        var input = new TestInputStream("[1, \"a\", 3]");
+        var elements = SpecsJackson.streamArray(input, Integer.class, false).iterator();
+
+        assertEquals(Integer.valueOf(1), elements.next());
+        try {
+            elements.next();
+            fail("Expected exception");
+        } catch (RuntimeException e) {
+            assertTrue(input.closed);
+        }
+
+        assertFalse(elements.hasNext());
+    }
+}
@@ -0,0 +1,781 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.jsengine;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.graalvm.polyglot.Value;
+
+import pt.up.fe.specs.util.SpecsLogs;
+import pt.up.fe.specs.util.SpecsStrings;
+import pt.up.fe.specs.util.SpecsSystem;
+
+/**
+ * Pool of engines that can be used by several threads, one engine per task.
+ *
+ * <p>
+ * The pool keeps at least the minimum number of engines, which are created when the pool is built, and creates new
+ * engines on demand up to the maximum size. When all engines are in use, callers wait for one to be released.
+ *
+ * <p>
+ * Engines above the minimum size that stay idle longer than the idle timeout are closed. Idle engines are checked when
+ * an engine is released and, if the pool can grow above the minimum size, periodically by a shared daemon thread,
+ * every half of the idle timeout (and at most every {@value #MIN_TRIM_PERIOD_MILLIS} ms). The periodic check stops
+ * when the pool is closed.
+ *
+ * <p>
+ * The global variables of an engine are recorded after it is created, and restored when the engine is released: new
+ * globals are removed (or set to undefined, for variables declared with var) and globals that were reassigned get
+ * their original value back. Changes made to the objects themselves (e.g., adding a property to a prototype) are not
+ * undone.
+ *
+ * <p>
+ * Top-level let, const and class declarations cannot be reset, since they cannot be removed and a second declaration
+ * with the same name fails ("already declared"). Engines where code added such declarations are closed when released,
+ * instead of returning to the pool, and are counted in {@link #getFailedResets()}. Code that runs often in the pool
+ * should declare its variables inside a function or a block.
+ */
+public class JsEnginePool implements AutoCloseable {
+
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60_000;
+
+    static final long MIN_TRIM_PERIOD_MILLIS = 10;
+
+    /**
+     * Closes idle engines of all pools.
+     */
+    private static final ScheduledThreadPoolExecutor TRIMMER = newTrimmer();
+
+    private static ScheduledThreadPoolExecutor newTrimmer() {
+        var trimmer = new ScheduledThreadPoolExecutor(1, SpecsSystem.getDaemonThreadFactory());
+        trimmer.setRemoveOnCancelPolicy(true);
+        return trimmer;
+    }
+
+    /**
+     * Only keeps a weak reference to the pool, so that pools that are not closed can still be collected.
+     */
+    private static class TrimTask implements Runnable {
+        private final WeakReference<JsEnginePool> pool;
+        private volatile ScheduledFuture<?> future;
+
+        private TrimTask(JsEnginePool pool) {
+            this.pool = new WeakReference<>(pool);
+            this.future = null;
+        }
+
+        @Override
+        public void run() {
+            var enginePool = pool.get();
+
+            if (enginePool == null) {
+                var future = this.future;
+                if (future != null) {
+                    future.cancel(false);
+                }
+                return;
+            }
+
+            enginePool.trimIdle();
+        }
+    }
+
+    private static class PooledEngine {
+        private final JsEngine engine;
+        private final Map<String, Object> globals;
+        // Null if the bindings of the engine are not a polyglot value
+        private final Value globalObject;
+        private long lastReleased;
+        private long checkedOut;
+
+        private PooledEngine(JsEngine engine, Map<String, Object> globals, Value globalObject) {
+            this.engine = engine;
+            this.globals = globals;
+            this.globalObject = globalObject;
+            this.lastReleased = System.nanoTime();
+            this.checkedOut = 0;
+        }
+    }
+
+    private final Supplier<JsEngine> factory;
+    private final int minSize;
+    private final int maxSize;
+
+    private final ReentrantLock lock;
+    private final Condition released;
+
+    // Guarded by lock. Most recently released engines are first
+    private final Deque<PooledEngine> idle;
+    private final Map<JsEngine, PooledEngine> inUse;
+    // Engines that exist or are being created
+    private int size;
+    private boolean closed;
+    private TrimTask trimTask;
+
+    private volatile long idleTimeoutNanos;
+
+    private final LongAdder createdEngines;
+    private final LongAdder closedEngines;
+    private final LongAdder creationNanos;
+    private final AtomicLong maxCreationNanos;
+    private final LongAdder checkouts;
+    private final LongAdder waits;
+    private final LongAdder waitNanos;
+    private final AtomicLong maxWaitNanos;
+    private final LongAdder releases;
+    private final LongAdder checkoutNanos;
+    private final AtomicLong maxCheckoutNanos;
+    private final LongAdder failedResets;
+
+    /**
+     * Creates the pool and the minimum number of engines.
+     *
+     * @param factory
+     *            creates the engines of the pool
+     * @param minSize
+     *            number of engines created in advance, and that are always kept
+     * @param maxSize
+     *            maximum number of engines
+     */
+    public JsEnginePool(Supplier<JsEngine> factory, int minSize, int maxSize) {
+        if (minSize < 0) {
+            throw new IllegalArgumentException("Minimum size must be non-negative: " + minSize);
+        }
+
+        if (maxSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException(
+                    "Maximum size must be positive and not less than the minimum size (" + minSize + "): " + maxSize);
+        }
+
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+
+        this.lock = new ReentrantLock();
+        this.released = lock.newCondition();
+        this.idle = new ArrayDeque<>();
+        this.inUse = new IdentityHashMap<>();
+        this.size = 0;
+        this.closed = false;
+
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_IDLE_TIMEOUT_MILLIS);
+
+        this.createdEngines = new LongAdder();
+        this.closedEngines = new LongAdder();
+        this.creationNanos = new LongAdder();
+        this.maxCreationNanos = new AtomicLong();
+        this.checkouts = new LongAdder();
+        this.waits = new LongAdder();
+        this.waitNanos = new LongAdder();
+        this.maxWaitNanos = new AtomicLong();
+        this.releases = new LongAdder();
+        this.checkoutNanos = new LongAdder();
+        this.maxCheckoutNanos = new AtomicLong();
+        this.failedResets = new LongAdder();
+
+        warmUp();
+        scheduleTrim();
+    }
+
+    /**
+     * Engines above the minimum size are closed after being idle for this amount of time.
+     *
+     * @param timeout
+     * @param unit
+     * @return this pool
+     */
+    public JsEnginePool setIdleTimeout(long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+
+        this.idleTimeoutNanos = unit.toNanos(timeout);
+        scheduleTrim();
+        return this;
+    }
+
+    /**
+     * Schedules {@link #trimIdle()} according to the current idle timeout, replacing the previous schedule.
+     */
+    private void scheduleTrim() {
+        // There is never anything to trim
+        if (maxSize == minSize) {
+            return;
+        }
+
+        long period = Math.max(idleTimeoutNanos / 2, TimeUnit.MILLISECONDS.toNanos(MIN_TRIM_PERIOD_MILLIS));
+
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+
+            if (trimTask != null) {
+                trimTask.future.cancel(false);
+            }
+
+            trimTask = new TrimTask(this);
+            trimTask.future = TRIMMER.scheduleWithFixedDelay(trimTask, period, period, TimeUnit.NANOSECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void warmUp() {
+        try {
+            for (int i = 0; i < minSize; i++) {
+                lock.lock();
+                try {
+                    size++;
+                } finally {
+                    lock.unlock();
+                }
+
+                var pooled = create();
+
+                lock.lock();
+                try {
+                    idle.addLast(pooled);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            // The pool is not returned to the caller, close the engines that were already created
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates an engine, for a slot already counted in the size of the pool.
+     */
+    private PooledEngine create() {
+        try {
+            long start = System.nanoTime();
+            var engine = factory.get();
+            var pooled = new PooledEngine(engine, getGlobals(engine), getGlobalObject(engine));
+            long elapsed = System.nanoTime() - start;
+
+            createdEngines.increment();
+            creationNanos.add(elapsed);
+            maxCreationNanos.accumulateAndGet(elapsed, Math::max);
+
+            return pooled;
+        } catch (RuntimeException | Error e) {
+            lock.lock();
+            try {
+                size--;
+                released.signal();
+            } finally {
+                lock.unlock();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until an engine is available.
+     *
+     * @return an engine for the exclusive use of the caller, which must be given back with
+     *         {@link #release(JsEngine)}
+     */
+    public JsEngine acquire() {
+        var engine = acquire(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        if (engine == null) {
+            throw new RuntimeException("Could not acquire engine");
+        }
+
+        return engine;
+    }
+
+    /**
+     *
+     * @param timeout
+     * @param unit
+     * @return an engine for the exclusive use of the caller, which must be given back with
+     *         {@link #release(JsEngine)}, or null if no engine became available before the timeout
+     */
+    public JsEngine acquire(long timeout, TimeUnit unit) {
+        long start = System.nanoTime();
+        long remaining = unit.toNanos(timeout);
+        boolean waited = false;
+
+        PooledEngine pooled;
+
+        lock.lock();
+        try {
+            while (true) {
+                checkOpen();
+
+                pooled = idle.pollFirst();
+                if (pooled != null) {
+                    break;
+                }
+
+                // Reserve a slot, the engine is created outside the lock
+                if (size < maxSize) {
+                    size++;
+                    break;
+                }
+
+                if (remaining <= 0) {
+                    return null;
+                }
+
+                waited = true;
+                try {
+                    remaining = released.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for an engine", e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (pooled == null) {
+            pooled = create();
+        }
+
+        long checkedOut = System.nanoTime();
+        pooled.checkedOut = checkedOut;
+
+        lock.lock();
+        try {
+            inUse.put(pooled.engine, pooled);
+        } finally {
+            lock.unlock();
+        }
+
+        checkouts.increment();
+        if (waited) {
+            long elapsed = checkedOut - start;
+            waits.increment();
+            waitNanos.add(elapsed);
+            maxWaitNanos.accumulateAndGet(elapsed, Math::max);
+        }
+
+        return pooled.engine;
+    }
+
+    /**
+     * Restores the global variables of the engine and returns it to the pool. If the globals cannot be restored, the
+     * engine is closed.
+     *
+     * @param engine
+     *            an engine returned by {@link #acquire()}
+     */
+    public void release(JsEngine engine) {
+        PooledEngine pooled;
+
+        lock.lock();
+        try {
+            pooled = inUse.remove(engine);
+        } finally {
+            lock.unlock();
+        }
+
+        if (pooled == null) {
+            throw new RuntimeException("Engine does not belong to this pool, or was already released");
+        }
+
+        long elapsed = System.nanoTime() - pooled.checkedOut;
+        releases.increment();
+        checkoutNanos.add(elapsed);
+        maxCheckoutNanos.accumulateAndGet(elapsed, Math::max);
+
+        boolean reset;
+        try {
+            resetGlobals(engine, pooled.globals, pooled.globalObject);
+            reset = true;
+        } catch (RuntimeException e) {
+            SpecsLogs.debug(() -> "Could not reset engine, discarding it: " + e.getMessage());
+            failedResets.increment();
+            reset = false;
+        }
+
+        boolean keep;
+        lock.lock();
+        try {
+            keep = reset && !closed;
+            if (keep) {
+                pooled.lastReleased = System.nanoTime();
+                idle.addFirst(pooled);
+            } else {
+                size--;
+            }
+
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        if (!keep) {
+            close(engine);
+        }
+
+        trimIdle();
+    }
+
+    /**
+     * Runs the task with an engine of the pool, and releases the engine afterwards.
+     *
+     * @param task
+     * @return the result of the task
+     */
+    public <T> T execute(Function<JsEngine, T> task) {
+        var engine = acquire();
+
+        try {
+            return task.apply(engine);
+        } finally {
+            release(engine);
+        }
+    }
+
+    /**
+     * Closes the engines above the minimum size that have been idle longer than the idle timeout. The pool already
+     * calls this method periodically, and when engines are released.
+     */
+    public void trimIdle() {
+        var expired = new ArrayList<PooledEngine>();
+
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+
+            // Least recently released engines are last
+            while (size > minSize && !idle.isEmpty() && now - idle.peekLast().lastReleased >= idleTimeoutNanos) {
+                expired.add(idle.pollLast());
+                size--;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (var pooled : expired) {
+            close(pooled.engine);
+        }
+    }
+
+    /**
+     * Closes the idle engines. Engines in use are closed when they are released.
+     */
+    @Override
+    public void close() {
+        Deque<PooledEngine> toClose;
+
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            if (trimTask != null) {
+                trimTask.future.cancel(false);
+                trimTask = null;
+            }
+
+            toClose = new ArrayDeque<>(idle);
+            size -= idle.size();
+            idle.clear();
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        for (var pooled : toClose) {
+            close(pooled.engine);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new RuntimeException("Engine pool is closed");
+        }
+    }
+
+    private void close(JsEngine engine) {
+        closedEngines.increment();
+
+        if (!(engine instanceof AutoCloseable)) {
+            return;
+        }
+
+        try {
+            ((AutoCloseable) engine).close();
+        } catch (Exception e) {
+            SpecsLogs.debug(() -> "Could not close engine: " + e.getMessage());
+        }
+    }
+
+    /**
+     *
+     * @param engine
+     * @return the current global variables of the engine
+     */
+    private static Map<String, Object> getGlobals(JsEngine engine) {
+        var bindings = engine.getBindings();
+
+        var globals = new HashMap<String, Object>();
+
+        if (bindings instanceof Value) {
+            var value = (Value) bindings;
+            for (var key : value.getMemberKeys()) {
+                globals.put(key, value.getMember(key));
+            }
+            return globals;
+        }
+
+        if (bindings instanceof Map) {
+            for (var entry : ((Map<?, ?>) bindings).entrySet()) {
+                globals.put(entry.getKey().toString(), entry.getValue());
+            }
+            return globals;
+        }
+
+        throw new RuntimeException("Global variables not supported for bindings of type " + bindings.getClass());
+    }
+
+    /**
+     *
+     * @param engine
+     * @return the global object of the engine, if its bindings are a polyglot value, or null otherwise
+     */
+    private static Value getGlobalObject(JsEngine engine) {
+        if (!(engine.getBindings() instanceof Value)) {
+            return null;
+        }
+
+        var globalObject = engine.eval("this");
+        return globalObject instanceof Value ? (Value) globalObject : null;
+    }
+
+    private static void resetGlobals(JsEngine engine, Map<String, Object> globals, Value globalObject) {
+        var bindings = engine.getBindings();
+
+        if (bindings instanceof Value) {
+            var value = (Value) bindings;
+
+            // Copy the keys, since members are removed while iterating
+            for (var key : new ArrayList<>(value.getMemberKeys())) {
+                if (globals.containsKey(key)) {
+                    continue;
+                }
+
+                // Lexical declarations (let, const, class) are in the bindings but not in the global object
+                if (globalObject != null && !globalObject.hasMember(key)) {
+                    throw new RuntimeException("Top-level declaration '" + key + "' cannot be reset");
+                }
+
+                // Variables declared with var cannot be removed, leave them undefined
+                try {
+                    if (value.removeMember(key)) {
+                        continue;
+                    }
+                } catch (UnsupportedOperationException e) {
+                    // Not removable
+                }
+
+                value.putMember(key, engine.getUndefined());
+            }
+
+            for (var entry : globals.entrySet()) {
+                var current = value.getMember(entry.getKey());
+
+                if (current == null || !entry.getValue().equals(current)) {
+                    value.putMember(entry.getKey(), entry.getValue());
+                }
+            }
+
+            return;
+        }
+
+        if (bindings instanceof Map) {
+            @SuppressWarnings("unchecked")
+            var map = (Map<String, Object>) bindings;
+
+            map.keySet().retainAll(globals.keySet());
+            for (var entry : globals.entrySet()) {
+                if (!Objects.equals(entry.getValue(), map.get(entry.getKey()))) {
+                    map.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            return;
+        }
+
+        throw new RuntimeException("Global variables not supported for bindings of type " + bindings.getClass());
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     *
+     * @return the number of engines currently in the pool, idle or in use
+     */
+    public int getSize() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInUseCount() {
+        lock.lock();
+        try {
+            return inUse.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCreatedEngines() {
+        return createdEngines.sum();
+    }
+
+    public long getClosedEngines() {
+        return closedEngines.sum();
+    }
+
+    public long getCheckouts() {
+        return checkouts.sum();
+    }
+
+    /**
+     *
+     * @return the number of engines that were released, which is the number of checkouts that are not in use
+     */
+    public long getReleases() {
+        return releases.sum();
+    }
+
+    /**
+     *
+     * @return the number of checkouts that had to wait for an engine to be released
+     */
+    public long getWaits() {
+        return waits.sum();
+    }
+
+    /**
+     *
+     * @return the number of engines that were discarded because their globals could not be restored
+     */
+    public long getFailedResets() {
+        return failedResets.sum();
+    }
+
+    public long getTotalCreationTime(TimeUnit unit) {
+        return unit.convert(creationNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxCreationTime(TimeUnit unit) {
+        return unit.convert(maxCreationNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     *
+     * @return the total time callers spent waiting for an engine to be released
+     */
+    public long getTotalWaitTime(TimeUnit unit) {
+        return unit.convert(waitNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxWaitTime(TimeUnit unit) {
+        return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     *
+     * @return the total time engines were checked out, for the engines that were already released
+     */
+    public long getTotalCheckoutTime(TimeUnit unit) {
+        return unit.convert(checkoutNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxCheckoutTime(TimeUnit unit) {
+        return unit.convert(maxCheckoutNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public String getAnalytics() {
+        long created = getCreatedEngines();
+        long checkouts = getCheckouts();
+        long waits = getWaits();
+        long releases = getReleases();
+
+        StringBuilder builder = new StringBuilder();
+
+        builder.append("Pool size: ").append(getSize()).append(" (").append(getInUseCount()).append(" in use, ")
+                .append(getIdleCount()).append(" idle)\n");
+        builder.append("Created engines: ").append(created).append(", closed: ").append(getClosedEngines())
+                .append("\n");
+        builder.append("Average creation time: ")
+                .append(SpecsStrings.parseTime(average(getTotalCreationTime(TimeUnit.NANOSECONDS), created)))
+                .append("\n");
+        builder.append("Checkouts: ").append(checkouts).append(", waited: ").append(waits).append("\n");
+        builder.append("Average wait time: ")
+                .append(SpecsStrings.parseTime(average(getTotalWaitTime(TimeUnit.NANOSECONDS), waits)))
+                .append(" (max ").append(SpecsStrings.parseTime(getMaxWaitTime(TimeUnit.NANOSECONDS)))
+                .append(")\n");
+        builder.append("Average checkout time: ")
+                .append(SpecsStrings.parseTime(average(getTotalCheckoutTime(TimeUnit.NANOSECONDS), releases)))
+                .append("\n");
+
+        return builder.toString();
+    }
+
+    private static long average(long total, long count) {
+        return count == 0 ? 0 : total / count;
+    }
+}
@@ -53,4 +53,36 @@ public enum JsEngineType {
     public JsEngine newEngine() {
         return newEngine(this, Collections.emptyList());
     }
+
+    /**
+     * Creates a pool of engines of this type. GraalVM engines of the pool share the same polyglot engine (see
+     * {@link GraalvmJsEngine#getSharedEngine()}), so code parsed by one of them is reused by the others.
+     * 
+     * @param minSize
+     *            number of engines created in advance
+     * @param maxSize
+     *            maximum number of engines
+     * @param forbiddenClasses
+     * @return
+     */
+    public JsEnginePool newPool(int minSize, int maxSize, Collection<Class<?>> forbiddenClasses) {
+        switch (this) {
+        case NASHORN:
+            return new JsEnginePool(() -> new NashornEngine(forbiddenClasses), minSize, maxSize);
+        case GRAALVM_COMPAT:
+            return new JsEnginePool(
+                    () -> new GraalvmJsEngine(forbiddenClasses, true, GraalvmJsEngine.getSharedEngine()), minSize,
+                    maxSize);
+        case GRAALVM:
+            return new JsEnginePool(
+                    () -> new GraalvmJsEngine(forbiddenClasses, false, GraalvmJsEngine.getSharedEngine()), minSize,
+                    maxSize);
+        default:
+            throw new NotImplementedException(this);
+        }
+    }
+
+    public JsEnginePool newPool(int minSize, int maxSize) {
+        return newPool(minSize, maxSize, Collections.emptyList());
+    }
 }
@@ -17,16 +17,20 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
 import javax.script.Bindings;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 
 import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
@@ -35,22 +39,80 @@ import pt.up.fe.specs.jsengine.ForOfType;
 import pt.up.fe.specs.jsengine.JsEngine;
 import pt.up.fe.specs.jsengine.JsEngineResource;
 import pt.up.fe.specs.util.SpecsLogs;
+import pt.up.fe.specs.util.SpecsStrings;
+import pt.up.fe.specs.util.lazy.Lazy;
+import pt.up.fe.specs.util.utilities.CachedItems;
 
-public class GraalvmJsEngine implements JsEngine {
+public class GraalvmJsEngine implements JsEngine, AutoCloseable {
 
     private static final String NEW_ARRAY = "[]"; // Faster
     private static final String NEW_MAP = "a = {}; a";
+    private static final String UNDEFINED_ARRAY = "[undefined]";
+    private static final String GLOBAL_OBJECT = "this"; // globalThis is not available in Nashorn compatibility mode
+
+    /**
+     * Maximum total number of characters of the code in the source cache.
+     */
+    private static final long SOURCE_CACHE_MAX_CHARS = 4 * 1024 * 1024;
+
+    /**
+     * Code longer than this is not cached, since it would take a large part of the cache (long scripts are usually
+     * evaluated only once).
+     */
+    private static final int SOURCE_CACHE_MAX_CODE_LENGTH = 64 * 1024;
+
+    /**
+     * Each stripe has its own lock, so that threads evaluating different code rarely wait for each other.
+     */
+    private static final int SOURCE_CACHE_STRIPES = 16;
+
+    /**
+     * Sources are immutable and can be used by any context. Evaluating the same Source object again lets Graal reuse
+     * the parsed code, in the same context or in any context of the same engine. The code is split among the stripes
+     * by hash, and each stripe is an LRU cache bounded by the number of characters.
+     */
+    private static final List<CachedItems<String, Source>> SOURCE_CACHE = IntStream.range(0, SOURCE_CACHE_STRIPES)
+            .mapToObj(i -> new CachedItems<String, Source>(code -> Source.create("js", code), true)
+                    .setMaximumWeight(SOURCE_CACHE_MAX_CHARS / SOURCE_CACHE_STRIPES, Source::getLength))
+            .collect(Collectors.toList());
+
+    // Sources used by every engine, which are never evicted
+    private static final Source NEW_ARRAY_SOURCE = Source.create("js", NEW_ARRAY);
+    private static final Source NEW_MAP_SOURCE = Source.create("js", NEW_MAP);
+    private static final Source UNDEFINED_ARRAY_SOURCE = Source.create("js", UNDEFINED_ARRAY);
+    private static final Source GLOBAL_OBJECT_SOURCE = Source.create("js", GLOBAL_OBJECT);
+
+    private static final Lazy<Engine> SHARED_ENGINE = Lazy.newInstance(Engine::create);
+
+    private static final Lazy<Source> JAVA_COMPATIBILITY_SOURCE = Lazy
+            .newInstance(() -> Source.newBuilder("js", JsEngineResource.JAVA_COMPATIBILITY.read(),
+                    JsEngineResource.JAVA_COMPATIBILITY.getFilename()).buildLiteral());
 
     private final GraalJSScriptEngine engine;
     // private final Context.Builder contextBuilder;
     private final Set<String> forbiddenClasses;
     private final boolean nashornCompatibility;
+    private final Value undefined;
+    private final Value globalObject;
 
     public GraalvmJsEngine(Collection<Class<?>> blacklistedClasses) {
         this(blacklistedClasses, false);
     }
 
     public GraalvmJsEngine(Collection<Class<?>> blacklistedClasses, boolean nashornCompatibility) {
+        this(blacklistedClasses, nashornCompatibility, null);
+    }
+
+    /**
+     * 
+     * @param blacklistedClasses
+     * @param nashornCompatibility
+     * @param polyglotEngine
+     *            engine shared with other contexts (e.g., {@link #getSharedEngine()}), which reuses code parsed and
+     *            compiled by those contexts. If null, the context uses its own engine
+     */
+    public GraalvmJsEngine(Collection<Class<?>> blacklistedClasses, boolean nashornCompatibility,
+            Engine polyglotEngine) {
 
         this.forbiddenClasses = blacklistedClasses.stream().map(Class::getName).collect(Collectors.toSet());
         this.nashornCompatibility = nashornCompatibility;
@@ -58,10 +120,12 @@ public class GraalvmJsEngine implements JsEngine {
         Context.Builder contextBuilder = createBuilder();
         // System.out.println("CLASS LOADER: " + GraalvmJsEngine.class.getClassLoader());
         // Thread.currentThread().setContextClassLoader(classLoader);
-        this.engine = GraalJSScriptEngine.create(null, contextBuilder);
+        this.engine = GraalJSScriptEngine.create(polyglotEngine, contextBuilder);
+        this.undefined = engine.getPolyglotContext().eval(UNDEFINED_ARRAY_SOURCE).getArrayElement(0);
+        this.globalObject = engine.getPolyglotContext().eval(GLOBAL_OBJECT_SOURCE);
 
         // Load Java compatibility layer
-        eval(JsEngineResource.JAVA_COMPATIBILITY.read());
+        eval(JAVA_COMPATIBILITY_SOURCE.get());
 
         // List<ScriptEngineFactory> engines = (new ScriptEngineManager()).getEngineFactories();
         // System.out.println("Available Engines");
@@ -92,6 +156,59 @@ public class GraalvmJsEngine implements JsEngine {
         this(Collections.emptyList());
     }
 
+    /**
+     * The engine is created on first use and lives until the JVM exits.
+     * 
+     * @return a polyglot engine that can be shared by several GraalvmJsEngine instances
+     */
+    public static Engine getSharedEngine() {
+        return SHARED_ENGINE.get();
+    }
+
+    /**
+     * 
+     * @param code
+     * @return the Source for the given code, created only once while it is in the cache
+     */
+    private static Source getSource(String code) {
+        if (code.length() > SOURCE_CACHE_MAX_CODE_LENGTH) {
+            return Source.create("js", code);
+        }
+
+        return SOURCE_CACHE.get(Math.floorMod(code.hashCode(), SOURCE_CACHE_STRIPES)).get(code);
+    }
+
+    public static String getSourceCacheAnalytics() {
+        long size = 0;
+        long hits = 0;
+        long calls = 0;
+        long evictions = 0;
+        for (var stripe : SOURCE_CACHE) {
+            size += stripe.getCacheSize();
+            hits += stripe.getCacheHits();
+            calls += stripe.getCacheTotalCalls();
+            evictions += stripe.getCacheEvictions();
+        }
+
+        StringBuilder builder = new StringBuilder();
+
+        builder.append("Cache size: ").append(size).append("\n");
+        builder.append("Total calls: ").append(calls).append("\n");
+        builder.append("Hit ratio: ").append(SpecsStrings.toPercentage(calls == 0 ? 0 : (double) hits / calls))
+                .append("\n");
+        builder.append("Evictions: ").append(evictions).append("\n");
+
+        return builder.toString();
+    }
+
+    /**
+     * Closes the context of this engine. The polyglot engine is only closed if it is not shared.
+     */
+    @Override
+    public void close() {
+        engine.close();
+    }
+
     // @Override
     // public GraalJSScriptEngine getEngine() {
     // return engine;
@@ -104,9 +221,13 @@ public class GraalvmJsEngine implements JsEngine {
 
     @Override
     public Value eval(String code) {
+        return eval(getSource(code));
+    }
+
+    private Value eval(Source source) {
         try {
             // Value value = asValue(engine.eval(code));
-            Value value = engine.getPolyglotContext().eval("js", code);
+            Value value = engine.getPolyglotContext().eval(source);
 
             // if (value.hasMembers() || value.hasArrayElements()) {
             // return asBindings(value);
@@ -157,7 +278,7 @@ public class GraalvmJsEngine implements JsEngine {
 
     @Override
     public Object newNativeArray() {
-        return eval(NEW_ARRAY);
+        return eval(NEW_ARRAY_SOURCE);
         // return new GenericBindings(evalOld(NEW_ARRAY));
         // try {
         // Map<String, Object> array = (Map<String, Object>) engine.eval(NEW_ARRAY);
@@ -170,12 +291,12 @@ public class GraalvmJsEngine implements JsEngine {
 
     @Override
     public Object newNativeMap() {
-        return eval(NEW_MAP);
+        return eval(NEW_MAP_SOURCE);
     }
 
     @Override
     public Value toNativeArray(Object[] values) {
-        Value array = eval(NEW_ARRAY);
+        Value array = eval(NEW_ARRAY_SOURCE);
         for (int i = 0; i < values.length; i++) {
             array.setArrayElement(i, values[i]);
         }
@@ -192,7 +313,7 @@ public class GraalvmJsEngine implements JsEngine {
     }
 
     public Object toNativeArrayV2(Object[] values) {
-        Value array = eval(NEW_ARRAY);
+        Value array = eval(NEW_ARRAY_SOURCE);
         for (int i = 0; i < values.length; i++) {
             array.setArrayElement(i, values[i]);
         }
@@ -207,9 +328,7 @@ public class GraalvmJsEngine implements JsEngine {
      */
     @Override
     public Object getUndefined() {
-        var array = engine.getPolyglotContext().eval("js", "[undefined]");
-
-        return array.getArrayElement(0);
+        return undefined;
     }
 
     @Override
@@ -245,50 +364,53 @@ public class GraalvmJsEngine implements JsEngine {
 
     /**
      * Adds the members in the given scope before evaluating the code.
+     * 
+     * <p>
+     * Members are set directly in the global object, and the previous values are restored after the code executes
+     * (members that did not exist are removed). The global object is used instead of {@link #getBindings()}, since
+     * members added to the polyglot bindings are not visible as global variables. Only the code itself is parsed
+     * (once, see {@link #eval(String)}), regardless of the number of members in the scope.
      */
     @Override
     public Object eval(String code, Object scope) {
 
         Value scopeValue = asValue(scope);
 
-        Map<String, Object> previousValues = new HashMap<>();
+        // Null if the member did not exist
+        Map<String, Value> previousValues = new HashMap<>();
 
-        // Add scope code, save previous values
-        for (String key : scopeValue.getMemberKeys()) {
+        try {
+            // Add scope members, save previous values
+            for (String key : scopeValue.getMemberKeys()) {
 
-            if (asBoolean(eval("typeof variable === 'undefined'"))) {
-                previousValues.put(key, null);
-            } else {
-                previousValues.put(key, eval(key));
-            }
+                previousValues.put(key, globalObject.hasMember(key) ? globalObject.getMember(key) : null);
 
-            Value value = scopeValue.getMember(key);
+                Value value = scopeValue.getMember(key);
 
-            // If value is undefined, set the key as undefined
-            if (value.isNull()) {
-                eval(key + " = undefined");
-                continue;
-            }
+                // If value is undefined, set the key as undefined
+                if (value.isNull()) {
+                    globalObject.putMember(key, undefined);
+                    continue;
+                }
 
-            // Otherwise, add the value
-            put(key, value);
-        }
+                // Otherwise, add the value
+                globalObject.putMember(key, value);
+            }
 
-        // Execute new code
-        Value result = eval(code);
-
-        // Restore previous values
-        for (var entry : previousValues.entrySet()) {
-            var value = entry.getValue();
-            if (value == null) {
-                // Should remove entry or is undefined enough?
-                eval(entry.getKey() + " = undefined");
-            } else {
-                put(entry.getKey(), value);
+            // Execute new code
+            return eval(code);
+        } finally {
+            // Restore previous values
+            for (var entry : previousValues.entrySet()) {
+                var value = entry.getValue();
+
+                if (value == null) {
+                    globalObject.removeMember(entry.getKey());
+                } else {
+                    globalObject.putMember(entry.getKey(), value);
+                }
             }
         }
-
-        return result;
     }
 
     // /**
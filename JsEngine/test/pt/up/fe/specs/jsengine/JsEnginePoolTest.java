@@ -0,0 +1,157 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.jsengine;
+
+import static org.junit.Assert.*;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class JsEnginePoolTest {
+
+    @Test
+    public void testResetGlobals() {
+        try (var pool = JsEngineType.GRAALVM.newPool(1, 1)) {
+            pool.execute(engine -> engine.eval("var aGlobal = 10;"));
+
+            // Same engine, with the globals restored
+            var engine = pool.acquire();
+            try {
+                assertEquals("true", engine.eval("typeof aGlobal === 'undefined'").toString());
+            } finally {
+                pool.release(engine);
+            }
+
+            assertEquals(1, pool.getCreatedEngines());
+            assertEquals(2, pool.getCheckouts());
+        }
+    }
+
+    @Test
+    public void testGrowAndShrink() {
+        try (var pool = JsEngineType.GRAALVM.newPool(1, 2)) {
+            pool.setIdleTimeout(1, TimeUnit.NANOSECONDS);
+
+            var engine1 = pool.acquire();
+            var engine2 = pool.acquire();
+            assertNotSame(engine1, engine2);
+            assertEquals(2, pool.getSize());
+
+            // Pool is full
+            assertNull(pool.acquire(10, TimeUnit.MILLISECONDS));
+
+            pool.release(engine1);
+            pool.release(engine2);
+
+            // Engines above the minimum size are closed once idle
+            pool.trimIdle();
+            assertEquals(1, pool.getSize());
+        }
+    }
+
+    @Test
+    public void testScheduledTrim() throws InterruptedException {
+        try (var pool = JsEngineType.GRAALVM.newPool(1, 2)) {
+            pool.setIdleTimeout(20, TimeUnit.MILLISECONDS);
+
+            var engine1 = pool.acquire();
+            var engine2 = pool.acquire();
+            pool.release(engine1);
+            pool.release(engine2);
+
+            // Closed by the pool, without new releases
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pool.getSize() > 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(1, pool.getSize());
+        }
+    }
+
+    @Test
+    public void testLexicalDeclarations() {
+        try (var pool = JsEngineType.GRAALVM.newPool(1, 1)) {
+            pool.execute(engine -> engine.eval("let aLet = 10;"));
+
+            // Engine could not be reset and was replaced, so the declaration can run again
+            assertEquals(1, pool.getFailedResets());
+            assertEquals("20", pool.execute(engine -> engine.eval("let aLet = 20; aLet;").toString()));
+            assertEquals(2, pool.getCreatedEngines());
+        }
+    }
+
+    @Test
+    public void testFailedWarmUp() {
+        var created = new AtomicInteger();
+        var first = new JsEngine[1];
+
+        try {
+            new JsEnginePool(() -> {
+                if (created.incrementAndGet() > 1) {
+                    throw new RuntimeException("Could not create engine");
+                }
+
+                first[0] = JsEngineType.GRAALVM.newEngine();
+                return first[0];
+            }, 2, 2);
+            fail("Expected exception");
+        } catch (RuntimeException e) {
+            assertEquals("Could not create engine", e.getMessage());
+        }
+
+        // Engine created before the failure was closed
+        try {
+            first[0].eval("1");
+            fail("Expected exception");
+        } catch (RuntimeException e) {
+            // Context is closed
+        }
+    }
+
+    @Test
+    public void testReleases() {
+        try (var pool = JsEngineType.GRAALVM.newPool(1, 2)) {
+            pool.execute(engine -> engine.eval("1"));
+            var engine = pool.acquire();
+
+            assertEquals(2, pool.getCheckouts());
+            assertEquals(1, pool.getReleases());
+
+            pool.release(engine);
+            assertEquals(2, pool.getReleases());
+        }
+    }
+
+    private static WeakReference<JsEnginePool> newUnclosedPool() {
+        return new WeakReference<>(JsEngineType.GRAALVM.newPool(0, 1));
+    }
+
+    @Test
+    public void testUnclosedPoolIsCollected() throws InterruptedException {
+        var pool = newUnclosedPool();
+
+        // The trimmer does not keep the pool alive
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.get() != null && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(pool.get());
+    }
+}
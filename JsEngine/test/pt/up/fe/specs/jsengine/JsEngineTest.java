@@ -16,6 +16,7 @@ package pt.up.fe.specs.jsengine;
 import static org.junit.Assert.*;
 
 import java.util.Arrays;
+import java.util.Collections;
 
 import javax.script.Bindings;
 import javax.script.ScriptContext;
@@ -29,6 +30,7 @@ import org.junit.Test;
 
 import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
 
+import pt.up.fe.specs.jsengine.graal.GraalvmJsEngine;
 import pt.up.fe.specs.util.SpecsIo;
 import pt.up.fe.specs.util.SpecsLogs;
 
@@ -162,6 +164,23 @@ public class JsEngineTest {
         assertEquals("true", engine1.eval("typeof aString === 'undefined'").toString());
     }
 
+    @Test
+    public void testEvalWithBindingsRestore() {
+        JsEngine engine1 = getEngine();
+
+        engine1.eval("var aString = 'Previous';");
+
+        Object scope = engine1.newNativeMap();
+        engine1.put(scope, "aString", "Hello");
+        engine1.put(scope, "aNumber", 10);
+
+        assertEquals("Hello10", engine1.eval("aString + aNumber", scope).toString());
+
+        // Previous values are restored, members that did not exist are undefined
+        assertEquals("Previous", engine1.eval("aString").toString());
+        assertEquals("true", engine1.eval("typeof aNumber === 'undefined'").toString());
+    }
+
     @Test
     public void testUndefined() {
         assertEquals("undefined", getEngine().getUndefined().toString());
@@ -286,4 +305,18 @@ public class JsEngineTest {
         engine.eval("print(['Using print() '], 'with ', 'several objects\\n')");
         engine.eval("print('Using print() with substitution arguments, like %d and %s\\n', 10, 'aString')");
     }
+
+    @Test
+    public void testSharedEngine() {
+        var engine1 = new GraalvmJsEngine(Collections.emptyList(), false, GraalvmJsEngine.getSharedEngine());
+        var engine2 = new GraalvmJsEngine(Collections.emptyList(), false, GraalvmJsEngine.getSharedEngine());
+
+        // Same code, and the same cached Source, in both contexts
+        String code = "var counter = (typeof counter === 'undefined') ? 1 : counter + 1; counter";
+        assertEquals(1, engine1.eval(code).asInt());
+        assertEquals(2, engine1.eval(code).asInt());
+
+        // Contexts do not share global state
+        assertEquals(1, engine2.eval(code).asInt());
+    }
 }
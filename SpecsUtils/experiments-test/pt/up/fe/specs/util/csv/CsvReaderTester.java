@@ -0,0 +1,111 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.csv;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+import org.junit.Test;
+
+import pt.up.fe.specs.util.utilities.LineStream;
+
+/**
+ * Measures the throughput, in rows per second, of the ways of reading a CSV file.
+ *
+ * <p>
+ * The previous CsvReader behavior (LineStream and String.split) is reproduced directly.
+ */
+public class CsvReaderTester {
+
+    private static final int NUM_ROWS = 1_000_000;
+
+    private static final int REPETITIONS = 3;
+
+    private static final CsvColumnType[] TYPES = { CsvColumnType.STRING, CsvColumnType.INT, CsvColumnType.LONG,
+            CsvColumnType.DOUBLE };
+
+    @Test
+    public void test() throws IOException {
+        var file = File.createTempFile("csv_reader_tester", ".csv");
+
+        try (var writer = new BufferedCsvWriter(file, Arrays.asList("name", "i", "l", "d"))) {
+            for (int i = 0; i < NUM_ROWS; i++) {
+                writer.addLine("row" + i, i, i * 1000L, i / 4.0);
+            }
+        }
+
+        try {
+            for (int i = 0; i < REPETITIONS; i++) {
+                measure("LineStream and split", file, CsvReaderTester::readSplit);
+                measure("Lists", file, CsvReaderTester::readLists);
+                measure("Rows", file, CsvReaderTester::readRows);
+                measure("Columns", file, f -> readColumns(f, 0));
+                measure("Columns, 4 parts", file, f -> readColumns(f, 4));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void measure(String name, File file, ToLongFunction<File> read) {
+        long start = System.nanoTime();
+        long rows = read.applyAsLong(file);
+        long nanos = System.nanoTime() - start;
+
+        System.out.println(name + ": " + (long) (rows / (nanos / 1e9)) + " rows/s");
+    }
+
+    private static long readSplit(File file) {
+        long rows = 0;
+        try (var lines = LineStream.newInstance(file)) {
+            while (lines.hasNextLine()) {
+                rows += lines.nextLine().split(";").length > 0 ? 1 : 0;
+            }
+        }
+        return rows;
+    }
+
+    private static long readLists(File file) {
+        long rows = 0;
+        try (var reader = new CsvReader(file)) {
+            while (reader.hasNext()) {
+                rows += reader.next().isEmpty() ? 0 : 1;
+            }
+        }
+        return rows;
+    }
+
+    private static long readRows(File file) {
+        long rows = 0;
+        try (var reader = new CsvReader(file)) {
+            CsvRow row;
+            while ((row = reader.nextRow()) != null) {
+                rows += row.getInt(1) >= 0 ? 1 : 0;
+            }
+        }
+        return rows;
+    }
+
+    private static long readColumns(File file, int parallelism) {
+        if (parallelism == 0) {
+            try (var reader = new CsvReader(file)) {
+                return reader.readColumns(TYPES).getRowCount();
+            }
+        }
+
+        return CsvReader.readColumns(file, parallelism, TYPES).getRowCount();
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.csv;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import pt.up.fe.specs.util.SpecsIo;
+
+/**
+ * Measures the time to write CSV files with many rows.
+ *
+ * <p>
+ * The previous BufferedCsvWriter behavior (appending each row to the file) is reproduced with SpecsIo.append.
+ */
+public class CsvWriterTester {
+
+    private static final List<String> HEADER = Arrays.asList("name", "a", "b", "c");
+
+    private static final int APPEND_ROWS = 20_000;
+    private static final int STREAMING_ROWS = 2_000_000;
+
+    @Test
+    public void test() throws IOException {
+        var file = File.createTempFile("csv_writer_tester", ".csv");
+
+        try {
+            long start = System.nanoTime();
+            var previous = new CsvWriter(HEADER);
+            SpecsIo.write(file, "");
+            SpecsIo.append(file, previous.buildHeader());
+            for (int i = 0; i < APPEND_ROWS; i++) {
+                SpecsIo.append(file, previous.buildLine(row(i), i + 2));
+            }
+            print("Append per row", APPEND_ROWS, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            try (var writer = new BufferedCsvWriter(file, HEADER)) {
+                writer.addField(CsvField.AVERAGE);
+                for (int i = 0; i < STREAMING_ROWS; i++) {
+                    writer.addLine(row(i));
+                }
+            }
+            print("Streaming", STREAMING_ROWS, System.nanoTime() - start);
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static List<String> row(int i) {
+        return Arrays.asList("row" + i, Integer.toString(i), Integer.toString(i * 2), Integer.toString(i * 3));
+    }
+
+    private static void print(String name, int rows, long nanos) {
+        System.out.println(name + ": " + (long) (rows / (nanos / 1e9)) + " rows/s");
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.threadstream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+
+import pt.up.fe.specs.util.collections.concurrentchannel.ChannelProducer;
+import pt.up.fe.specs.util.collections.concurrentchannel.ConcurrentChannel;
+
+/**
+ * Measures the throughput, in tokens per second, of a producer feeding several consumers.
+ *
+ * <p>
+ * The previous implementation (depth-1 channels, producer spinning on offer, one token per handoff) is reproduced
+ * directly over ConcurrentChannel.
+ */
+public class ProducerEngineTester {
+
+    private static final int NUM_TOKENS = 1_000_000;
+
+    private static final int[] NUM_CONSUMERS = { 1, 3 };
+
+    private static final int REPETITIONS = 3;
+
+    private static final Integer POISON = Integer.valueOf(-1);
+
+    private static class CounterProducer implements ObjectProducer<Integer> {
+
+        private int next = 0;
+
+        public Integer nextToken() {
+            return next < NUM_TOKENS ? Integer.valueOf(next++ & 0xFF) : null;
+        }
+
+        @Override
+        public Integer getPoison() {
+            return POISON;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static Long count(ObjectStream<Integer> stream) {
+        long count = 0;
+        while (stream.next() != null) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void test() {
+        for (int consumers : NUM_CONSUMERS) {
+            for (int i = 0; i < REPETITIONS; i++) {
+                measure("Spinning, depth 1", consumers, ProducerEngineTester::runSpinning);
+                measure("Blocking, depth 1, no batching", consumers,
+                        n -> runEngine(n, engine -> engine.setChannelDepth(1).setBatchSize(1)));
+                measure("Blocking, default depth and batch", consumers, n -> runEngine(n, engine -> {
+                }));
+                measure("Lock-free, default depth and batch", consumers,
+                        n -> runEngine(n, engine -> engine.setLockFree(true)));
+            }
+        }
+    }
+
+    private static void measure(String name, int consumers, Consumer<Integer> run) {
+        long start = System.nanoTime();
+        run.accept(consumers);
+        long nanos = System.nanoTime() - start;
+
+        long tokensPerSecond = (long) (NUM_TOKENS / (nanos / 1e9));
+        System.out.println(name + ", " + consumers + " consumer(s): " + tokensPerSecond + " tokens/s");
+    }
+
+    private static void runEngine(int consumers, Consumer<ProducerEngine<Integer, CounterProducer>> config) {
+        var engine = new ProducerEngine<>(new CounterProducer(), CounterProducer::nextToken);
+        config.accept(engine);
+
+        for (int i = 0; i < consumers; i++) {
+            engine.subscribe(ProducerEngineTester::count);
+        }
+
+        engine.launch();
+    }
+
+    /**
+     * The previous ProducerThread behavior.
+     */
+    private static void runSpinning(int consumers) {
+        var producer = new CounterProducer();
+        List<ChannelProducer<Integer>> channels = new ArrayList<>(consumers);
+        var threads = new Thread[consumers];
+
+        for (int i = 0; i < consumers; i++) {
+            var channel = new ConcurrentChannel<Integer>(1);
+            channels.add(channel.createProducer());
+            var stream = new GenericObjectStream<>(channel.createConsumer(), POISON);
+            threads[i] = new Thread(() -> count(stream));
+            threads[i].start();
+        }
+
+        Integer token;
+        while ((token = producer.nextToken()) != null) {
+            for (var channel : channels) {
+                offer(channel, token);
+            }
+        }
+
+        for (var channel : channels) {
+            offer(channel, POISON);
+        }
+
+        for (var thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void offer(ChannelProducer<Integer> channel, Integer token) {
+        while (!channel.offer(token))
+            ;
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.treenode;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import pt.up.fe.specs.util.SpecsStrings;
+
+/**
+ * Compares the previous recursive Stream-based traversal of TreeNode with {@link TreeNodeTraversal}, on random trees
+ * from 10^4 to 10^7 nodes.
+ *
+ * <p>
+ * The largest tree needs a heap of around 2GB.
+ */
+public class TreeNodeTraversalTester {
+
+    private static final int[] SIZES = { 10_000, 100_000, 1_000_000, 10_000_000 };
+
+    private static final int REPETITIONS = 3;
+
+    static class BenchNode extends ATreeNode<BenchNode> {
+
+        public BenchNode() {
+            super(Collections.emptyList());
+        }
+
+        @Override
+        public String toContentString() {
+            return "";
+        }
+
+        @Override
+        protected BenchNode copyPrivate() {
+            return new BenchNode();
+        }
+
+        @Override
+        protected BenchNode getThis() {
+            return this;
+        }
+    }
+
+    static class BenchLeaf extends BenchNode {
+    }
+
+    @Test
+    public void test() {
+        for (int size : SIZES) {
+            var tree = newTree(size, new Random(size));
+
+            for (int i = 0; i < REPETITIONS; i++) {
+                long streamNanos = System.nanoTime();
+                int streamCount = getDescendantsRecursive(tree).size();
+                System.out.println(SpecsStrings.takeTime("Recursive stream, " + size + " nodes (" + streamCount
+                        + " leaves):", streamNanos));
+
+                long iteratorNanos = System.nanoTime();
+                int iteratorCount = tree.getDescendants(BenchLeaf.class).size();
+                System.out.println(SpecsStrings.takeTime("Explicit stack, " + size + " nodes (" + iteratorCount
+                        + " leaves):", iteratorNanos));
+
+                long firstNanos = System.nanoTime();
+                boolean found = tree.getFirstDescendant(BenchLeaf.class).isPresent();
+                System.out.println(SpecsStrings.takeTime("First leaf, " + size + " nodes (" + found + "):",
+                        firstNanos));
+            }
+
+            // The first query builds the index, the following are lookups
+            tree.setIndexDescendants(true);
+            for (int i = 0; i < REPETITIONS; i++) {
+                long indexNanos = System.nanoTime();
+                int indexCount = tree.getDescendants(BenchLeaf.class).size();
+                System.out.println(SpecsStrings.takeTime("Indexed, " + size + " nodes (" + indexCount
+                        + " leaves):", indexNanos));
+            }
+            tree.setIndexDescendants(false);
+        }
+    }
+
+    /**
+     * Builds a random recursive tree with the given number of nodes (each node is added as a child of a random previous
+     * node), which has logarithmic depth.
+     */
+    private static BenchNode newTree(int size, Random random) {
+        var nodes = new BenchNode[size];
+        nodes[0] = new BenchNode();
+
+        for (int i = 1; i < size; i++) {
+            nodes[i] = random.nextInt(3) == 0 ? new BenchLeaf() : new BenchNode();
+            nodes[random.nextInt(i)].addChild(nodes[i]);
+        }
+
+        return nodes[0];
+    }
+
+    /**
+     * The implementation previously used by TreeNode.getDescendants(Class).
+     */
+    private static List<BenchLeaf> getDescendantsRecursive(BenchNode node) {
+        return descendantsStream(node).filter(BenchLeaf.class::isInstance)
+                .map(BenchLeaf.class::cast)
+                .collect(Collectors.toList());
+    }
+
+    private static Stream<BenchNode> descendantsStream(BenchNode node) {
+        return node.getChildrenStream().flatMap(c -> Stream.concat(Stream.of(c), descendantsStream(c)));
+    }
+}
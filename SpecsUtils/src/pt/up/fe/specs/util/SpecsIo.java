@@ -14,8 +14,6 @@ package pt.up.fe.specs.util;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
@@ -25,19 +23,19 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLDecoder;
+import java.nio.charset.Charset;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.DigestInputStream;
@@ -67,6 +65,8 @@ import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 import pt.up.fe.specs.util.collections.SpecsList;
+import pt.up.fe.specs.util.io.BulkReader;
+import pt.up.fe.specs.util.io.FileWalker;
 import pt.up.fe.specs.util.io.PathFilter;
 import pt.up.fe.specs.util.providers.ResourceProvider;
 import pt.up.fe.specs.util.utilities.ProgressCounter;
@@ -119,10 +119,13 @@ public class SpecsIo {
      */
     final public static String DEFAULT_CHAR_SET = "UTF-8";
 
+    final private static Charset DEFAULT_CHARSET = Charset.forName(DEFAULT_CHAR_SET);
+
     final private static String DEFAULT_EXTENSION_SEPARATOR = ".";
     // Records the name of the last file appended
     // private static String lastAppeddedFileAbsolutePath = "";
     private static String lastAppeddedFileCanonicalPath = "";
+    private static File lastAppeddedFile = null;
 
     private final static String DEFAULT_SEPARATOR = ".";
 
@@ -311,24 +314,9 @@ public class SpecsIo {
             return null;
         }
 
-        StringBuilder stringBuilder = new StringBuilder();
-
-        // Try to read the contents of the file into the StringBuilder
-
-        try (final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(file),
-                SpecsIo.DEFAULT_CHAR_SET))) {
-
-            // Read first character. It can't be cast to "char", otherwise the
-            // -1 will be converted in a character.
-            // First test for -1, then cast.
-            int intChar = bufferedReader.read();
-            while (intChar != -1) {
-                char character = (char) intChar;
-                stringBuilder.append(character);
-                intChar = bufferedReader.read();
-            }
-
-        } catch (FileNotFoundException ex) {
+        try {
+            return BulkReader.read(file, DEFAULT_CHARSET);
+        } catch (FileNotFoundException | NoSuchFileException ex) {
             SpecsLogs.msgInfo("FileNotFoundException: " + ex.getMessage());
             return null;
 
@@ -336,8 +324,6 @@ public class SpecsIo {
             SpecsLogs.msgInfo("IOException: " + ex.getMessage());
             return null;
         }
-
-        return stringBuilder.toString();
     }
 
     public static void close(Closeable closeable) {
@@ -357,34 +343,13 @@ public class SpecsIo {
      * @return
      */
     public static String read(InputStream inputStream) {
-        StringBuilder stringBuilder = new StringBuilder();
-
-        // Try to read the contents of the input stream into the StringBuilder
         // Using 'finally' style 2 as described in http://www.javapractices.com/topic/TopicAction.do?Id=25
-        try (final BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream,
-                SpecsIo.DEFAULT_CHAR_SET))) {
-
-            // Read first character. It can't be cast to "char", otherwise the
-            // -1 will be converted in a character.
-            // First test for -1, then cast.
-            int intChar = bufferedReader.read();
-            while (intChar != -1) {
-                char character = (char) intChar;
-
-                stringBuilder.append(character);
-
-                intChar = bufferedReader.read();
-            }
-
-        } catch (FileNotFoundException ex) {
-            SpecsLogs.msgWarn("FileNotFoundException", ex);
-            stringBuilder = new StringBuilder(0);
+        try (inputStream) {
+            return BulkReader.read(inputStream, DEFAULT_CHARSET);
         } catch (IOException ex) {
             SpecsLogs.msgWarn("IOException", ex);
-            stringBuilder = new StringBuilder(0);
+            return "";
         }
-
-        return stringBuilder.toString();
     }
 
     /**
@@ -468,8 +433,10 @@ public class SpecsIo {
             SpecsIo.mkdir(file.getParent());
         }
 
-        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, append),
-                SpecsIo.DEFAULT_CHAR_SET))) {
+        // Encode the contents once and write them in a single bulk operation
+        byte[] bytes = contents.getBytes(DEFAULT_CHARSET);
+
+        try (OutputStream outputStream = new FileOutputStream(file, append)) {
 
             if (!file.exists()) {
                 boolean success = file.createNewFile();
@@ -489,15 +456,19 @@ public class SpecsIo {
             // contents = contents.replace("\n", System.getProperty("line.separator"));
             // }
 
-            writer.write(contents, 0, contents.length());
+            outputStream.write(bytes);
 
             // Inform about the operation
             if (append) {
-                // Check if this is the same file as the last time
-                String filePath = file.getCanonicalPath();
-                if (!filePath.equals(SpecsIo.lastAppeddedFileCanonicalPath)) {
-                    SpecsIo.lastAppeddedFileCanonicalPath = filePath;
-                    SpecsLogs.msgLib("Appending file (" + file.getCanonicalPath() + ").");
+                // Check if this is the same file as the last time. Compares the given path first, to avoid resolving
+                // the canonical path on consecutive appends to the same file
+                if (!file.equals(SpecsIo.lastAppeddedFile)) {
+                    String filePath = file.getCanonicalPath();
+                    SpecsIo.lastAppeddedFile = file;
+                    if (!filePath.equals(SpecsIo.lastAppeddedFileCanonicalPath)) {
+                        SpecsIo.lastAppeddedFileCanonicalPath = filePath;
+                        SpecsLogs.msgLib("Appending file (" + filePath + ").");
+                    }
                 }
             } else {
                 SpecsLogs.msgLib("File written (" + file.getCanonicalPath() + ").");
@@ -635,7 +606,8 @@ public class SpecsIo {
      *            whether to follow symlinks
      *
      * @param cutoffFolders
-     *
+     *            accepts a folder, if returns true, that folder and its sub-folders will be ignored from the search.
+     *            Sub-folders are searched in parallel, so it can be called concurrently
      *
      * @return all the files inside the given folder, excluding other folders, that have a certain extension as
      *         determined by the set.
@@ -643,169 +615,33 @@ public class SpecsIo {
     public static List<File> getFilesRecursive(File path, Collection<String> extensions, boolean followSymlinks,
             Predicate<File> cutoffFolders) {
 
-        // Make extensions lower-case
-        Collection<String> lowerCaseExtensions = extensions.stream().map(ext -> ext.toLowerCase())
-                .collect(Collectors.toSet());
-
-        List<File> files = new ArrayList<>();
-
-        getFilesRecursivePrivate(path, lowerCaseExtensions, followSymlinks, cutoffFolders, files);
-
-        return files;
+        return new FileWalker(extensions, followSymlinks, cutoffFolders).getFiles(path);
     }
 
-    private static void getFilesRecursivePrivate(File path, Collection<String> extensions, boolean followSymlinks,
-            Predicate<File> cutoffFolders, List<File> foundFiles) {
-
-        // List<File> fileList = new ArrayList<>();
-        //
-        // for (String extension : extensions) {
-        // List<File> files = getFilesRecursive(folder, extension, followSymlinks);
-        // fileList.addAll(files);
-        // }
-        //
-        // return fileList;
-
-        // if (!path.isDirectory()) {
-        if (!path.exists()) {
-            SpecsLogs.debug(() -> "Path '" + path + "' does not exist.");
-            return;
-        }
-
-        // Ignore path if is symlink
-        if (!followSymlinks && Files.isSymbolicLink(path.toPath())) {
-            return;
-        }
-
-        if (path.isFile()) {
-            // Test for extension, if set is not empty
-            if (!extensions.isEmpty()) {
-                String extension = SpecsIo.getExtension(path).toLowerCase();
-                if (!extensions.contains(extension)) {
-                    return;
-                }
-            }
-
-            foundFiles.add(path);
-
-            return;
-            // if (SpecsIo.getExtension(path).equals(extension)) {
-            // return Arrays.asList(path);
-            // }
-            //
-            // return Collections.emptyList();
-        }
-
-        if (!path.isDirectory()) {
-            SpecsLogs.debug(() -> "Ignoring path that is neither file or folder: " + path);
-            return;
-        }
-
-        // Must be a folder from this point on
-        SpecsCheck.checkArgument(path.isDirectory(), () -> "Expected file to be a folder: " + path);
-
-        // If it should be cut-off, stop processing of this folder
-        if (cutoffFolders.test(path)) {
-            return;
-        }
-
-        // Recursively add files of folder
-        File[] children = path.listFiles();
-        if (children == null) {
-            children = new File[0];
-            SpecsLogs.debug("Could not list files of path '" + path.getAbsolutePath() + "'");
-        }
-        // File[] childrenChecked = children != null ? children : new File[0];
-        for (File child : children) {
-            getFilesRecursivePrivate(child, extensions, followSymlinks, cutoffFolders, foundFiles);
-        }
+    /**
+     * Similar to {@link #getFilesRecursive(File, Collection, boolean, Predicate)}, but returns the files while the
+     * search is still running, so that they can be processed before it finishes. The order of the files is not
+     * defined.
+     *
+     * <p>
+     * The stream should be closed if it is not fully consumed.
+     *
+     * @param path
+     *            a File representing a folder or a file.
+     * @param extensions
+     *            a set of strings
+     * @param followSymlinks
+     *            whether to follow symlinks
+     * @param cutoffFolders
+     *            accepts a folder, if returns true, that folder and its sub-folders will be ignored from the search.
+     *            Can be called concurrently
+     * @return a stream with the files inside the given folder, excluding other folders, that have a certain extension
+     *         as determined by the set.
+     */
+    public static Stream<Path> getFilesRecursiveStream(File path, Collection<String> extensions,
+            boolean followSymlinks, Predicate<File> cutoffFolders) {
 
-        /*
-        this.extension = extension;
-        this.separator = SpecsIo.DEFAULT_EXTENSION_SEPARATOR;
-        this.followSymlinks = followSymlinks;
-        }
-        
-        @Override
-        public boolean accept(File dir, String name) {
-        
-        String suffix = separator + extension.toLowerCase();
-        
-        if (!followSymlinks) {
-        
-            File f = new File(dir, name);
-        
-            // Fail if this is a symlink.
-            if (Files.isSymbolicLink(f.toPath())) {
-                return false;
-            }
-        }
-        
-        return name.toLowerCase().endsWith(suffix);
-        */
-        /*
-        // Process files inside folder
-        for (File file : path.listFiles()) {
-        
-        
-        
-            // Process folder
-            if (file.isDirectory()) {
-                // If it should be cut-off, stop processing of this folder
-                if (cutoffFolders.test(file)) {
-                    continue;
-                }
-        
-                // Recursively add files of folder
-                getFilesRecursivePrivate(file, extensions, followSymlinks, cutoffFolders, foundFiles);
-                continue;
-            }
-        
-            //
-            // if (!followSymlinks) {
-            //
-            // File f = new File(dir, name);
-            //
-            // // Fail if this is a symlink.
-            // if (Files.isSymbolicLink(f.toPath())) {
-            // return false;
-            // }
-            // }
-            //
-            // return name.toLowerCase().endsWith(suffix);
-        
-            String extension = SpecsIo.getExtension(file).toLowerCase();
-        
-            if(extensions.contains(o))
-        
-            // Add files that pass the extension and symlink rules
-            // String suffix = SpecsIo.DEFAULT_EXTENSION_SEPARATOR + extension.toLowerCase();
-        }
-        */
-        /*
-        List<File> fileList = new ArrayList<>();
-        
-        ExtensionFilter filter = new ExtensionFilter(extension, followSymlinks);
-        File[] files = path.listFiles(filter);
-        
-        fileList.addAll(Arrays.asList(files));
-        
-        // directories
-        files = path.listFiles();
-        for (File file : files) {
-            if (file.isDirectory()) {
-        
-                // Ignore directory if is symlink
-                if (!followSymlinks && Files.isSymbolicLink(file.toPath())) {
-                    continue;
-                }
-        
-                fileList.addAll(getFilesRecursive(file, extension));
-            }
-        }
-        
-        return fileList;
-        */
+        return new FileWalker(extensions, followSymlinks, cutoffFolders).stream(path);
     }
 
     /**
@@ -24,6 +24,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.logging.StreamHandler;
 
+import pt.up.fe.specs.util.logging.AsyncHandler;
 import pt.up.fe.specs.util.logging.ConsoleFormatter;
 import pt.up.fe.specs.util.logging.CustomConsoleHandler;
 import pt.up.fe.specs.util.logging.EnumLogger;
@@ -172,6 +173,10 @@ public class SpecsLogs {
     /**
      * Removes current handlers and adds the given Handlers to the root logger.
      *
+     * <p>
+     * Previous {@link AsyncHandler}s that are not in the given handlers are closed, which writes their pending records,
+     * closes their delegates and stops their writer threads.
+     *
      * @param handlers
      *            the Handlers we want to set as the root Handlers.
      */
@@ -188,6 +193,14 @@ public class SpecsLogs {
         for (final Handler handler : handlers) {
             logger.addHandler(handler);
         }
+
+        // Close asynchronous handlers that were removed
+        final List<Handler> newHandlers = Arrays.asList(handlers);
+        for (final Handler handler : handlersTemp) {
+            if (handler instanceof AsyncHandler && !newHandlers.contains(handler)) {
+                handler.close();
+            }
+        }
     }
 
     /**
@@ -219,6 +232,21 @@ public class SpecsLogs {
         setRootHandlers(handlerList.toArray(new Handler[handlerList.size()]));
     }
 
+    /**
+     * Replaces each handler of the root logger with an {@link AsyncHandler} that wraps it, so that records are
+     * published in a background thread. Handlers that are already asynchronous are kept.
+     */
+    public static void setAsyncRootHandlers() {
+        final Handler[] handlers = getRootLogger().getHandlers();
+        final Handler[] asyncHandlers = new Handler[handlers.length];
+
+        for (int i = 0; i < handlers.length; i++) {
+            asyncHandlers[i] = handlers[i] instanceof AsyncHandler ? handlers[i] : new AsyncHandler(handlers[i]);
+        }
+
+        setRootHandlers(asyncHandlers);
+    }
+
     public static void setHandlers(List<Handler> handlers) {
 
     }
@@ -478,10 +506,9 @@ public class SpecsLogs {
         }
 
         // Save current place where message is being issued
-        List<StackTraceElement> catchLocationTrace = SpecsLogging
-                .getLogCallLocation(Thread.currentThread().getStackTrace());
-        String catchLocation = !catchLocationTrace.isEmpty() ? SpecsLogging.getSourceCode(catchLocationTrace.get(0))
-                : "<Could not get catch location trace>";
+        String catchLocation = SpecsLogging.getLogCallSite()
+                .map(SpecsLogging::getSourceCode)
+                .orElse("<Could not get catch location trace>");
         // String msgSource = "\n\nCatch location:" + catchLocation;
         // final List<StackTraceElement> currentElements = Arrays.asList(Thread.currentThread().getStackTrace());
         // final StackTraceElement currentElement = currentElements.get(2);
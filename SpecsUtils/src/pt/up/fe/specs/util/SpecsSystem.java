@@ -17,8 +17,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
 import java.lang.invoke.VarHandle;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryPoolMXBean;
@@ -45,6 +47,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -65,9 +68,9 @@ import pt.up.fe.specs.util.properties.SpecsProperty;
 import pt.up.fe.specs.util.system.OutputType;
 import pt.up.fe.specs.util.system.ProcessOutput;
 import pt.up.fe.specs.util.system.ProcessOutputAsString;
+import pt.up.fe.specs.util.system.ProcessRunner;
 import pt.up.fe.specs.util.system.StreamToString;
 import pt.up.fe.specs.util.utilities.JarPath;
-import pt.up.fe.specs.util.utilities.ProgressCounter;
 
 /**
  * Utility methods related to system tasks.
@@ -84,8 +87,48 @@ public class SpecsSystem {
     private static final boolean IS_LINUX = System.getProperty("os.name").toLowerCase().startsWith("linux");
     private static final boolean IS_WINDOWS = System.getProperty("os.name").startsWith("Windows");
 
-    private static final Map<String, Method> CACHED_METHODS = new HashMap<>();
-    private static final Map<String, Optional<Field>> CACHED_FIELDS = new HashMap<>();
+    private static final Map<MethodKey, Optional<Method>> CACHED_METHODS = new ConcurrentHashMap<>();
+    private static final Map<MethodKey, MethodHandle> CACHED_INVOKERS = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<Field>> CACHED_FIELDS = new ConcurrentHashMap<>();
+
+    /**
+     * Identifies a method by class, name and argument types, without building a string.
+     */
+    private static class MethodKey {
+        private final Class<?> invokingClass;
+        private final String methodName;
+        private final Class<?>[] types;
+        private final int hashCode;
+
+        private MethodKey(Class<?> invokingClass, String methodName, Class<?>[] types) {
+            this.invokingClass = invokingClass;
+            this.methodName = methodName;
+            this.types = types;
+            this.hashCode = 31 * (31 * invokingClass.hashCode() + methodName.hashCode()) + Arrays.hashCode(types);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof MethodKey)) {
+                return false;
+            }
+
+            var other = (MethodKey) obj;
+            return invokingClass == other.invokingClass && methodName.equals(other.methodName)
+                    && Arrays.equals(types, other.types);
+        }
+    }
+
+    private static volatile ProcessRunner processRunner = new ProcessRunner();
 
     private static boolean testIsDebug() {
 
@@ -131,7 +174,8 @@ public class SpecsSystem {
         Function<InputStream, String> stderr = new StreamToString(printOutput, storeOutput, OutputType.StdErr);
 
         ProcessOutput<String, String> output = runProcess(builder, stdout, stderr, timeoutNanos);
-        return new ProcessOutputAsString(output.getReturnValue(), output.getStdOut(), output.getStdErr());
+        return new ProcessOutputAsString(output.getReturnValue(), output.getStdOut(), output.getStdErr(),
+                output.getMetrics().orElse(null));
     }
 
     /**
@@ -188,7 +232,8 @@ public class SpecsSystem {
         Function<InputStream, String> stderr = new StreamToString(printOutput, storeOutput, OutputType.StdErr);
 
         ProcessOutput<String, String> output = runProcess(builder, stdout, stderr);
-        return new ProcessOutputAsString(output.getReturnValue(), output.getStdOut(), output.getStdErr());
+        return new ProcessOutputAsString(output.getReturnValue(), output.getStdOut(), output.getStdErr(),
+                output.getMetrics().orElse(null));
     }
 
     /**
@@ -334,180 +379,25 @@ public class SpecsSystem {
             Function<InputStream, O> outputProcessor, Function<InputStream, E> errorProcessor,
             Consumer<OutputStream> input, Long timeoutNanos) {
 
-        // The command in the builder might need processing (e.g., Windows system commands)
-        processCommand(builder);
-        SpecsLogs.debug(() -> "Launching Process: " + builder.command().stream().collect(Collectors.joining(" ")));
-
-        Process process = null;
-        try {
-            // Experiment: Calling Garbage Collector before starting process in order to reduce memory required to fork
-            // VM
-            // http://www.bryanmarty.com/2012/01/14/forking-jvm/
-            long totalMemBefore = Runtime.getRuntime().totalMemory();
-            System.gc();
-            long totalMemAfter = Runtime.getRuntime().totalMemory();
-            SpecsLogs.msgLib("Preparing to run process, memory before -> after GC: "
-                    + SpecsStrings.parseSize(totalMemBefore) + " -> " + SpecsStrings.parseSize(totalMemAfter));
-            process = builder.start();
-
-        } catch (IOException e) {
-            throw new RuntimeException("Could not start process", e);
-        }
-
-        ExecutorService stdoutThread = Executors.newSingleThreadExecutor();
-        InputStream inputStream = process.getInputStream();
-        Future<O> outputFuture = stdoutThread.submit(() -> outputProcessor.apply(inputStream));
-
-        ExecutorService stderrThread = Executors.newSingleThreadExecutor();
-        InputStream errorStream = process.getErrorStream();
-        Future<E> errorFuture = stderrThread.submit(() -> errorProcessor.apply(errorStream));
-
-        if (input != null) {
-            ExecutorService stdinThread = Executors.newSingleThreadExecutor();
-            OutputStream inStream = process.getOutputStream();
-            stdinThread.submit(() -> input.accept(inStream));
-            stdinThread.shutdown();
-        }
-
-        // outputStream.
-
-        // The ExecutorService objects are shutdown, as they will not
-        // receive more tasks.
-        stdoutThread.shutdown();
-        stderrThread.shutdown();
-
-        return executeProcess(process, timeoutNanos, outputFuture, errorFuture);
+        return processRunner.run(builder, outputProcessor, errorProcessor, input, timeoutNanos);
     }
 
     /**
-     * Performs several fixes on the builder command (e.g., adapts command for Windows platforms)
      * 
-     * @param builder
+     * @return the runner used to launch processes in the runProcess methods
      */
-    private static void processCommand(ProcessBuilder builder) {
-
-        // For now, do nothing if it is not Windows
-        if (!isWindows()) {
-            return;
-        }
-
-        // Do nothing if no command
-        if (builder.command().isEmpty()) {
-            return;
-        }
-
-        // Check if command is a file that exists in the working folder
-        File workingDir = builder.directory();
-        File command = new File(workingDir, builder.command().get(0));
-
-        // If command is a file that exists, do nothing
-        if (command.isFile()) {
-            return;
-        }
-
-        // Update command
-        List<String> newCommand = new ArrayList<>(builder.command().size() + 2);
-        newCommand.add("cmd");
-        newCommand.add("/c");
-        newCommand.addAll(builder.command());
-
-        builder.command(newCommand);
-    }
-
-    private static <O, E> ProcessOutput<O, E> executeProcess(Process process,
-            Long timeoutNanos, Future<O> outputFuture, Future<E> errorFuture) {
-
-        boolean timedOut = false;
-
-        // Read streams before the process ends
-        O output = null;
-        E error = null;
-
-        // wait forever, or just for a while
-        try {
-            if (timeoutNanos == null) {
-                process.waitFor();
-                SpecsLogs.debug(() -> "Process ended on its own");
-
-            } else {
-                SpecsLogs.debug(() -> "Launched process with a timeout of " + timeoutNanos + "ns");
-                timedOut = !process.waitFor(timeoutNanos, TimeUnit.NANOSECONDS);
-                boolean timedOutFinal = timedOut;
-                SpecsLogs.debug(() -> "Process timed out? " + timedOutFinal);
-            }
-
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-            destroyProcess(process);
-            throw new RuntimeException("Could not finish process with command '"
-                    + process.info().commandLine().orElse("<NOT AVAILABLE>") + "'");
-        }
-
-        Exception outputException = null;
-        try {
-            output = outputFuture.get(10, TimeUnit.SECONDS);
-            error = errorFuture.get(10, TimeUnit.SECONDS);
-
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Thread interrupted while waiting for output/error streams");
-
-        } catch (Exception e) {
-            SpecsLogs.info("Exception while waiting for output/error streams: " + e.getMessage());
-            outputException = e;
-        }
-
-        // wait for notify (?)
-        /*       try {
-            process.getInputStream().wait();
-        
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }*/
-
-        int returnValue = timedOut ? -1 : process.exitValue();
-        if (timedOut) {
-            SpecsLogs.info("Process timed out after " + SpecsStrings.parseTime(timeoutNanos));
-        }
-
-        destroyProcess(process);
-        return new ProcessOutput<>(returnValue, output, error, outputException);
+    public static ProcessRunner getProcessRunner() {
+        return processRunner;
     }
 
-    private static void destroyProcess(Process process) {
-
-        // TODO: a breakpoint is necessary before process destruction, or else the "insts"
-        // linestream is closed
-
-        // Get descendants of the process
-        List<ProcessHandle> processDescendants = process.descendants().collect(Collectors.toList());
-        SpecsLogs.debug(() -> "SpecsSystem.executeProcess: Killing process...");
-        process.destroyForcibly();
-        destroyDescendants(processDescendants);
-    }
-
-    private static void destroyDescendants(List<ProcessHandle> processDescendants) {
-
-        // Destroy descendants
-        ProgressCounter counter = new ProgressCounter(processDescendants.size());
-        SpecsLogs.debug("Found " + processDescendants.size() + " descendants processes");
-        for (ProcessHandle handle : processDescendants) {
-            SpecsLogs.debug(() -> "SpecsSystem.executeProcess: Killing descendant process... " + counter.next());
-
-            handle.destroyForcibly();
-            SpecsLogs.debug(() -> "SpecsSystem.executeProcess: Waiting killing...");
-            try {
-                handle.onExit().get(1, TimeUnit.SECONDS);
-                SpecsLogs.debug(() -> "SpecsSystem.executeProcess: Destroyed");
-
-            } catch (TimeoutException t) {
-                SpecsLogs.debug(() -> "SpecsSystem.executeProcess: Timeout while destroying descendant process!");
-
-            } catch (Exception e) {
-                SpecsLogs.debug(() -> "SpecsSystem.executeProcess: Could not destroy descendant process!");
-            }
-        }
+    /**
+     * Sets the runner used to launch processes in the runProcess methods (e.g., to enable garbage collection before
+     * launching processes).
+     * 
+     * @param processRunner
+     */
+    public static void setProcessRunner(ProcessRunner processRunner) {
+        SpecsSystem.processRunner = Objects.requireNonNull(processRunner);
     }
 
     public static ThreadFactory getDaemonThreadFactory() {
@@ -1464,6 +1354,16 @@ public class SpecsSystem {
         }
     }
 
+    /**
+     * The method is chosen according to the runtime classes of the arguments. The chosen method is cached as a method
+     * handle, so repeated calls with the same classes do not use reflection.
+     * 
+     * @param object
+     *            the object where the method will be called, or a Class for static methods
+     * @param method
+     * @param args
+     * @return the value returned by the method
+     */
     public static Object invoke(Object object, String method, Object... args) {
 
         Class<?>[] types = new Class[args.length];
@@ -1479,39 +1379,68 @@ public class SpecsSystem {
         // If method is static, object will be ignored
         Object invokingObject = object;
 
-        // Choose best method
-        Method invokingMethod = getMethod(invokingClass, method, types);
+        var methodKey = new MethodKey(invokingClass, method, types);
 
-        if (invokingMethod == null) {
-            throw new RuntimeException("Could not find method '" + method + "' for object " + object + " and arguments "
-                    + Arrays.asList(types));
+        var invoker = CACHED_INVOKERS.get(methodKey);
+        if (invoker == null) {
+            // Choose best method
+            Method invokingMethod = getMethod(methodKey);
+
+            if (invokingMethod == null) {
+                throw new RuntimeException("Could not find method '" + method + "' for object " + object
+                        + " and arguments " + Arrays.asList(types));
+            }
+
+            invoker = CACHED_INVOKERS.computeIfAbsent(methodKey, key -> newInvoker(invokingMethod));
         }
 
         try {
-            return invokingMethod.invoke(invokingObject, args);
-        } catch (Exception e) {
+            return invoker.invokeExact(invokingObject, args);
+        } catch (Throwable e) {
             throw new RuntimeException("Error while invoking method '" + method + "'", e);
         }
         // return object.class.getMethod(property, arguments).invoke(object, arguments);
     }
 
-    public static Method getMethod(Class<?> invokingClass, String methodName, Class<?>... types) {
-        // Use methodId to cache results
-        String methodId = getMethodId(invokingClass, methodName, types);
-        return CACHED_METHODS.computeIfAbsent(methodId, key -> findMethod(invokingClass, methodName, types));
-    }
+    /**
+     * 
+     * @param method
+     * @return a handle of type (Object, Object[])Object that receives the object (ignored if the method is static) and
+     *         the arguments
+     */
+    private static MethodHandle newInvoker(Method method) {
+        var invokerType = MethodType.methodType(Object.class, Object.class, Object[].class);
 
-    private static String getMethodId(Class<?> invokingClass, String methodName, Class<?>... types) {
-        StringBuilder methodId = new StringBuilder();
+        try {
+            var handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
 
-        methodId.append(invokingClass.getName());
-        methodId.append("::").append(methodName);
-        for (var type : types) {
-            methodId.append(",");
-            methodId.append(type.getName());
+            int arity = method.getParameterCount();
+            return handle.asType(MethodType.genericMethodType(arity + 1))
+                    .asSpreader(Object[].class, arity)
+                    .asType(invokerType);
+        } catch (IllegalAccessException e) {
+            // Not accessible through a lookup, use reflection
+            try {
+                return MethodHandles.lookup().findVirtual(Method.class, "invoke", invokerType).bindTo(method);
+            } catch (ReflectiveOperationException e2) {
+                throw new RuntimeException("Could not create invoker for method '" + method + "'", e2);
+            }
         }
+    }
+
+    public static Method getMethod(Class<?> invokingClass, String methodName, Class<?>... types) {
+        return getMethod(new MethodKey(invokingClass, methodName, types));
+    }
 
-        return methodId.toString();
+    private static Method getMethod(MethodKey methodKey) {
+        // Absent methods are also cached
+        return CACHED_METHODS.computeIfAbsent(methodKey,
+                key -> Optional.ofNullable(findMethod(key.invokingClass, key.methodName, key.types)))
+                .orElse(null);
     }
 
     public static Method findMethod(Class<?> invokingClass, String methodName, Class<?>... types) {
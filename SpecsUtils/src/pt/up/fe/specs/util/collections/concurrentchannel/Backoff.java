@@ -0,0 +1,57 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.collections.concurrentchannel;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waiting strategy for the lock-free queues: spins briefly, then yields, and then parks for short periods.
+ */
+class Backoff {
+
+    private static final int SPINS_BEFORE_YIELD = 100;
+    private static final int SPINS_BEFORE_PARK = 1_000;
+    private static final long PARK_NANOS = 10_000;
+
+    private Backoff() {
+    }
+
+    /**
+     * Waits a little.
+     *
+     * @param spins
+     *            the number of times this method was called in the current wait, starting at 0
+     * @return the value to pass in the next call
+     * @throws InterruptedException
+     *             if the thread is interrupted
+     */
+    static int backoff(int spins) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        if (spins < SPINS_BEFORE_YIELD) {
+            Thread.onSpinWait();
+            return spins + 1;
+        }
+
+        if (spins < SPINS_BEFORE_PARK) {
+            Thread.yield();
+            return spins + 1;
+        }
+
+        LockSupport.parkNanos(PARK_NANOS);
+        return spins;
+    }
+}
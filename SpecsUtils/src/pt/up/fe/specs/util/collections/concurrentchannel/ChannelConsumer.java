@@ -13,6 +13,7 @@
 
 package pt.up.fe.specs.util.collections.concurrentchannel;
 
+import java.util.Collection;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -65,4 +66,18 @@ public class ChannelConsumer<T> {
         return this.channel.take();
     }
 
+    /**
+     * Removes at most the given number of available elements from this queue and adds them to the given collection,
+     * without waiting.
+     *
+     * @param c
+     *            the collection to transfer elements into
+     * @param maxElements
+     *            the maximum number of elements to transfer
+     * @return the number of elements transferred
+     */
+    public int drainTo(Collection<? super T> c, int maxElements) {
+        return this.channel.drainTo(c, maxElements);
+    }
+
 }
@@ -32,7 +32,35 @@ public class ConcurrentChannel<T> {
      *            the capacity of this Concurrent Channel.
      */
     public ConcurrentChannel(int capacity) {
-        this.channel = new ArrayBlockingQueue<>(capacity);
+        this(new ArrayBlockingQueue<>(capacity));
+    }
+
+    private ConcurrentChannel(BlockingQueue<T> channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Creates a bounded channel backed by a lock-free ring buffer. The channel must have exactly one producer thread
+     * and one consumer thread.
+     *
+     * @param capacity
+     *            the capacity of this Concurrent Channel.
+     * @return a single-producer, single-consumer channel
+     */
+    public static <T> ConcurrentChannel<T> newSingleProducerSingleConsumer(int capacity) {
+        return new ConcurrentChannel<>(new SpscRingBuffer<>(capacity));
+    }
+
+    /**
+     * Creates a bounded channel backed by a lock-free ring buffer. The channel can have several producer threads, but
+     * only one consumer thread. The capacity is rounded up to a power of two, and is at least two.
+     *
+     * @param capacity
+     *            the capacity of this Concurrent Channel.
+     * @return a multiple-producer, single-consumer channel
+     */
+    public static <T> ConcurrentChannel<T> newMultiProducerSingleConsumer(int capacity) {
+        return new ConcurrentChannel<>(new MpscRingBuffer<>(capacity));
     }
 
     /**
@@ -0,0 +1,257 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.collections.concurrentchannel;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bounded queue for any number of producer threads and exactly one consumer thread.
+ *
+ * <p>
+ * Each slot has a sequence number that tells whether it is free for the producer that claimed that position, or
+ * holds an element ready for the consumer. Producers claim positions with a compare-and-set on the tail. Blocking
+ * operations wait with {@link Backoff}, they never take a lock.
+ *
+ * <p>
+ * The capacity is rounded up to a power of two, and is at least two (with a single slot, a full slot could not be
+ * told apart from a free one). Using more than one consumer thread corrupts the queue. Iterators are weakly
+ * consistent snapshots that do not support removal, so {@link #remove(Object)} and {@link #removeAll(Collection)} are
+ * not supported.
+ */
+class MpscRingBuffer<T> extends AbstractQueue<T> implements BlockingQueue<T> {
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    // Next position to claim, shared by producers
+    private final AtomicLong tail;
+    // Next position to read, written only by the consumer
+    private final AtomicLong head;
+
+    MpscRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        size = Math.max(size, 2);
+
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+
+        this.mask = size - 1;
+        this.tail = new AtomicLong();
+        this.head = new AtomicLong();
+    }
+
+    @Override
+    public boolean offer(T e) {
+        Objects.requireNonNull(e);
+
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            // Slot is free for this position, try to claim it
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                continue;
+            }
+
+            // Slot still holds the element of the previous lap, queue is full
+            if (difference < 0) {
+                return false;
+            }
+
+            // Another producer claimed the position, try again
+        }
+
+        buffer[index] = e;
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    @Override
+    public T poll() {
+        long position = head.get();
+        int index = (int) (position & mask);
+
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        T element = (T) buffer[index];
+        buffer[index] = null;
+
+        // Free the slot for the next lap
+        sequences.lazySet(index, position + buffer.length);
+        head.lazySet(position + 1);
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T peek() {
+        long position = head.get();
+        int index = (int) (position & mask);
+
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+
+        return (T) buffer[index];
+    }
+
+    @Override
+    public void put(T e) throws InterruptedException {
+        int spins = 0;
+        while (!offer(e)) {
+            spins = Backoff.backoff(spins);
+        }
+    }
+
+    @Override
+    public boolean offer(T e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int spins = 0;
+        while (!offer(e)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            spins = Backoff.backoff(spins);
+        }
+
+        return true;
+    }
+
+    @Override
+    public T take() throws InterruptedException {
+        int spins = 0;
+        T element;
+        while ((element = poll()) == null) {
+            spins = Backoff.backoff(spins);
+        }
+
+        return element;
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int spins = 0;
+        T element;
+        while ((element = poll()) == null) {
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            spins = Backoff.backoff(spins);
+        }
+
+        return element;
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        }
+
+        int drained = 0;
+        T element;
+        while (drained < maxElements && (element = poll()) != null) {
+            c.add(element);
+            drained++;
+        }
+
+        return drained;
+    }
+
+    @Override
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, buffer.length));
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return buffer.length - size();
+    }
+
+    /**
+     * Can be called from any thread. Elements that are being added or taken while the snapshot is built may be left
+     * out.
+     * 
+     * @return an iterator over a snapshot of the elements in the queue
+     */
+    @Override
+    public Iterator<T> iterator() {
+        List<T> snapshot = new ArrayList<>();
+
+        long currentTail = tail.get();
+        for (long position = head.get(); position < currentTail; position++) {
+            int index = (int) (position & mask);
+
+            // Only slots that hold the element of this position, before and after reading it
+            if (sequences.get(index) != position + 1) {
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            T element = (T) buffer[index];
+
+            if (element == null || sequences.get(index) != position + 1) {
+                continue;
+            }
+
+            snapshot.add(element);
+        }
+
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "MpscRingBuffer[size=" + size() + ", capacity=" + buffer.length + "]";
+    }
+}
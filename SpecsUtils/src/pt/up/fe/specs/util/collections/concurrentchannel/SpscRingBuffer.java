@@ -0,0 +1,246 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.collections.concurrentchannel;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free bounded queue for exactly one producer thread and one consumer thread.
+ *
+ * <p>
+ * Each side only writes its own index, and reads the index of the other side only when its cached copy says the
+ * buffer is full (or empty). Blocking operations wait with {@link Backoff}, they never take a lock.
+ *
+ * <p>
+ * Using more than one producer or more than one consumer thread corrupts the queue. Iterators are weakly consistent
+ * snapshots that do not support removal, so {@link #remove(Object)} and {@link #removeAll(Collection)} are not
+ * supported.
+ */
+class SpscRingBuffer<T> extends AbstractQueue<T> implements BlockingQueue<T> {
+
+    private final Object[] buffer;
+    private final int mask;
+    private final int capacity;
+
+    // Next position to read, written only by the consumer
+    private final AtomicLong head;
+    // Next position to write, written only by the producer
+    private final AtomicLong tail;
+
+    // Last head seen by the producer
+    private long cachedHead;
+    // Last tail seen by the consumer
+    private long cachedTail;
+
+    SpscRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        this.capacity = capacity;
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+    }
+
+    @Override
+    public boolean offer(T e) {
+        Objects.requireNonNull(e);
+
+        long currentTail = tail.get();
+        if (currentTail - cachedHead >= capacity) {
+            cachedHead = head.get();
+            if (currentTail - cachedHead >= capacity) {
+                return false;
+            }
+        }
+
+        buffer[(int) (currentTail & mask)] = e;
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    @Override
+    public T poll() {
+        long currentHead = head.get();
+        if (!hasElements(currentHead)) {
+            return null;
+        }
+
+        int index = (int) (currentHead & mask);
+        @SuppressWarnings("unchecked")
+        T element = (T) buffer[index];
+        buffer[index] = null;
+        head.lazySet(currentHead + 1);
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T peek() {
+        long currentHead = head.get();
+        if (!hasElements(currentHead)) {
+            return null;
+        }
+
+        return (T) buffer[(int) (currentHead & mask)];
+    }
+
+    private boolean hasElements(long currentHead) {
+        if (currentHead < cachedTail) {
+            return true;
+        }
+
+        cachedTail = tail.get();
+        return currentHead < cachedTail;
+    }
+
+    @Override
+    public void put(T e) throws InterruptedException {
+        int spins = 0;
+        while (!offer(e)) {
+            spins = Backoff.backoff(spins);
+        }
+    }
+
+    @Override
+    public boolean offer(T e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int spins = 0;
+        while (!offer(e)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            spins = Backoff.backoff(spins);
+        }
+
+        return true;
+    }
+
+    @Override
+    public T take() throws InterruptedException {
+        int spins = 0;
+        T element;
+        while ((element = poll()) == null) {
+            spins = Backoff.backoff(spins);
+        }
+
+        return element;
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int spins = 0;
+        T element;
+        while ((element = poll()) == null) {
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            spins = Backoff.backoff(spins);
+        }
+
+        return element;
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Moves up to maxElements into the given collection, publishing the new head only once.
+     */
+    @Override
+    public int drainTo(Collection<? super T> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        }
+
+        long currentHead = head.get();
+        cachedTail = tail.get();
+        int available = (int) Math.min(maxElements, cachedTail - currentHead);
+        if (available <= 0) {
+            return 0;
+        }
+
+        for (int i = 0; i < available; i++) {
+            int index = (int) ((currentHead + i) & mask);
+            @SuppressWarnings("unchecked")
+            T element = (T) buffer[index];
+            buffer[index] = null;
+            c.add(element);
+        }
+
+        head.lazySet(currentHead + available);
+        return available;
+    }
+
+    @Override
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * Can be called from any thread. Elements taken by the consumer while the snapshot is built are left out.
+     * 
+     * @return an iterator over a snapshot of the elements in the queue
+     */
+    @Override
+    public Iterator<T> iterator() {
+        List<T> snapshot = new ArrayList<>();
+
+        long currentTail = tail.get();
+        for (long position = head.get(); position < currentTail; position++) {
+            @SuppressWarnings("unchecked")
+            T element = (T) buffer[(int) (position & mask)];
+
+            // The slot may have been taken, and even reused by the producer, after the position was read
+            if (element == null || head.get() > position) {
+                continue;
+            }
+
+            snapshot.add(element);
+        }
+
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "SpscRingBuffer[size=" + size() + ", capacity=" + capacity + "]";
+    }
+}
@@ -14,80 +14,320 @@
 package pt.up.fe.specs.util.csv;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.ref.Cleaner;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import pt.up.fe.specs.util.SpecsIo;
+import pt.up.fe.specs.util.SpecsLogs;
+import pt.up.fe.specs.util.SpecsSystem;
 
-public class BufferedCsvWriter extends CsvWriter {
+/**
+ * CSV writer that streams the lines to a file, instead of keeping them in memory.
+ * 
+ * <p>
+ * The file is kept open while lines are added. Lines are built in a reusable buffer and written to the file when the
+ * buffer reaches a size ({@link #setBufferSize(int)}), when {@link #buildCsv()} or {@link #flush()} is called, or when
+ * the writer is closed. Buffered lines are also written by a shared daemon thread once the flush interval
+ * ({@link #setFlushInterval(long, TimeUnit)}) has passed since the last flush, even if no more lines are added. The
+ * thread checks the writer every half of the interval (and at most every {@value #MIN_CHECK_PERIOD_MILLIS} ms).
+ * 
+ * <p>
+ * {@link #close()} must be called when done: it writes the remaining lines and closes the file. Unlike writing each
+ * line to the file as soon as it is added, lines that are still in the buffer are lost if the JVM stops abruptly, for
+ * up to about the flush interval. A writer that is not closed keeps the file open until it is garbage collected, and
+ * is only then flushed and closed, which may never happen before the JVM exits.
+ * 
+ * <p>
+ * Methods are thread-safe, since the buffer is also written by the daemon thread.
+ */
+public class BufferedCsvWriter extends CsvWriter implements AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+
+    static final long MIN_CHECK_PERIOD_MILLIS = 10;
+
+    private static final Charset CHARSET = Charset.forName(SpecsIo.DEFAULT_CHAR_SET);
+
+    /**
+     * Writes the buffers of all writers when the flush interval has passed.
+     */
+    private static final ScheduledThreadPoolExecutor FLUSHER = newFlusher();
+
+    /**
+     * Closes the output of writers that were not closed, when they are garbage collected.
+     */
+    private static final Cleaner CLEANER = Cleaner.create(SpecsSystem.getDaemonThreadFactory());
+
+    private static ScheduledThreadPoolExecutor newFlusher() {
+        var flusher = new ScheduledThreadPoolExecutor(1, SpecsSystem.getDaemonThreadFactory());
+        flusher.setRemoveOnCancelPolicy(true);
+        return flusher;
+    }
+
+    /**
+     * The buffer and the file of a writer. It does not reference the writer, so that it can be used by the daemon
+     * thread and by the cleaner after the writer is unreachable.
+     */
+    private static class Output implements Runnable {
+
+        private final File file;
+        private final StringBuilder buffer;
+        private Writer writer;
+        private char[] chars;
+        private long lastFlush;
+        private long flushIntervalNanos;
+        private boolean closed;
+        private ScheduledFuture<?> flushTask;
+
+        private Output(File file) {
+            this.file = file;
+            this.buffer = new StringBuilder();
+            this.writer = null;
+            this.chars = new char[0];
+            this.lastFlush = System.nanoTime();
+            this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_FLUSH_INTERVAL_MILLIS);
+            this.closed = false;
+            this.flushTask = null;
+        }
+
+        /**
+         * Schedules the periodic check of the flush interval, replacing the previous schedule.
+         */
+        private synchronized void setFlushInterval(long flushIntervalNanos) {
+            this.flushIntervalNanos = flushIntervalNanos;
+
+            if (closed) {
+                return;
+            }
+
+            cancelFlush();
+
+            long period = Math.max(flushIntervalNanos / 2, TimeUnit.MILLISECONDS.toNanos(MIN_CHECK_PERIOD_MILLIS));
+            flushTask = FLUSHER.scheduleWithFixedDelay(this::flushIfDue, period, period, TimeUnit.NANOSECONDS);
+        }
+
+        private void cancelFlush() {
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+        }
+
+        private synchronized boolean isDue() {
+            return System.nanoTime() - lastFlush >= flushIntervalNanos;
+        }
+
+        private synchronized void flushIfDue() {
+            if (buffer.length() == 0 || !isDue()) {
+                return;
+            }
+
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                SpecsLogs.warn("Could not flush CSV writer", e);
+            }
+        }
+
+        /**
+         * Writes the buffered lines to the file.
+         */
+        private synchronized void flush() {
+            if (closed) {
+                return;
+            }
+
+            try {
+                writeBuffer();
+                if (writer != null) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Could not write to CSV file '" + file + "'", e);
+            }
+
+            lastFlush = System.nanoTime();
+        }
+
+        private void writeBuffer() throws IOException {
+            int length = buffer.length();
+            if (length == 0) {
+                return;
+            }
+
+            if (writer == null) {
+                writer = Files.newBufferedWriter(file.toPath(), CHARSET, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            }
+
+            // Copy to a reusable array, Writer.append(CharSequence) would create a String
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            buffer.getChars(0, length, chars, 0);
+            writer.write(chars, 0, length);
+
+            buffer.setLength(0);
+        }
+
+        private synchronized void close() {
+            if (closed) {
+                return;
+            }
+
+            cancelFlush();
+            flush();
+            closed = true;
+
+            if (writer == null) {
+                return;
+            }
+
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Could not close CSV file '" + file + "'", e);
+            }
+        }
+
+        /**
+         * Called by the cleaner, when the writer was not closed.
+         */
+        @Override
+        public void run() {
+            try {
+                close();
+            } catch (RuntimeException e) {
+                SpecsLogs.warn("Could not close CSV writer", e);
+            }
+        }
+    }
 
     private final File bufferFile;
 
+    private int bufferSize;
+
     private boolean headerWritten;
     private int lineCounter;
 
+    private final Output output;
+    private final Cleaner.Cleanable cleanable;
+
     public BufferedCsvWriter(File bufferFile, List<String> header) {
         super(header);
 
         this.bufferFile = bufferFile;
+        this.bufferSize = DEFAULT_BUFFER_SIZE;
         // this.outputFile = new File(outputFile.getParent(), outputFile.getName() + ".buffer");
         this.headerWritten = false;
         this.lineCounter = 0;
+
         // Delete buffer
         SpecsIo.write(bufferFile, "");
+
+        this.output = new Output(bufferFile);
+        this.output.setFlushInterval(TimeUnit.MILLISECONDS.toNanos(DEFAULT_FLUSH_INTERVAL_MILLIS));
+        this.cleanable = CLEANER.register(this, output);
+    }
+
+    /**
+     * Number of characters that are kept in memory before being written to the file.
+     * 
+     * @param bufferSize
+     * @return this writer
+     */
+    public BufferedCsvWriter setBufferSize(int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+
+        synchronized (output) {
+            this.bufferSize = bufferSize;
+        }
+        return this;
+    }
+
+    /**
+     * Maximum time lines are kept in memory, checked each time a line is added and periodically by a daemon thread.
+     * 
+     * @param interval
+     * @param unit
+     * @return this writer
+     */
+    public BufferedCsvWriter setFlushInterval(long interval, TimeUnit unit) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + interval);
+        }
+
+        output.setFlushInterval(unit.toNanos(interval));
+        return this;
     }
 
     @Override
     public BufferedCsvWriter addLine(List<String> line) {
-        // When adding a line, write directly to the file
-        // super.addLine(line);
+        synchronized (output) {
+            if (output.closed) {
+                throw new RuntimeException("CSV writer for file '" + bufferFile + "' is closed");
+            }
+
+            // Write header
+            if (!this.headerWritten) {
+                this.headerWritten = true;
+                // Increment line counter
+                lineCounter++;
+
+                appendHeader(output.buffer);
+            }
 
-        // Write header
-        if (!this.headerWritten) {
-            this.headerWritten = true;
             // Increment line counter
             lineCounter++;
-            /*
-            StringBuilder builder = new StringBuilder();
-            
-            // Separator
-            builder.append("sep=").append(this.delimiter).append("\n");
-            
-            // Header
-            builder.append(this.header.get(0));
-            for (int i = 1; i < this.header.size(); i++) {
-                builder.append(this.delimiter).append(this.header.get(i));
-            }
-            builder.append(this.newline);
-            
-            IoUtils.append(this.bufferFile, builder.toString());
-            */
-            SpecsIo.append(this.bufferFile, buildHeader());
-        }
 
-        // Increment line counter
-        lineCounter++;
-
-        // Write line
-        SpecsIo.append(this.bufferFile, buildLine(line, lineCounter));
-        /*
-        StringBuilder builder = new StringBuilder();
-        
-        builder.append(line.get(0));
-        for (int i = 1; i < line.size(); i++) {
-            builder.append(this.delimiter).append(line.get(i));
+            appendLine(output.buffer, line, lineCounter);
+
+            if (output.buffer.length() >= bufferSize || output.isDue()) {
+                output.flush();
+            }
         }
-        builder.append(this.newline);
-        
-        IoUtils.append(this.bufferFile, builder.toString());
-        */
 
         return this;
     }
 
+    /**
+     * Writes the buffered lines to the file.
+     */
+    public void flush() {
+        output.flush();
+    }
+
     @Override
     public String buildCsv() {
-        // Return the contents of the file that was written
-        return SpecsIo.read(this.bufferFile);
+        synchronized (output) {
+            output.flush();
+
+            // Return the contents of the file that was written
+            return SpecsIo.read(this.bufferFile);
+        }
+    }
+
+    /**
+     * Writes the buffered lines and closes the file. Lines can no longer be added, but {@link #buildCsv()} can still be
+     * called.
+     */
+    @Override
+    public void close() {
+        output.close();
+
+        // Already closed, only unregisters the output from the cleaner
+        cleanable.clean();
     }
 
 }
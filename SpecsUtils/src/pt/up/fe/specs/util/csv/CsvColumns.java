@@ -0,0 +1,177 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.csv;
+
+import java.util.List;
+
+/**
+ * Columns of a CSV file, stored as arrays of the type of each column.
+ * 
+ * <p>
+ * The arrays returned by the getters are not copied.
+ */
+public class CsvColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_CAPACITY = 16;
+
+    private final List<String> header;
+    private final CsvColumnType[] types;
+    private final Object[] columns;
+    private int rowCount;
+    private int capacity;
+
+    CsvColumns(List<String> header, CsvColumnType[] types) {
+        this(header, types, INITIAL_CAPACITY);
+    }
+
+    private CsvColumns(List<String> header, CsvColumnType[] types, int capacity) {
+        this.header = header;
+        this.types = types;
+        this.columns = new Object[types.length];
+        this.rowCount = 0;
+        this.capacity = capacity;
+
+        for (int i = 0; i < types.length; i++) {
+            columns[i] = newColumn(types[i], capacity);
+        }
+    }
+
+    private static Object newColumn(CsvColumnType type, int capacity) {
+        switch (type) {
+        case STRING:
+            return new String[capacity];
+        case INT:
+            return new int[capacity];
+        case LONG:
+            return new long[capacity];
+        case DOUBLE:
+            return new double[capacity];
+        default:
+            throw new RuntimeException("Case not defined: " + type);
+        }
+    }
+
+    /**
+     * Joins the columns of consecutive parts of the same file.
+     */
+    static CsvColumns concat(List<String> header, CsvColumnType[] types, List<CsvColumns> parts) {
+        int total = 0;
+        for (var part : parts) {
+            total += part.rowCount;
+        }
+
+        var result = new CsvColumns(header, types, total);
+        for (var part : parts) {
+            for (int i = 0; i < types.length; i++) {
+                System.arraycopy(part.columns[i], 0, result.columns[i], result.rowCount, part.rowCount);
+            }
+            result.rowCount += part.rowCount;
+        }
+
+        return result;
+    }
+
+    void add(CsvRow row) {
+        if (row.size() < types.length) {
+            throw new RuntimeException("Expected at least " + types.length + " fields in CSV record, found "
+                    + row.size() + ": " + row);
+        }
+
+        if (rowCount == capacity) {
+            // Capacity can be 0 after trimToSize()
+            resize(Math.max(capacity * 2, MIN_CAPACITY));
+        }
+
+        for (int i = 0; i < types.length; i++) {
+            switch (types[i]) {
+            case STRING:
+                ((String[]) columns[i])[rowCount] = row.get(i);
+                break;
+            case INT:
+                ((int[]) columns[i])[rowCount] = row.getInt(i);
+                break;
+            case LONG:
+                ((long[]) columns[i])[rowCount] = row.getLong(i);
+                break;
+            case DOUBLE:
+                ((double[]) columns[i])[rowCount] = row.getDouble(i);
+                break;
+            default:
+                throw new RuntimeException("Case not defined: " + types[i]);
+            }
+        }
+
+        rowCount++;
+    }
+
+    /**
+     * Releases the unused capacity.
+     */
+    void trimToSize() {
+        if (rowCount < capacity) {
+            resize(rowCount);
+        }
+    }
+
+    private void resize(int newCapacity) {
+        for (int i = 0; i < columns.length; i++) {
+            var column = newColumn(types[i], newCapacity);
+            System.arraycopy(columns[i], 0, column, 0, rowCount);
+            columns[i] = column;
+        }
+
+        capacity = newCapacity;
+    }
+
+    public List<String> getHeader() {
+        return header;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return types.length;
+    }
+
+    public CsvColumnType getType(int column) {
+        return types[column];
+    }
+
+    private Object getColumn(int column, CsvColumnType type) {
+        if (types[column] != type) {
+            throw new RuntimeException("Column " + column + " has type " + types[column] + ", not " + type);
+        }
+
+        return columns[column];
+    }
+
+    public String[] getStrings(int column) {
+        return (String[]) getColumn(column, CsvColumnType.STRING);
+    }
+
+    public int[] getInts(int column) {
+        return (int[]) getColumn(column, CsvColumnType.INT);
+    }
+
+    public long[] getLongs(int column) {
+        return (long[]) getColumn(column, CsvColumnType.LONG);
+    }
+
+    public double[] getDoubles(int column) {
+        return (double[]) getColumn(column, CsvColumnType.DOUBLE);
+    }
+}
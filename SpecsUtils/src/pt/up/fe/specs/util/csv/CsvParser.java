@@ -0,0 +1,295 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Parses CSV records as described in RFC 4180.
+ * 
+ * <p>
+ * Fields can be quoted, and quoted fields can contain delimiters, newlines and escaped quotes (""). Records end with
+ * LF, CRLF or CR. Characters after the closing quote of a field are kept as part of the field.
+ * 
+ * <p>
+ * Characters are read from a {@link Reader} into an internal buffer, or directly from a range of an array.
+ */
+class CsvParser {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final char QUOTE = '"';
+
+    private final Reader reader;
+
+    private char[] buffer;
+    private int position;
+    private int limit;
+
+    private char delimiter;
+
+    CsvParser(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+        this.position = 0;
+        this.limit = 0;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Parses the characters of the array between start (inclusive) and end (exclusive), the array is not copied.
+     */
+    CsvParser(char[] data, int start, int end, char delimiter) {
+        this.reader = null;
+        this.buffer = data;
+        this.position = start;
+        this.limit = end;
+        this.delimiter = delimiter;
+    }
+
+    static char toDelimiter(String delimiter) {
+        if (delimiter.length() != 1) {
+            throw new IllegalArgumentException("CSV delimiter must be a single character: '" + delimiter + "'");
+        }
+
+        return delimiter.charAt(0);
+    }
+
+    void setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Only meaningful when parsing an array.
+     * 
+     * @return the index of the next character to parse
+     */
+    int getPosition() {
+        return position;
+    }
+
+    private boolean fill() {
+        if (reader == null) {
+            return false;
+        }
+
+        try {
+            int read;
+            do {
+                read = reader.read(buffer, 0, buffer.length);
+            } while (read == 0);
+
+            if (read < 0) {
+                return false;
+            }
+
+            position = 0;
+            limit = read;
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read CSV contents", e);
+        }
+    }
+
+    boolean hasNext() {
+        return position < limit || fill();
+    }
+
+    private int read() {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+
+        return buffer[position++];
+    }
+
+    private int peek() {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+
+        return buffer[position];
+    }
+
+    /**
+     * If the next line is a separator directive (e.g., 'sep=;'), consumes it.
+     * 
+     * @param prefix
+     * @return the value of the directive, or null if the next line is not a directive
+     */
+    String readDirective(String prefix) {
+        if (!hasNext()) {
+            return null;
+        }
+
+        // The directive is at the start of the contents, which are already in the buffer
+        if (limit - position < prefix.length()) {
+            return null;
+        }
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer[position + i] != prefix.charAt(i)) {
+                return null;
+            }
+        }
+
+        position += prefix.length();
+
+        var value = new StringBuilder();
+        int c;
+        while ((c = read()) >= 0 && c != '\n' && c != '\r') {
+            value.append((char) c);
+        }
+
+        if (c == '\r' && peek() == '\n') {
+            read();
+        }
+
+        return value.toString().trim();
+    }
+
+    /**
+     * Parses the next record into the given row.
+     * 
+     * @param row
+     * @return false if there are no more records
+     */
+    boolean next(CsvRow row) {
+        row.clear();
+
+        if (!hasNext()) {
+            return false;
+        }
+
+        while (true) {
+            int c = peek();
+
+            if (c == QUOTE) {
+                read();
+                c = readQuoted(row);
+            } else {
+                c = readUnquoted(row);
+            }
+
+            row.endField();
+
+            if (c == delimiter) {
+                continue;
+            }
+
+            if (c == '\r' && peek() == '\n') {
+                read();
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Copies characters until a delimiter, newline or the end of the contents is found.
+     * 
+     * @return the character that ended the field (consumed), or -1
+     */
+    private int readUnquoted(CsvRow row) {
+        while (true) {
+            if (position >= limit && !fill()) {
+                return -1;
+            }
+
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+
+                if (c == delimiter || c == '\n' || c == '\r') {
+                    row.append(buffer, start, position - start);
+                    position++;
+                    return c;
+                }
+
+                position++;
+            }
+
+            row.append(buffer, start, position - start);
+        }
+    }
+
+    private int readQuoted(CsvRow row) {
+        while (true) {
+            int c = read();
+
+            if (c < 0) {
+                throw new RuntimeException("Unterminated quoted field in CSV record: " + row);
+            }
+
+            if (c == QUOTE) {
+                // Escaped quote
+                if (peek() == QUOTE) {
+                    read();
+                    row.append(QUOTE);
+                    continue;
+                }
+
+                break;
+            }
+
+            row.append((char) c);
+        }
+
+        // Keep anything between the closing quote and the end of the field
+        return readUnquoted(row);
+    }
+
+    /**
+     * Splits a range of CSV contents into parts with approximately the same size, only at record boundaries.
+     * 
+     * <p>
+     * Boundaries are found with a single scan that tracks whether the current position is inside quotes, which
+     * assumes quotes only appear in quoted fields, as required by RFC 4180.
+     * 
+     * @param data
+     * @param start
+     * @param end
+     * @param parts
+     * @return the indexes where each part starts, followed by the end index
+     */
+    static int[] split(char[] data, int start, int end, int parts) {
+        var boundaries = new int[parts + 1];
+        boundaries[0] = start;
+        int count = 1;
+
+        int partSize = Math.max(1, (end - start) / parts);
+        int target = start + partSize;
+        boolean quoted = false;
+
+        for (int i = start; i < end && count < parts; i++) {
+            char c = data[i];
+
+            if (c == QUOTE) {
+                quoted = !quoted;
+                continue;
+            }
+
+            if (c == '\n' && !quoted && i + 1 >= target && i + 1 < end) {
+                boundaries[count++] = i + 1;
+                target = i + 1 + partSize;
+            }
+        }
+
+        boundaries[count++] = end;
+
+        return Arrays.copyOf(boundaries, count);
+    }
+}
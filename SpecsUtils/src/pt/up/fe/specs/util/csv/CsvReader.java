@@ -14,22 +14,44 @@
 package pt.up.fe.specs.util.csv;
 
 import java.io.File;
-import java.util.Arrays;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-import pt.up.fe.specs.util.utilities.LineStream;
+import pt.up.fe.specs.util.SpecsIo;
+import pt.up.fe.specs.util.io.BulkReader;
 
 /**
  * Reads CSV files.
  * 
+ * <p>
+ * Fields can be quoted as described in RFC 4180, quoted fields can contain delimiters, newlines and escaped quotes.
+ * If the first line is a separator directive (e.g., 'sep=;'), it sets the delimiter. The first record is the header.
+ * 
+ * <p>
+ * Records can be read as lists of Strings ({@link #next()}), as a reusable view ({@link #nextRow()}), or as typed
+ * columns ({@link #readColumns(CsvColumnType...)}). Large files can be parsed in parallel with
+ * {@link #readColumns(File, String, int, CsvColumnType...)}.
+ * 
  * @author JoaoBispo
  *
  */
 public class CsvReader implements AutoCloseable {
     private final static String DEFAULT_DELIMITER = ";";
 
-    private final LineStream csvLines;
+    private final static String SEPARATOR_DIRECTIVE = "sep=";
+
+    private final static Charset CHARSET = Charset.forName(SpecsIo.DEFAULT_CHAR_SET);
+
+    private final InputStreamReader reader;
+    private final CsvParser parser;
+    private final CsvRow row;
 
     private List<String> header;
     private String delimiter;
@@ -39,7 +61,7 @@ public class CsvReader implements AutoCloseable {
     }
 
     public CsvReader(File csvFile, String delimiter) {
-        this(LineStream.newInstance(csvFile), delimiter);
+        this(open(csvFile), delimiter);
     }
 
     public CsvReader(String csvContents) {
@@ -47,80 +69,172 @@ public class CsvReader implements AutoCloseable {
     }
 
     public CsvReader(String csvContents, String delimiter) {
-        this(LineStream.newInstance(csvContents), delimiter);
+        this(null, new CsvParser(csvContents.toCharArray(), 0, csvContents.length(), CsvParser.toDelimiter(delimiter)),
+                delimiter);
     }
 
-    private CsvReader(LineStream csvLines, String delimiter) {
-        this.csvLines = csvLines;
+    private CsvReader(InputStreamReader reader, String delimiter) {
+        this(reader, new CsvParser(reader, CsvParser.toDelimiter(delimiter)), delimiter);
+    }
+
+    private CsvReader(InputStreamReader reader, CsvParser parser, String delimiter) {
+        this.reader = reader;
+        this.parser = parser;
+        this.row = new CsvRow();
         this.delimiter = delimiter;
 
         initHeader();
     }
 
+    private static InputStreamReader open(File csvFile) {
+        try {
+            return new InputStreamReader(new FileInputStream(csvFile), CHARSET);
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException("Could not open CSV file '" + csvFile + "'", e);
+        }
+    }
+
     public List<String> getHeader() {
         return header;
     }
 
+    public String getDelimiter() {
+        return delimiter;
+    }
+
     public boolean hasNext() {
-        return csvLines.hasNextLine();
+        return parser.hasNext();
     }
 
     /**
      * 
-     * @return
+     * @return the fields of the next record, or an empty list if there are no more records
      */
     public List<String> next() {
+        if (!parser.next(row)) {
+            return Collections.emptyList();
+        }
 
-        // Header is parsed, return data
-        return parseInternal();
-
+        return row.toList();
     }
 
-    private void initHeader() {
-        // If header is not set, parse lines and ignore result until it is parsed
-        while (header == null) {
-            parseInternal();
-
-            if (!csvLines.hasNextLine()) {
-                throw new RuntimeException("Could not find a header in CSV file");
-            }
+    /**
+     * Reads the next record without creating Strings for its fields.
+     * 
+     * @return a view over the next record, which is reused by the following calls, or null if there are no more
+     *         records
+     */
+    public CsvRow nextRow() {
+        if (!parser.next(row)) {
+            return null;
         }
 
+        return row;
     }
 
-    private List<String> parseInternal() {
-        // If no more lines, return empty
-        if (!csvLines.hasNextLine()) {
-            return Collections.emptyList();
-        }
+    /**
+     * Reads the remaining records as columns. Records can have more fields than the number of types, the extra fields
+     * are ignored.
+     * 
+     * @param types
+     *            the type of each of the first columns
+     * @return
+     */
+    public CsvColumns readColumns(CsvColumnType... types) {
+        var columns = new CsvColumns(header, types);
 
-        String csvLine = csvLines.nextLine();
+        while (parser.next(row)) {
+            columns.add(row);
+        }
 
-        return parse(csvLine);
+        columns.trimToSize();
+        return columns;
     }
 
-    private List<String> parse(String csvLine) {
+    private void initHeader() {
         // Parse separator ('sep=')
-        if (csvLine.startsWith("sep=")) {
-            this.delimiter = csvLine.substring("sep=".length()).trim();
-            return Collections.emptyList();
+        String separator = parser.readDirective(SEPARATOR_DIRECTIVE);
+        if (separator != null) {
+            this.delimiter = separator;
+            parser.setDelimiter(CsvParser.toDelimiter(separator));
         }
 
-        // Parse line
-        List<String> elements = Arrays.asList(csvLine.split(delimiter));
-
-        // Check if header needs to be set
-        if (header == null) {
-            header = elements;
-            return elements;
+        if (!parser.next(row)) {
+            throw new RuntimeException("Could not find a header in CSV file");
         }
 
-        return elements;
+        header = Collections.unmodifiableList(row.toList());
     }
 
     @Override
     public void close() {
-        csvLines.close();
+        if (reader == null) {
+            return;
+        }
+
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not close CSV file", e);
+        }
+    }
+
+    public static CsvColumns readColumns(File csvFile, int parallelism, CsvColumnType... types) {
+        return readColumns(csvFile, DEFAULT_DELIMITER, parallelism, types);
+    }
+
+    /**
+     * Reads the records of a file as columns, parsing parts of the file in parallel.
+     * 
+     * <p>
+     * The file is read into memory and split at record boundaries into the given number of parts, which are parsed in
+     * the common fork-join pool. The order of the records is kept.
+     * 
+     * @param csvFile
+     * @param delimiter
+     *            used if the file does not have a separator directive
+     * @param parallelism
+     *            the number of parts
+     * @param types
+     *            the type of each of the first columns
+     * @return
+     */
+    public static CsvColumns readColumns(File csvFile, String delimiter, int parallelism, CsvColumnType... types) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+
+        char[] data;
+        try {
+            data = BulkReader.read(csvFile, CHARSET).toCharArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read CSV file '" + csvFile + "'", e);
+        }
+
+        // Parse the directive and the header sequentially
+        var headerReader = new CsvReader(null, new CsvParser(data, 0, data.length, CsvParser.toDelimiter(delimiter)),
+                delimiter);
+        var header = headerReader.getHeader();
+        var recordDelimiter = CsvParser.toDelimiter(headerReader.getDelimiter());
+
+        var boundaries = CsvParser.split(data, headerReader.parser.getPosition(), data.length, parallelism);
+
+        var parts = IntStream.range(0, boundaries.length - 1)
+                .parallel()
+                .mapToObj(i -> {
+                    var parser = new CsvParser(data, boundaries[i], boundaries[i + 1], recordDelimiter);
+                    var partRow = new CsvRow();
+                    var columns = new CsvColumns(header, types);
+
+                    while (parser.next(partRow)) {
+                        columns.add(partRow);
+                    }
+
+                    return columns;
+                })
+                .collect(Collectors.toList());
+
+        return CsvColumns.concat(header, types, parts);
     }
 
 }
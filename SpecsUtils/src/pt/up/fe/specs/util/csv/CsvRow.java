@@ -0,0 +1,166 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.csv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * View over the fields of a CSV record.
+ * 
+ * <p>
+ * Rows returned by {@link CsvReader#nextRow()} are reused, and are only valid until the next record is read. Numeric
+ * fields are parsed directly from the characters of the record, Strings are only created when requested.
+ */
+public class CsvRow {
+
+    private char[] chars;
+    private int length;
+
+    // Field i spans from ends[i - 1] (or 0) to ends[i]
+    private int[] ends;
+    private int size;
+
+    CsvRow() {
+        this.chars = new char[256];
+        this.length = 0;
+        this.ends = new int[16];
+        this.size = 0;
+    }
+
+    void clear() {
+        length = 0;
+        size = 0;
+    }
+
+    void append(char c) {
+        if (length == chars.length) {
+            chars = Arrays.copyOf(chars, length * 2);
+        }
+
+        chars[length++] = c;
+    }
+
+    void append(char[] source, int offset, int count) {
+        if (length + count > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(length + count, chars.length * 2));
+        }
+
+        System.arraycopy(source, offset, chars, length, count);
+        length += count;
+    }
+
+    void endField() {
+        if (size == ends.length) {
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+
+        ends[size++] = length;
+    }
+
+    /**
+     * 
+     * @return the number of fields in the record
+     */
+    public int size() {
+        return size;
+    }
+
+    private int start(int index) {
+        Objects.checkIndex(index, size);
+        return index == 0 ? 0 : ends[index - 1];
+    }
+
+    public String get(int index) {
+        int start = start(index);
+        return new String(chars, start, ends[index] - start);
+    }
+
+    public boolean isEmpty(int index) {
+        return start(index) == ends[index];
+    }
+
+    public long getLong(int index) {
+        int start = start(index);
+        int end = ends[index];
+
+        // Trim spaces
+        while (start < end && chars[start] == ' ') {
+            start++;
+        }
+        while (end > start && chars[end - 1] == ' ') {
+            end--;
+        }
+
+        boolean negative = start < end && chars[start] == '-';
+        if (negative || (start < end && chars[start] == '+')) {
+            start++;
+        }
+
+        int digits = end - start;
+
+        // Fall back to the library for errors and values that might overflow
+        if (digits == 0 || digits > 18) {
+            return Long.parseLong(get(index).trim());
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = chars[i] - '0';
+
+            if (digit < 0 || digit > 9) {
+                return Long.parseLong(get(index).trim());
+            }
+
+            value = value * 10 + digit;
+        }
+
+        return negative ? -value : value;
+    }
+
+    public int getInt(int index) {
+        long value = getLong(index);
+
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            return Integer.parseInt(get(index).trim());
+        }
+
+        return (int) value;
+    }
+
+    public double getDouble(int index) {
+        return Double.parseDouble(get(index));
+    }
+
+    /**
+     * 
+     * @return a new list with the fields of the record
+     */
+    public List<String> toList() {
+        var list = new ArrayList<String>(size);
+
+        for (int i = 0; i < size; i++) {
+            list.add(get(i));
+        }
+
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
@@ -15,7 +15,6 @@ package pt.up.fe.specs.util.csv;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import pt.up.fe.specs.util.SpecsFactory;
 import pt.up.fe.specs.util.SpecsLogs;
@@ -132,7 +131,16 @@ public class CsvWriter {
 
     protected String buildHeader() {
         StringBuilder csv = new StringBuilder();
+        appendHeader(csv);
+        return csv.toString();
+    }
 
+    /**
+     * Appends the separator directive (if Excel support is enabled) and the header to the given builder.
+     * 
+     * @param csv
+     */
+    protected void appendHeader(StringBuilder csv) {
         // Separator
         if (excelSupport) {
             csv.append("sep=").append(this.delimiter).append(newline);
@@ -145,53 +153,47 @@ public class CsvWriter {
         }
 
         // Add processing fields
-        if (!extraFields.isEmpty()) {
-            String extraFieldsHeader = extraFields.stream()
-                    .map(CsvField::getHeader)
-                    .collect(Collectors.joining(delimiter, delimiter, ""));
-
-            csv.append(extraFieldsHeader);
+        for (CsvField field : extraFields) {
+            csv.append(delimiter).append(field.getHeader());
         }
 
         csv.append(this.newline);
-
-        return csv.toString();
     }
 
     protected String buildLine(List<String> line, int lineNumber) {
         StringBuilder csv = new StringBuilder();
+        appendLine(csv, line, lineNumber);
+        return csv.toString();
+    }
 
-        String csvLine = line.stream()
-                .collect(Collectors.joining(delimiter));
+    /**
+     * Appends a line to the given builder, followed by the extra fields and a newline.
+     * 
+     * @param csv
+     * @param line
+     * @param lineNumber
+     *            the number of the line in the CSV file, starting at 1, used by the extra fields
+     */
+    protected void appendLine(StringBuilder csv, List<String> line, int lineNumber) {
+        for (int i = 0; i < line.size(); i++) {
+            if (i > 0) {
+                csv.append(delimiter);
+            }
 
-        csv.append(csvLine);
+            csv.append(line.get(i));
+        }
 
         // Check if there are fields to compute
         if (!extraFields.isEmpty()) {
             String lineNumberString = Integer.toString(lineNumber);
             String range = startColumn.get() + lineNumberString + ":" + endColumn.get() + lineNumberString;
 
-            String csvExtraFields = extraFields.stream()
-                    .map(field -> field.getField(range))
-                    .collect(Collectors.joining(delimiter, delimiter, ""));
-
-            csv.append(csvExtraFields);
+            for (CsvField field : extraFields) {
+                csv.append(delimiter).append(field.getField(range));
+            }
         }
 
         csv.append(newline);
-
-        return csv.toString();
-        /*
-        StringBuilder csvLine = new StringBuilder();
-        
-        csvLine.append(line.get(0));
-        for (int i = 1; i < line.size(); i++) {
-            csvLine.append(this.delimiter).append(line.get(i));
-        }
-        csvLine.append(this.newline);
-        
-        return csvLine.toString();
-        */
     }
 
     public String buildCsv() {
@@ -202,7 +204,7 @@ public class CsvWriter {
 
         StringBuilder builder = new StringBuilder();
 
-        builder.append(buildHeader());
+        appendHeader(builder);
         /*        
         // Separator
         builder.append("sep=").append(this.delimiter).append("\n");
@@ -221,7 +223,7 @@ public class CsvWriter {
 
         // Lines
         for (List<String> line : this.lines) {
-            builder.append(buildLine(line, lineCounter));
+            appendLine(builder, line, lineCounter);
             lineCounter++;
             /*
             builder.append(line.get(0));
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+/**
+ * Reads whole files and streams into Strings using bulk operations.
+ *
+ * <p>
+ * Files are read with a single pre-sized byte array, or decoded in chunks if they are too large for an array.
+ * Malformed input is replaced, as done by {@link InputStreamReader}.
+ */
+public class BulkReader {
+
+    private static final int CHAR_BUFFER_SIZE = 64 * 1024;
+
+    private BulkReader() {
+    }
+
+    /**
+     * Reads the contents of the file.
+     *
+     * @param file
+     * @param charset
+     * @return the contents of the file
+     * @throws IOException
+     */
+    public static String read(File file, Charset charset) throws IOException {
+        var path = file.toPath();
+        long size = Files.size(path);
+
+        // Too large for a single array, decode it in chunks
+        if (size > Integer.MAX_VALUE) {
+            try (var reader = new InputStreamReader(Files.newInputStream(path), charset)) {
+                return read(reader, CHAR_BUFFER_SIZE);
+            }
+        }
+
+        return new String(Files.readAllBytes(path), charset);
+    }
+
+    /**
+     * Reads all the contents of the stream. Does not close the stream.
+     *
+     * @param inputStream
+     * @param charset
+     * @return the contents of the stream
+     * @throws IOException
+     */
+    public static String read(InputStream inputStream, Charset charset) throws IOException {
+        return new String(inputStream.readAllBytes(), charset);
+    }
+
+    private static String read(Reader reader, int bufferSize) throws IOException {
+        var builder = new StringBuilder(bufferSize);
+        var buffer = new char[bufferSize];
+
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            builder.append(buffer, 0, read);
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,358 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import pt.up.fe.specs.util.SpecsIo;
+import pt.up.fe.specs.util.SpecsLogs;
+
+/**
+ * Finds files recursively, reading the attributes of each entry only once and visiting sub-folders in parallel.
+ * 
+ * <p>
+ * Applies the same rules as {@link SpecsIo#getFilesRecursive(File, Collection, boolean, Predicate)}: only files whose
+ * extension is in the given set are returned (all files, if the set is empty), symbolic links are ignored if they
+ * should not be followed, and folders that pass the cut-off predicate are not visited. Since sub-folders are visited
+ * concurrently, the cut-off predicate must be thread-safe.
+ */
+public class FileWalker {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+    // Marks the end of the walk in the queue used by streams
+    private static final Path END = Path.of("");
+
+    private final Set<String> extensions;
+    private final boolean followSymlinks;
+    private final Predicate<File> cutoffFolders;
+
+    /**
+     * 
+     * @param extensions
+     *            extensions of the files to find, case-insensitive. If empty, accepts all files
+     * @param followSymlinks
+     *            whether to follow symlinks (both files and directories)
+     * @param cutoffFolders
+     *            accepts a folder, if returns true, that folder and its sub-folders will be ignored from the search
+     */
+    public FileWalker(Collection<String> extensions, boolean followSymlinks, Predicate<File> cutoffFolders) {
+        this.extensions = extensions.stream().map(String::toLowerCase).collect(Collectors.toSet());
+        this.followSymlinks = followSymlinks;
+        this.cutoffFolders = cutoffFolders;
+    }
+
+    /**
+     * 
+     * @param path
+     *            a folder or a file
+     * @return the files found inside the given path, in the same order as a sequential depth-first walk
+     */
+    public List<File> getFiles(File path) {
+        var files = new ArrayList<File>();
+        var folder = visitRoot(path, file -> files.add(file.toFile()));
+
+        if (folder == null) {
+            return files;
+        }
+
+        return POOL.invoke(new ListTask(folder));
+    }
+
+    /**
+     * Streams the files found inside the given path, while the walk is still running. The order of the files is not
+     * defined.
+     * 
+     * <p>
+     * Closing the stream stops the walk.
+     * 
+     * @param path
+     *            a folder or a file
+     * @return a stream with the files found inside the given path
+     */
+    public Stream<Path> stream(File path) {
+        var queue = new LinkedBlockingQueue<Path>();
+        var error = new AtomicReference<Throwable>();
+        var cancelled = new AtomicBoolean(false);
+
+        POOL.execute(() -> {
+            try {
+                var folder = visitRoot(path, queue::add);
+
+                if (folder != null) {
+                    new StreamTask(folder, queue::add, cancelled).invoke();
+                }
+            } catch (Throwable e) {
+                error.set(e);
+            } finally {
+                queue.add(END);
+            }
+        });
+
+        var iterator = new QueueIterator(queue, error);
+
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .onClose(() -> cancelled.set(true));
+    }
+
+    /**
+     * 
+     * @param path
+     * @param files
+     * @return the folder where the walk should start, or null if there is nothing more to visit
+     */
+    private Path visitRoot(File path, Consumer<Path> files) {
+        var root = path.toPath();
+        var attributes = readAttributes(root);
+
+        if (attributes == null) {
+            return null;
+        }
+
+        if (!attributes.isDirectory()) {
+            visitFile(root, attributes, files);
+            return null;
+        }
+
+        // If it should be cut-off, stop processing of this folder
+        if (cutoffFolders.test(path)) {
+            return null;
+        }
+
+        return root;
+    }
+
+    /**
+     * Lists the folder once, sending files and the sub-folders that should be visited to the given consumers, in the
+     * order they are listed.
+     */
+    private void visitFolder(Path folder, Consumer<Path> files, Consumer<Path> folders) {
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(folder)) {
+            for (Path child : children) {
+                var attributes = readAttributes(child);
+                if (attributes == null) {
+                    continue;
+                }
+
+                if (!attributes.isDirectory()) {
+                    visitFile(child, attributes, files);
+                    continue;
+                }
+
+                // If it should be cut-off, stop processing of this folder
+                if (cutoffFolders.test(child.toFile())) {
+                    continue;
+                }
+
+                folders.accept(child);
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            SpecsLogs.debug("Could not list files of path '" + folder.toAbsolutePath() + "'");
+        }
+    }
+
+    private void visitFile(Path file, BasicFileAttributes attributes, Consumer<Path> files) {
+        if (!attributes.isRegularFile()) {
+            SpecsLogs.debug(() -> "Ignoring path that is neither file or folder: " + file);
+            return;
+        }
+
+        // Test for extension, if set is not empty
+        if (!extensions.isEmpty()) {
+            var extension = SpecsIo.getExtension(file.getFileName().toString()).toLowerCase();
+            if (!extensions.contains(extension)) {
+                return;
+            }
+        }
+
+        files.accept(file);
+    }
+
+    /**
+     * 
+     * @param path
+     * @return the attributes of the path, following symbolic links if enabled, or null if the path should be ignored
+     */
+    private BasicFileAttributes readAttributes(Path path) {
+        try {
+            var attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+
+            if (!attributes.isSymbolicLink()) {
+                return attributes;
+            }
+
+            // Ignore path if is symlink
+            if (!followSymlinks) {
+                return null;
+            }
+
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            SpecsLogs.debug(() -> "Path '" + path + "' does not exist.");
+            return null;
+        } catch (IOException e) {
+            SpecsLogs.debug(() -> "Could not read attributes of path '" + path + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    private class ListTask extends RecursiveTask<List<File>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Path folder;
+
+        public ListTask(Path folder) {
+            this.folder = folder;
+        }
+
+        @Override
+        protected List<File> compute() {
+            var files = new ArrayList<File>();
+
+            // Records the number of files found before each sub-folder, to keep the order of a sequential walk
+            var subFolders = new ArrayList<ListTask>();
+            var positions = new ArrayList<Integer>();
+
+            visitFolder(folder, file -> files.add(file.toFile()), subFolder -> {
+                var task = new ListTask(subFolder);
+                task.fork();
+                subFolders.add(task);
+                positions.add(files.size());
+            });
+
+            if (subFolders.isEmpty()) {
+                return files;
+            }
+
+            var result = new ArrayList<File>();
+            int previous = 0;
+            for (int i = 0; i < subFolders.size(); i++) {
+                int position = positions.get(i);
+                result.addAll(files.subList(previous, position));
+                result.addAll(subFolders.get(i).join());
+                previous = position;
+            }
+            result.addAll(files.subList(previous, files.size()));
+
+            return result;
+        }
+    }
+
+    private class StreamTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Path folder;
+        private final Consumer<Path> files;
+        private final AtomicBoolean cancelled;
+
+        public StreamTask(Path folder, Consumer<Path> files, AtomicBoolean cancelled) {
+            this.folder = folder;
+            this.files = files;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled.get()) {
+                return;
+            }
+
+            var tasks = new ArrayList<StreamTask>();
+            visitFolder(folder, files, subFolder -> tasks.add(new StreamTask(subFolder, files, cancelled)));
+
+            invokeAll(tasks);
+        }
+    }
+
+    private static class QueueIterator implements Iterator<Path> {
+
+        private final BlockingQueue<Path> queue;
+        private final AtomicReference<Throwable> error;
+        private Path next;
+
+        public QueueIterator(BlockingQueue<Path> queue, AtomicReference<Throwable> error) {
+            this.queue = queue;
+            this.error = error;
+            this.next = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for files", e);
+                }
+            }
+
+            if (next != END) {
+                return true;
+            }
+
+            // Walk ended, report errors
+            // Keep END, so that further calls return false
+            var throwable = error.get();
+            if (throwable != null) {
+                error.set(null);
+                throw new RuntimeException("Problems while walking files", throwable);
+            }
+
+            return false;
+        }
+
+        @Override
+        public Path next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            var current = next;
+            next = null;
+            return current;
+        }
+    }
+}
@@ -36,6 +36,7 @@ public class Job {
     // String workingFoldername;
 
     boolean interrupted;
+    private int exitCode;
 
     // private Job(List<Execution> executions) {
     private Job(Execution execution) {
@@ -45,6 +46,7 @@ public class Job {
 	// this.workingFoldername = workingFoldername;
 
 	this.interrupted = false;
+	this.exitCode = 0;
     }
 
     /**
@@ -57,6 +59,7 @@ public class Job {
 	// for (ProcessExecution execution : executions) {
 	// for (Execution execution : executions) {
 	int result = this.execution.run();
+	this.exitCode = result;
 
 	if (result != 0) {
 	    SpecsLogs.msgInfo("Execution returned with error value '" + result + "'");
@@ -76,6 +79,14 @@ public class Job {
 	return this.interrupted;
     }
 
+    /**
+     * 
+     * @return the value returned by the execution of the job, the last time it ran
+     */
+    public int getExitCode() {
+	return this.exitCode;
+    }
+
     /**
      * @param commandArgs
      * @param workingDir
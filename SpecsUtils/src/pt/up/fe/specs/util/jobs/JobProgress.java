@@ -43,11 +43,20 @@ public class JobProgress {
 	this.counter = 0;
     }
 
-    public void initialMessage() {
+    public synchronized void initialMessage() {
 	SpecsLogs.msgInfo("Found " + this.numJobs + " jobs.");
     }
 
-    public void nextMessage() {
+    public synchronized void nextMessage() {
+	nextMessage(this.jobs.get(Math.min(this.counter, this.numJobs - 1)));
+    }
+
+    /**
+     * Shows the message for the given job, which might not be the next in the list (e.g., when jobs run in parallel).
+     * 
+     * @param job
+     */
+    public synchronized void nextMessage(Job job) {
 	if (this.counter >= this.numJobs) {
 	    SpecsLogs.msgWarn("Already showed the total number of steps.");
 	}
@@ -56,7 +65,7 @@ public class JobProgress {
 
 	String message = "Job " + this.counter + " of " + this.numJobs;
 
-	String description = this.jobs.get(this.counter - 1).getDescription();
+	String description = job.getDescription();
 	if (description != null) {
 	    message = message + " (" + description + ").";
 	}
@@ -0,0 +1,87 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.jobs;
+
+import pt.up.fe.specs.util.SpecsStrings;
+
+/**
+ * Outcome of a job executed by a {@link JobScheduler}.
+ */
+public class JobResult {
+
+    public enum Status {
+        /**
+         * The job ran and returned 0.
+         */
+        COMPLETED,
+        /**
+         * The job ran and returned an error value, or threw an exception.
+         */
+        FAILED,
+        /**
+         * The job was interrupted (see {@link Job#isInterrupted()}), remaining jobs were cancelled.
+         */
+        INTERRUPTED,
+        /**
+         * The job ran for longer than the timeout and was interrupted.
+         */
+        TIMED_OUT,
+        /**
+         * The job did not run, because the batch was cancelled.
+         */
+        CANCELLED;
+    }
+
+    private final Job job;
+    private final Status status;
+    private final int exitCode;
+    private final long durationNanos;
+
+    public JobResult(Job job, Status status, int exitCode, long durationNanos) {
+        this.job = job;
+        this.status = status;
+        this.exitCode = exitCode;
+        this.durationNanos = durationNanos;
+    }
+
+    public static JobResult newCancelled(Job job) {
+        return new JobResult(job, Status.CANCELLED, -1, 0);
+    }
+
+    public Job getJob() {
+        return job;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * 
+     * @return the value returned by the execution of the job, or -1 if it did not finish
+     */
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return status + " (exit code " + exitCode + ", " + SpecsStrings.parseTime(durationNanos) + "): "
+                + job.getDescription();
+    }
+}
@@ -0,0 +1,292 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.jobs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import pt.up.fe.specs.util.SpecsLogs;
+import pt.up.fe.specs.util.SpecsSystem;
+import pt.up.fe.specs.util.jobs.JobResult.Status;
+
+/**
+ * Runs a batch of jobs concurrently.
+ * 
+ * <p>
+ * As in {@link JobUtils#runJobs(List)}, if a job is interrupted (see {@link Job#isInterrupted()}) the jobs that did not
+ * start yet are cancelled. Jobs can have a timeout, after which the thread running the job is interrupted (jobs that
+ * launch processes kill the process when interrupted).
+ * 
+ * <p>
+ * Jobs that map to the same affinity key run one after the other, in the order they appear in the batch, which can be
+ * used for jobs that depend on each other or share resources.
+ */
+public class JobScheduler {
+
+    private final int parallelism;
+    private Long timeoutNanos;
+    private Function<Job, ?> affinity;
+    private boolean showProgress;
+
+    /**
+     * 
+     * @param parallelism
+     *            maximum number of jobs running at the same time
+     */
+    public JobScheduler(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        }
+
+        this.parallelism = parallelism;
+        this.timeoutNanos = null;
+        this.affinity = null;
+        this.showProgress = true;
+    }
+
+    /**
+     * Helper constructor which uses the number of available processors as parallelism.
+     */
+    public JobScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Sets the maximum time each job can run.
+     * 
+     * @param timeout
+     * @param unit
+     * @return this scheduler
+     */
+    public JobScheduler setTimeout(long timeout, TimeUnit unit) {
+        this.timeoutNanos = unit.toNanos(timeout);
+        return this;
+    }
+
+    /**
+     * Jobs with the same key (as determined by 'equals') run sequentially, in the order of the batch.
+     * 
+     * @param affinity
+     * @return this scheduler
+     */
+    public JobScheduler setAffinity(Function<Job, ?> affinity) {
+        this.affinity = affinity;
+        return this;
+    }
+
+    /**
+     * If true (default), reports the progress of the batch with {@link JobProgress}.
+     * 
+     * @param showProgress
+     * @return this scheduler
+     */
+    public JobScheduler setShowProgress(boolean showProgress) {
+        this.showProgress = showProgress;
+        return this;
+    }
+
+    /**
+     * Runs a batch of jobs and waits for their completion.
+     * 
+     * @param jobs
+     * @return the result of each job, in the same order as the given list
+     */
+    public JobSummary run(List<Job> jobs) {
+        JobProgress progress = new JobProgress(jobs);
+        if (showProgress) {
+            progress.initialMessage();
+        }
+
+        List<List<Integer>> chains = getChains(jobs);
+        JobResult[] results = new JobResult[jobs.size()];
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        int numThreads = Math.max(1, Math.min(parallelism, chains.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads, SpecsSystem.getDaemonThreadFactory());
+        ScheduledExecutorService timeouts = timeoutNanos == null ? null
+                : Executors.newSingleThreadScheduledExecutor(SpecsSystem.getDaemonThreadFactory());
+
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(chains.size());
+            for (List<Integer> chain : chains) {
+                futures.add(executor.submit(() -> runChain(chain, jobs, results, cancelled, progress, timeouts)));
+            }
+
+            // No more tasks
+            executor.shutdown();
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+        } catch (InterruptedException e) {
+            SpecsLogs.info("Interrupted while waiting for jobs, cancelling remaining jobs.");
+            cancelled.set(true);
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            cancelled.set(true);
+            executor.shutdownNow();
+            throw new RuntimeException("Problems while running jobs", e.getCause());
+        } finally {
+            if (timeouts != null) {
+                timeouts.shutdownNow();
+            }
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        // Jobs without result did not run
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = JobResult.newCancelled(jobs.get(i));
+            }
+        }
+
+        return new JobSummary(Arrays.asList(results), wallNanos);
+    }
+
+    /**
+     * Groups the indexes of the jobs that must run sequentially.
+     */
+    private List<List<Integer>> getChains(List<Job> jobs) {
+        if (affinity == null) {
+            List<List<Integer>> chains = new ArrayList<>(jobs.size());
+            for (int i = 0; i < jobs.size(); i++) {
+                chains.add(Arrays.asList(i));
+            }
+            return chains;
+        }
+
+        Map<Object, List<Integer>> chains = new LinkedHashMap<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            chains.computeIfAbsent(affinity.apply(jobs.get(i)), key -> new ArrayList<>()).add(i);
+        }
+
+        return new ArrayList<>(chains.values());
+    }
+
+    private void runChain(List<Integer> chain, List<Job> jobs, JobResult[] results, AtomicBoolean cancelled,
+            JobProgress progress, ScheduledExecutorService timeouts) {
+
+        for (int index : chain) {
+            // Check if we cancel other jobs
+            if (cancelled.get() || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            Job job = jobs.get(index);
+            if (showProgress) {
+                progress.nextMessage(job);
+            }
+
+            JobResult result = runJob(job, timeouts);
+            results[index] = result;
+
+            if (result.getStatus() == Status.INTERRUPTED) {
+                SpecsLogs.getLogger().info("Cancelling remaining jobs.");
+                cancelled.set(true);
+            }
+        }
+    }
+
+    private JobResult runJob(Job job, ScheduledExecutorService timeouts) {
+        Watchdog watchdog = new Watchdog(Thread.currentThread());
+        ScheduledFuture<?> timeout = timeouts == null ? null
+                : timeouts.schedule(watchdog::timeout, timeoutNanos, TimeUnit.NANOSECONDS);
+
+        long start = System.nanoTime();
+        Status status;
+        int exitCode;
+        try {
+            JobUtils.runJob(job);
+            exitCode = job.getExitCode();
+            status = job.isInterrupted() ? Status.INTERRUPTED : exitCode == 0 ? Status.COMPLETED : Status.FAILED;
+        } catch (RuntimeException e) {
+            if (!watchdog.hasTimedOut()) {
+                SpecsLogs.warn("Exception while running job '" + job.getDescription() + "'", e);
+            }
+            exitCode = -1;
+            status = Status.FAILED;
+        } finally {
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
+        long durationNanos = System.nanoTime() - start;
+
+        if (watchdog.finish()) {
+            SpecsLogs.info("Job timed out: " + job.getDescription());
+            status = Status.TIMED_OUT;
+        }
+
+        return new JobResult(job, status, exitCode, durationNanos);
+    }
+
+    /**
+     * Interrupts the thread of a job when it times out, making sure the interruption does not leak to the next job.
+     */
+    private static class Watchdog {
+
+        private final Thread thread;
+        private boolean finished;
+        private boolean timedOut;
+
+        public Watchdog(Thread thread) {
+            this.thread = thread;
+            this.finished = false;
+            this.timedOut = false;
+        }
+
+        public synchronized void timeout() {
+            if (finished) {
+                return;
+            }
+
+            timedOut = true;
+            thread.interrupt();
+        }
+
+        public synchronized boolean hasTimedOut() {
+            return timedOut;
+        }
+
+        /**
+         * 
+         * @return true if the job timed out
+         */
+        public synchronized boolean finish() {
+            finished = true;
+
+            // Clear the interruption caused by the timeout
+            if (timedOut) {
+                Thread.interrupted();
+            }
+
+            return timedOut;
+        }
+    }
+}
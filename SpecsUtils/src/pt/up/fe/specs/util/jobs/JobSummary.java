@@ -0,0 +1,86 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.jobs;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import pt.up.fe.specs.util.SpecsStrings;
+import pt.up.fe.specs.util.jobs.JobResult.Status;
+
+/**
+ * Results of a batch of jobs executed by a {@link JobScheduler}, in the same order as the jobs.
+ */
+public class JobSummary {
+
+    private final List<JobResult> results;
+    private final long wallNanos;
+
+    public JobSummary(List<JobResult> results, long wallNanos) {
+        this.results = Collections.unmodifiableList(results);
+        this.wallNanos = wallNanos;
+    }
+
+    public List<JobResult> getResults() {
+        return results;
+    }
+
+    /**
+     * 
+     * @return the time between the start of the first job and the end of the last job, in nanoseconds
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * 
+     * @return the sum of the durations of all jobs, in nanoseconds
+     */
+    public long getTotalJobNanos() {
+        return results.stream().mapToLong(JobResult::getDurationNanos).sum();
+    }
+
+    public List<JobResult> getResults(Status status) {
+        return results.stream()
+                .filter(result -> result.getStatus() == status)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 
+     * @return true if all jobs completed successfully, false otherwise
+     */
+    public boolean isSuccess() {
+        return results.stream().allMatch(result -> result.getStatus() == Status.COMPLETED);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+
+        builder.append(results.size()).append(" jobs in ").append(SpecsStrings.parseTime(wallNanos))
+                .append(" (total job time ").append(SpecsStrings.parseTime(getTotalJobNanos())).append(")");
+
+        for (Status status : Status.values()) {
+            int count = getResults(status).size();
+            if (count > 0) {
+                builder.append(", ").append(status).append(": ").append(count);
+            }
+        }
+
+        return builder.toString();
+    }
+}
@@ -180,6 +180,9 @@ public class JobUtils {
      * Runs a batch of jobs. If any job terminated abruptly (a job has flag 'isInterruped' active), remaning jobs are
      * cancelled.
      * 
+     * <p>
+     * Jobs run one after the other, to run them concurrently use {@link JobScheduler}.
+     * 
      * @param jobs
      * @return true if all jobs completed successfully, false otherwise
      */
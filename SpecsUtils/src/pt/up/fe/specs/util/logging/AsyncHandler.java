@@ -0,0 +1,424 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import pt.up.fe.specs.util.SpecsSystem;
+import pt.up.fe.specs.util.collections.concurrentchannel.ChannelConsumer;
+import pt.up.fe.specs.util.collections.concurrentchannel.ChannelProducer;
+import pt.up.fe.specs.util.collections.concurrentchannel.ConcurrentChannel;
+
+/**
+ * Handler that publishes records to another handler in a background thread.
+ *
+ * <p>
+ * Callers only add the record to a bounded lock-free buffer. A single writer thread takes the records in batches,
+ * publishes them to the delegate handler, and flushes the delegate after a number of records or after some time has
+ * passed. When there are no records, the writer parks for the flush interval, and is unparked by the next record. What
+ * happens when the buffer is full is decided by the {@link FullBufferPolicy}.
+ *
+ * <p>
+ * Handlers that flush after each record, such as {@link SimpleFileHandler}, should have that disabled when used as
+ * delegate. Records are flushed and the delegate closed when this handler is closed, or when the JVM shuts down.
+ */
+public class AsyncHandler extends Handler {
+
+    public enum FullBufferPolicy {
+        /**
+         * The caller waits until there is space in the buffer.
+         */
+        BLOCK,
+        /**
+         * The record is discarded.
+         */
+        DROP,
+        /**
+         * One in every {@link AsyncHandler#setSampleRate(int) sample rate} records waits for space, the others are
+         * discarded.
+         */
+        SAMPLE;
+    }
+
+    public static final int DEFAULT_CAPACITY = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 100;
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * Callers waiting for space in the buffer check, after each wait of this length, if the handler was closed or the
+     * writer stopped.
+     */
+    private static final long PUT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Record that is not published, it asks the writer to flush (and optionally close) the delegate.
+     */
+    private static class ControlRecord extends LogRecord {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean close;
+        private final CountDownLatch done;
+
+        public ControlRecord(boolean close) {
+            super(Level.OFF, null);
+            this.close = close;
+            this.done = new CountDownLatch(1);
+        }
+    }
+
+    private final Handler delegate;
+    private final ChannelProducer<LogRecord> producer;
+    private final ChannelConsumer<LogRecord> consumer;
+    private final Thread writer;
+    private final Thread shutdownHook;
+
+    private volatile FullBufferPolicy fullBufferPolicy;
+    private volatile int sampleRate;
+    private volatile int batchSize;
+    private volatile long flushIntervalNanos;
+    private volatile boolean closed;
+    // True while the writer is parked waiting for records
+    private volatile boolean writerParked;
+
+    private final AtomicLong fullBufferCount;
+    private final LongAdder droppedRecords;
+
+    public AsyncHandler(Handler delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     *
+     * @param delegate
+     *            the handler that publishes the records
+     * @param capacity
+     *            the maximum number of records waiting to be published, rounded up to a power of two
+     */
+    public AsyncHandler(Handler delegate, int capacity) {
+        this.delegate = delegate;
+
+        var channel = ConcurrentChannel.<LogRecord> newMultiProducerSingleConsumer(capacity);
+        this.producer = channel.createProducer();
+        this.consumer = channel.createConsumer();
+
+        this.fullBufferPolicy = FullBufferPolicy.BLOCK;
+        this.sampleRate = 10;
+        this.batchSize = DEFAULT_BATCH_SIZE;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_FLUSH_INTERVAL_MILLIS);
+        this.closed = false;
+        this.writerParked = false;
+
+        this.fullBufferCount = new AtomicLong();
+        this.droppedRecords = new LongAdder();
+
+        setLevel(delegate.getLevel());
+
+        this.writer = SpecsSystem.getDaemonThreadFactory().newThread(this::write);
+        this.writer.setName("AsyncHandler-" + delegate.getClass().getSimpleName());
+        this.writer.start();
+
+        this.shutdownHook = new Thread(this::close);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    public AsyncHandler setFullBufferPolicy(FullBufferPolicy fullBufferPolicy) {
+        this.fullBufferPolicy = fullBufferPolicy;
+        return this;
+    }
+
+    /**
+     * When using {@link FullBufferPolicy#SAMPLE}, one in every sampleRate records is kept while the buffer is full.
+     *
+     * @param sampleRate
+     * @return this handler
+     */
+    public AsyncHandler setSampleRate(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate must be positive: " + sampleRate);
+        }
+
+        this.sampleRate = sampleRate;
+        return this;
+    }
+
+    /**
+     * The delegate is flushed after this number of records is published.
+     *
+     * @param batchSize
+     * @return this handler
+     */
+    public AsyncHandler setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * The delegate is flushed when there are records published for longer than this interval.
+     *
+     * @param interval
+     * @param unit
+     * @return this handler
+     */
+    public AsyncHandler setFlushInterval(long interval, TimeUnit unit) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + interval);
+        }
+
+        this.flushIntervalNanos = unit.toNanos(interval);
+        return this;
+    }
+
+    public Handler getDelegate() {
+        return delegate;
+    }
+
+    /**
+     *
+     * @return the number of records that were discarded because the buffer was full, or because the handler was closed
+     *         while they waited for space
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.sum();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+
+        if (producer.offer(record)) {
+            wakeWriter();
+            return;
+        }
+
+        switch (fullBufferPolicy) {
+        case BLOCK:
+            put(record);
+            return;
+        case DROP:
+            droppedRecords.increment();
+            return;
+        case SAMPLE:
+            if (fullBufferCount.incrementAndGet() % sampleRate == 0) {
+                put(record);
+            } else {
+                droppedRecords.increment();
+            }
+            return;
+        default:
+            throw new RuntimeException("Case not defined: " + fullBufferPolicy);
+        }
+    }
+
+    /**
+     * Adds the record to the buffer, waiting for space if necessary. If interrupted while waiting, the record is
+     * discarded and the interrupt flag is kept. Records are also discarded if the handler is closed or the writer stops
+     * while waiting, since nothing would take them from the buffer. Control records are only discarded if the writer
+     * stops.
+     * 
+     * <p>
+     * Errors are reported with {@link #reportError(String, Exception, int)}, since logging them could publish to this
+     * handler again.
+     *
+     * @param record
+     * @return true if the record was added
+     */
+    private boolean put(LogRecord record) {
+        boolean isControl = record instanceof ControlRecord;
+
+        try {
+            while (!producer.offer(record, PUT_SLICE_NANOS, TimeUnit.NANOSECONDS)) {
+                if (!writer.isAlive() || (closed && !isControl)) {
+                    if (!isControl) {
+                        droppedRecords.increment();
+                    }
+                    return false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!isControl) {
+                droppedRecords.increment();
+            }
+            reportError("Interrupted while waiting for space in the log buffer", e, ErrorManager.WRITE_FAILURE);
+            return false;
+        }
+
+        wakeWriter();
+        return true;
+    }
+
+    private void wakeWriter() {
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Waits until the records published before this call are written and the delegate is flushed.
+     */
+    @Override
+    public void flush() {
+        sendControl(new ControlRecord(false));
+    }
+
+    /**
+     * Writes the pending records, flushes and closes the delegate, and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        sendControl(new ControlRecord(true));
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down
+        }
+    }
+
+    private void sendControl(ControlRecord control) {
+        if (!writer.isAlive()) {
+            return;
+        }
+
+        if (!put(control)) {
+            return;
+        }
+
+        try {
+            if (!control.done.await(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                reportError("Timeout while waiting for the log writer", null, ErrorManager.FLUSH_FAILURE);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writer thread.
+     */
+    private void write() {
+        List<LogRecord> batch = new ArrayList<>();
+        int unflushed = 0;
+        long lastFlush = System.nanoTime();
+
+        while (true) {
+            LogRecord first = consumer.poll();
+
+            if (first == null) {
+                first = waitForRecord();
+            }
+
+            if (first != null) {
+                batch.add(first);
+                consumer.drainTo(batch, batchSize - 1);
+            }
+
+            for (var record : batch) {
+                if (record instanceof ControlRecord) {
+                    var control = (ControlRecord) record;
+
+                    flushDelegate();
+                    unflushed = 0;
+                    lastFlush = System.nanoTime();
+
+                    if (control.close) {
+                        closeDelegate();
+                        control.done.countDown();
+                        return;
+                    }
+
+                    control.done.countDown();
+                    continue;
+                }
+
+                try {
+                    delegate.publish(record);
+                } catch (Exception e) {
+                    reportError(null, e, ErrorManager.WRITE_FAILURE);
+                }
+                unflushed++;
+            }
+            batch.clear();
+
+            if (unflushed > 0 && (unflushed >= batchSize || System.nanoTime() - lastFlush >= flushIntervalNanos)) {
+                flushDelegate();
+                unflushed = 0;
+                lastFlush = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Parks the writer until a record is added or the flush interval passes.
+     *
+     * @return the next record, or null if there is none
+     */
+    private LogRecord waitForRecord() {
+        writerParked = true;
+
+        // Records added before the flag was set do not unpark the writer
+        var record = consumer.poll();
+        if (record == null) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            record = consumer.poll();
+        }
+
+        writerParked = false;
+
+        // Only closing stops the writer
+        Thread.interrupted();
+
+        return record;
+    }
+
+    private void flushDelegate() {
+        try {
+            delegate.flush();
+        } catch (Exception e) {
+            reportError(null, e, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+    private void closeDelegate() {
+        try {
+            delegate.close();
+        } catch (Exception e) {
+            reportError(null, e, ErrorManager.CLOSE_FAILURE);
+        }
+    }
+}
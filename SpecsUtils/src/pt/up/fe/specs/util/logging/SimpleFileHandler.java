@@ -19,6 +19,8 @@ import java.util.logging.StreamHandler;
 
 public class SimpleFileHandler extends StreamHandler {
 
+    private volatile boolean autoFlush = true;
+
     /**
      * Create a <tt>ConsoleHandler</tt> for <tt>System.err</tt>.
      * <p>
@@ -55,7 +57,22 @@ public class SimpleFileHandler extends StreamHandler {
     @Override
     public synchronized void publish(LogRecord record) {
 	super.publish(record);
-	flush();
+
+	if (autoFlush) {
+	    flush();
+	}
+    }
+
+    /**
+     * If true (the default), the stream is flushed after each record. Disable when records are flushed by other means,
+     * e.g. when used in an {@link AsyncHandler}.
+     * 
+     * @param autoFlush
+     * @return this handler
+     */
+    public SimpleFileHandler setAutoFlush(boolean autoFlush) {
+	this.autoFlush = autoFlush;
+	return this;
     }
 
     /**
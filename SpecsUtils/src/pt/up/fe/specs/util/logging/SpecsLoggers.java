@@ -27,6 +27,12 @@ public class SpecsLoggers {
 
     private static final Map<String, Logger> LOGGERS = new ConcurrentHashMap<>();
 
+    // Loggers of each TagLogger, by base name and tag
+    private static final Map<String, Map<Object, Logger>> TAG_LOGGERS = new ConcurrentHashMap<>();
+
+    // Key used for the null tag
+    private static final Object ROOT_TAG = new Object();
+
     // static Logger getLogger(String loggerName) {
     // Logger logger = LOGGERS.get(loggerName);
     //
@@ -61,4 +67,28 @@ public class SpecsLoggers {
         return logger;
     }
 
+    /**
+     * Caches the logger of each (base name, tag) pair, avoiding building the logger name on each call.
+     *
+     * @param tagLogger
+     * @param tag
+     * @return the logger for the given tag
+     */
+    static <T> Logger getLogger(TagLogger<T> tagLogger, T tag) {
+        var loggers = TAG_LOGGERS.get(tagLogger.getBaseName());
+        if (loggers == null) {
+            loggers = TAG_LOGGERS.computeIfAbsent(tagLogger.getBaseName(), baseName -> new ConcurrentHashMap<>());
+        }
+
+        var key = tag != null ? tag : ROOT_TAG;
+        var logger = loggers.get(key);
+
+        if (logger == null) {
+            logger = getLogger(tagLogger.getLoggerName(tag));
+            loggers.putIfAbsent(key, logger);
+        }
+
+        return logger;
+    }
+
 }
@@ -13,18 +13,31 @@
 
 package pt.up.fe.specs.util.logging;
 
+import java.lang.StackWalker.StackFrame;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import pt.up.fe.specs.util.exceptions.NotImplementedException;
 
 /**
  * Utility methods used internally by the logging package.
  * 
+ * <p>
+ * When no stack trace is given, the location of the log call is found with a {@link StackWalker}, which only visits
+ * the frames it needs. Stack traces are limited to {@link #setStackTraceDepth(int) a number of frames}, and after a
+ * call site has shown its stack trace {@link #setStackTraceRepeatLimit(int) a number of times}, following messages
+ * from that call site only show the source code location.
+ * 
  * @author JoaoBispo
  *
  */
@@ -32,13 +45,28 @@ public class SpecsLogging {
 
     private final static String NEWLINE = System.getProperty("line.separator");
 
-    private final static Set<String> CLASS_NAME_IGNORE = new HashSet<>();
+    public static final int DEFAULT_STACK_TRACE_DEPTH = 64;
+    public static final int DEFAULT_STACK_TRACE_REPEAT_LIMIT = 1;
+
+    /**
+     * Maximum number of call sites that are counted, the counts are reset when exceeded.
+     */
+    private static final int MAX_CALL_SITES = 4096;
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final static Set<String> CLASS_NAME_IGNORE = ConcurrentHashMap.newKeySet();
     static {
         addClassToIgnore(Thread.class); // To avoid Thread.getStackTrace
         addClassToIgnore(SpecsLogging.class);
         addClassToIgnore(TagLogger.class);
     }
 
+    private static final Map<String, AtomicLong> CALL_SITE_COUNTS = new ConcurrentHashMap<>();
+
+    private static volatile int stackTraceDepth = DEFAULT_STACK_TRACE_DEPTH;
+    private static volatile int stackTraceRepeatLimit = DEFAULT_STACK_TRACE_REPEAT_LIMIT;
+
     // private final static Set<String> METHOD_NAME_IGNORE = new HashSet<>(
     // Arrays.asList("log", "info", "warn", "debug", "deprecated", "warning"));
 
@@ -52,6 +80,40 @@ public class SpecsLogging {
         CLASS_NAME_IGNORE.add(aClass.getName());
     }
 
+    /**
+     * Sets the maximum number of frames that are printed in a stack trace.
+     * 
+     * @param depth
+     */
+    public static void setStackTraceDepth(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Stack trace depth must be positive: " + depth);
+        }
+
+        stackTraceDepth = depth;
+    }
+
+    /**
+     * Sets how many times the stack trace is printed for messages logged from the same call site. Afterwards, only the
+     * source code location is printed. Use Integer.MAX_VALUE to always print the stack trace.
+     * 
+     * @param limit
+     */
+    public static void setStackTraceRepeatLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Stack trace repeat limit must be non-negative: " + limit);
+        }
+
+        stackTraceRepeatLimit = limit;
+    }
+
+    /**
+     * Forgets how many times each call site printed a stack trace.
+     */
+    public static void resetCallSites() {
+        CALL_SITE_COUNTS.clear();
+    }
+
     public static String getPrefix(Object tag) {
         if (tag == null) {
             return "";
@@ -60,14 +122,21 @@ public class SpecsLogging {
         return "[" + tag.toString() + "] ";
     }
 
+    /**
+     * 
+     * @param logSuffix
+     * @param stackTrace
+     *            if null, the location of the current call is used
+     * @return
+     */
     public static String getLogSuffix(LogSourceInfo logSuffix, StackTraceElement[] stackTrace) {
         switch (logSuffix) {
         case NONE:
             return "";
         case SOURCE:
-            return getSourceCodeLocation(stackTrace);
+            return stackTrace == null ? getCurrentSourceCodeLocation() : getSourceCodeLocation(stackTrace);
         case STACK_TRACE:
-            return getStackTrace(stackTrace);
+            return stackTrace == null ? getCurrentStackTrace() : getStackTrace(stackTrace);
         default:
             throw new NotImplementedException(logSuffix);
         }
@@ -75,19 +144,71 @@ public class SpecsLogging {
 
     private static String getSourceCodeLocation(StackTraceElement[] stackTrace) {
 
-        StackTraceElement element = getLogCallLocation(stackTrace).get(0);
+        List<StackTraceElement> elements = getLogCallLocation(stackTrace);
 
-        if (element == null) {
+        if (elements.isEmpty()) {
             return "";
         }
 
-        return getSourceCode(element);
+        return getSourceCode(elements.get(0));
+    }
+
+    private static String getCurrentSourceCodeLocation() {
+        return getLogCallSite().map(SpecsLogging::getSourceCode).orElse("");
     }
 
     public static String getStackTrace(StackTraceElement[] stackTrace) {
 
         Collection<StackTraceElement> elements = getLogCallLocation(stackTrace);
 
+        int depth = stackTraceDepth;
+        if (elements.size() <= depth) {
+            return formatStackTrace(elements, false);
+        }
+
+        return formatStackTrace(new ArrayList<>(elements).subList(0, depth), true);
+    }
+
+    /**
+     * Walks the current stack only up to the configured depth, and prints only the source code location if the call
+     * site has reached the repeat limit.
+     */
+    private static String getCurrentStackTrace() {
+        return STACK_WALKER.walk(frames -> {
+            Iterator<StackFrame> iterator = frames.dropWhile(SpecsLogging::ignoreStackFrame).iterator();
+
+            if (!iterator.hasNext()) {
+                return "";
+            }
+
+            StackTraceElement callSite = iterator.next().toStackTraceElement();
+
+            long occurrence = countCallSite(callSite);
+            if (occurrence > stackTraceRepeatLimit) {
+                return getSourceCode(callSite) + " (stack trace omitted, occurrence " + occurrence + ")";
+            }
+
+            int depth = stackTraceDepth;
+            List<StackTraceElement> elements = new ArrayList<>(Math.min(depth, 32));
+            elements.add(callSite);
+            while (elements.size() < depth && iterator.hasNext()) {
+                elements.add(iterator.next().toStackTraceElement());
+            }
+
+            return formatStackTrace(elements, iterator.hasNext());
+        });
+    }
+
+    private static long countCallSite(StackTraceElement callSite) {
+        if (CALL_SITE_COUNTS.size() >= MAX_CALL_SITES) {
+            CALL_SITE_COUNTS.clear();
+        }
+
+        String key = callSite.getClassName() + "." + callSite.getMethodName() + ":" + callSite.getLineNumber();
+        return CALL_SITE_COUNTS.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static String formatStackTrace(Collection<StackTraceElement> elements, boolean truncated) {
         final StringBuilder builder = new StringBuilder();
 
         builder.append("\n\nStack Trace:");
@@ -98,15 +219,33 @@ public class SpecsLogging {
             builder.append(element);
         }
 
+        if (truncated) {
+            builder.append("\n...");
+        }
+
         builder.append("\n--------------");
         builder.append("\n");
 
         return builder.toString();
     }
 
+    /**
+     * 
+     * @return the first frame of the current stack that is not in the ignore list, without capturing the whole stack
+     */
+    public static Optional<StackTraceElement> getLogCallSite() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> !ignoreStackFrame(frame))
+                .findFirst()
+                .map(StackFrame::toStackTraceElement));
+    }
+
     public static List<StackTraceElement> getLogCallLocation(StackTraceElement[] stackTrace) {
         if (stackTrace == null) {
-            stackTrace = Thread.currentThread().getStackTrace();
+            return STACK_WALKER.walk(frames -> frames
+                    .dropWhile(SpecsLogging::ignoreStackFrame)
+                    .map(StackFrame::toStackTraceElement)
+                    .collect(Collectors.toList()));
         }
 
         // Discover from which index to cut the trace
@@ -124,6 +263,10 @@ public class SpecsLogging {
 
     }
 
+    private static boolean ignoreStackFrame(StackFrame frame) {
+        return CLASS_NAME_IGNORE.contains(frame.getClassName());
+    }
+
     private static boolean ignoreStackTraceElement(StackTraceElement stackTraceElement) {
         // Check if in class name ignore list
         if (CLASS_NAME_IGNORE.contains(stackTraceElement.getClassName())) {
@@ -32,7 +32,7 @@ public class StringHandler extends StreamHandler {
 	this.buffer = new StringBuilder();
     }
 
-    public String getString() {
+    public synchronized String getString() {
 	return this.buffer.toString();
     }
 
@@ -64,8 +64,8 @@ public class StringHandler extends StreamHandler {
     @Override
     public synchronized void publish(LogRecord record) {
 	// super.publish(record);
+	// Records are stored in the buffer, there is no stream to flush
 	this.buffer.append(record.getMessage());
-	flush();
     }
 
     /**
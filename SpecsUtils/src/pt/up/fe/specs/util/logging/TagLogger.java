@@ -48,8 +48,15 @@ public interface TagLogger<T> {
         return loggerName.toLowerCase();
     }
 
+    /**
+     * Loggers are cached by base name and tag, implementations that override {@link #getLoggerName(Object)} should
+     * return the same name for the same base name and tag.
+     * 
+     * @param tag
+     * @return the logger for the given tag
+     */
     default Logger getLogger(T tag) {
-        return SpecsLoggers.getLogger(getLoggerName(tag));
+        return SpecsLoggers.getLogger(this, tag);
     }
 
     default Logger getBaseLogger() {
@@ -66,7 +73,7 @@ public interface TagLogger<T> {
 
     default void log(Level level, T tag, String message, LogSourceInfo logSourceInfo, StackTraceElement[] stackTrace) {
         // Obtain logger
-        Logger logger = SpecsLoggers.getLogger(getLoggerName(tag));
+        Logger logger = getLogger(tag);
         logger.log(level, SpecsLogging.parseMessage(tag, message, logSourceInfo, stackTrace));
         /*        
             // Obtain stack trace
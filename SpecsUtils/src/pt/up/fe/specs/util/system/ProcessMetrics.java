@@ -0,0 +1,69 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.system;
+
+import pt.up.fe.specs.util.SpecsStrings;
+
+/**
+ * Timing and output volume of a single process launch.
+ */
+public class ProcessMetrics {
+
+    private final long spawnNanos;
+    private final long wallNanos;
+    private final long stdOutBytes;
+    private final long stdErrBytes;
+
+    public ProcessMetrics(long spawnNanos, long wallNanos, long stdOutBytes, long stdErrBytes) {
+        this.spawnNanos = spawnNanos;
+        this.wallNanos = wallNanos;
+        this.stdOutBytes = stdOutBytes;
+        this.stdErrBytes = stdErrBytes;
+    }
+
+    /**
+     * @return the time spent creating the process (i.e., ProcessBuilder.start()), in nanoseconds
+     */
+    public long getSpawnNanos() {
+        return spawnNanos;
+    }
+
+    /**
+     * @return the time between the launch request and having the process output, in nanoseconds
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return the number of bytes read from the standard output
+     */
+    public long getStdOutBytes() {
+        return stdOutBytes;
+    }
+
+    /**
+     * @return the number of bytes read from the standard error
+     */
+    public long getStdErrBytes() {
+        return stdErrBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "spawn: " + SpecsStrings.parseTime(spawnNanos) + ", wall: " + SpecsStrings.parseTime(wallNanos)
+                + ", stdout: " + SpecsStrings.parseSize(stdOutBytes) + ", stderr: "
+                + SpecsStrings.parseSize(stdErrBytes);
+    }
+}
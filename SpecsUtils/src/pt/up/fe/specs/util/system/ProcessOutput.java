@@ -29,22 +29,36 @@ public class ProcessOutput<O, E> {
     private final O stdOut;
     private final E stdErr;
     private final Exception outputException;
+    private final ProcessMetrics metrics;
 
     public ProcessOutput(int returnValue, O stdOut, E stdErr) {
         this(returnValue, stdOut, stdErr, null);
     }
 
     public ProcessOutput(int returnValue, O stdOut, E stdErr, Exception outputException) {
+        this(returnValue, stdOut, stdErr, outputException, null);
+    }
+
+    public ProcessOutput(int returnValue, O stdOut, E stdErr, Exception outputException, ProcessMetrics metrics) {
         this.returnValue = returnValue;
         this.stdOut = stdOut;
         this.stdErr = stdErr;
         this.outputException = outputException;
+        this.metrics = metrics;
     }
 
     public Optional<Exception> getOutputException() {
         return Optional.ofNullable(outputException);
     }
 
+    /**
+     * 
+     * @return the metrics of the launch, if available
+     */
+    public Optional<ProcessMetrics> getMetrics() {
+        return Optional.ofNullable(metrics);
+    }
+
     /**
      * Checks if the execution returned an error value.
      * 
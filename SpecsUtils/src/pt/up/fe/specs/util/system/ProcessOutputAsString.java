@@ -21,7 +21,11 @@ public class ProcessOutputAsString extends ProcessOutput<String, String> {
      * @param stdErr
      */
     public ProcessOutputAsString(int returnValue, String stdOut, String stdErr) {
-        super(returnValue, stdOut == null ? "" : stdOut, stdErr == null ? "" : stdErr);
+        this(returnValue, stdOut, stdErr, null);
+    }
+
+    public ProcessOutputAsString(int returnValue, String stdOut, String stdErr, ProcessMetrics metrics) {
+        super(returnValue, stdOut == null ? "" : stdOut, stdErr == null ? "" : stdErr, null, metrics);
     }
 
     /**
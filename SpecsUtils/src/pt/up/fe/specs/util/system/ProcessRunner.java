@@ -0,0 +1,289 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.system;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import pt.up.fe.specs.util.SpecsLogs;
+import pt.up.fe.specs.util.SpecsStrings;
+import pt.up.fe.specs.util.SpecsSystem;
+import pt.up.fe.specs.util.lazy.Lazy;
+import pt.up.fe.specs.util.utilities.ProgressCounter;
+
+/**
+ * Launches processes and collects their output.
+ * 
+ * <p>
+ * The standard output, error and input of the processes are pumped by threads of an executor that is shared by all
+ * launches, instead of creating new threads for each process. The executor must be able to run the three pumps of
+ * every process that is running at the same time, otherwise processes can block on full pipes. The default executor is
+ * a cached pool of daemon threads, which reuses idle threads.
+ * 
+ * <p>
+ * Each launch returns {@link ProcessMetrics} in {@link ProcessOutput#getMetrics()}.
+ */
+public class ProcessRunner {
+
+    private static final Lazy<ExecutorService> SHARED_EXECUTOR = Lazy
+            .newInstance(() -> Executors.newCachedThreadPool(SpecsSystem.getDaemonThreadFactory()));
+
+    private boolean gcBeforeLaunch;
+    private ExecutorService executor;
+
+    public ProcessRunner() {
+        this.gcBeforeLaunch = false;
+        this.executor = null;
+    }
+
+    /**
+     * Calls the garbage collector before launching each process, in order to reduce memory required to fork the VM
+     * (http://www.bryanmarty.com/2012/01/14/forking-jvm/). Disabled by default, since it adds a full GC pause to every
+     * launch.
+     * 
+     * @param gcBeforeLaunch
+     * @return this runner
+     */
+    public ProcessRunner setGcBeforeLaunch(boolean gcBeforeLaunch) {
+        this.gcBeforeLaunch = gcBeforeLaunch;
+        return this;
+    }
+
+    public boolean isGcBeforeLaunch() {
+        return gcBeforeLaunch;
+    }
+
+    /**
+     * Sets the executor that reads and writes the streams of the processes. If not set, uses an executor shared by all
+     * runners.
+     * 
+     * @param executor
+     * @return this runner
+     */
+    public ProcessRunner setExecutor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    private ExecutorService getExecutor() {
+        return executor != null ? executor : SHARED_EXECUTOR.get();
+    }
+
+    /**
+     * Launches the process characterized by 'builder'.
+     * 
+     * <p>
+     * If there is any problem with the process, throws an exception.
+     * 
+     * @param builder
+     * @param outputProcessor
+     * @param errorProcessor
+     * @param input
+     *            writes to the input of the process, can be null
+     * @param timeoutNanos
+     *            maximum time the process can run, can be null
+     * @return
+     */
+    public <O, E> ProcessOutput<O, E> run(ProcessBuilder builder, Function<InputStream, O> outputProcessor,
+            Function<InputStream, E> errorProcessor, Consumer<OutputStream> input, Long timeoutNanos) {
+
+        // The command in the builder might need processing (e.g., Windows system commands)
+        processCommand(builder);
+        SpecsLogs.debug(() -> "Launching Process: " + builder.command().stream().collect(Collectors.joining(" ")));
+
+        long launchStart = System.nanoTime();
+
+        if (gcBeforeLaunch) {
+            long totalMemBefore = Runtime.getRuntime().totalMemory();
+            System.gc();
+            long totalMemAfter = Runtime.getRuntime().totalMemory();
+            SpecsLogs.msgLib("Preparing to run process, memory before -> after GC: "
+                    + SpecsStrings.parseSize(totalMemBefore) + " -> " + SpecsStrings.parseSize(totalMemAfter));
+        }
+
+        Process process = null;
+        long spawnStart = System.nanoTime();
+        try {
+            process = builder.start();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not start process", e);
+        }
+        long spawnNanos = System.nanoTime() - spawnStart;
+
+        ExecutorService pumps = getExecutor();
+
+        CountingInputStream inputStream = new CountingInputStream(process.getInputStream());
+        Future<O> outputFuture = pumps.submit(() -> outputProcessor.apply(inputStream));
+
+        CountingInputStream errorStream = new CountingInputStream(process.getErrorStream());
+        Future<E> errorFuture = pumps.submit(() -> errorProcessor.apply(errorStream));
+
+        if (input != null) {
+            OutputStream inStream = process.getOutputStream();
+            pumps.submit(() -> input.accept(inStream));
+        }
+
+        ProcessOutput<O, E> output = executeProcess(process, timeoutNanos, outputFuture, errorFuture);
+
+        var metrics = new ProcessMetrics(spawnNanos, System.nanoTime() - launchStart, inputStream.getCount(),
+                errorStream.getCount());
+        SpecsLogs.debug(() -> "Process metrics: " + metrics);
+
+        return new ProcessOutput<>(output.getReturnValue(), output.getStdOut(), output.getStdErr(),
+                output.getOutputException().orElse(null), metrics);
+    }
+
+    /**
+     * Performs several fixes on the builder command (e.g., adapts command for Windows platforms)
+     * 
+     * @param builder
+     */
+    private static void processCommand(ProcessBuilder builder) {
+
+        // For now, do nothing if it is not Windows
+        if (!SpecsSystem.isWindows()) {
+            return;
+        }
+
+        // Do nothing if no command
+        if (builder.command().isEmpty()) {
+            return;
+        }
+
+        // Check if command is a file that exists in the working folder
+        File workingDir = builder.directory();
+        File command = new File(workingDir, builder.command().get(0));
+
+        // If command is a file that exists, do nothing
+        if (command.isFile()) {
+            return;
+        }
+
+        // Update command
+        List<String> newCommand = new ArrayList<>(builder.command().size() + 2);
+        newCommand.add("cmd");
+        newCommand.add("/c");
+        newCommand.addAll(builder.command());
+
+        builder.command(newCommand);
+    }
+
+    private static <O, E> ProcessOutput<O, E> executeProcess(Process process,
+            Long timeoutNanos, Future<O> outputFuture, Future<E> errorFuture) {
+
+        boolean timedOut = false;
+
+        // Read streams before the process ends
+        O output = null;
+        E error = null;
+
+        // wait forever, or just for a while
+        try {
+            if (timeoutNanos == null) {
+                process.waitFor();
+                SpecsLogs.debug(() -> "Process ended on its own");
+
+            } else {
+                SpecsLogs.debug(() -> "Launched process with a timeout of " + timeoutNanos + "ns");
+                timedOut = !process.waitFor(timeoutNanos, TimeUnit.NANOSECONDS);
+                boolean timedOutFinal = timedOut;
+                SpecsLogs.debug(() -> "Process timed out? " + timedOutFinal);
+            }
+
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            destroyProcess(process);
+            throw new RuntimeException("Could not finish process with command '"
+                    + process.info().commandLine().orElse("<NOT AVAILABLE>") + "'");
+        }
+
+        Exception outputException = null;
+        try {
+            output = outputFuture.get(10, TimeUnit.SECONDS);
+            error = errorFuture.get(10, TimeUnit.SECONDS);
+
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Thread interrupted while waiting for output/error streams");
+
+        } catch (Exception e) {
+            SpecsLogs.info("Exception while waiting for output/error streams: " + e.getMessage());
+            outputException = e;
+        }
+
+        // wait for notify (?)
+        /*       try {
+            process.getInputStream().wait();
+        
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }*/
+
+        int returnValue = timedOut ? -1 : process.exitValue();
+        if (timedOut) {
+            SpecsLogs.info("Process timed out after " + SpecsStrings.parseTime(timeoutNanos));
+        }
+
+        destroyProcess(process);
+        return new ProcessOutput<>(returnValue, output, error, outputException);
+    }
+
+    private static void destroyProcess(Process process) {
+
+        // TODO: a breakpoint is necessary before process destruction, or else the "insts"
+        // linestream is closed
+
+        // Get descendants of the process
+        List<ProcessHandle> processDescendants = process.descendants().collect(Collectors.toList());
+        SpecsLogs.debug(() -> "ProcessRunner.executeProcess: Killing process...");
+        process.destroyForcibly();
+        destroyDescendants(processDescendants);
+    }
+
+    private static void destroyDescendants(List<ProcessHandle> processDescendants) {
+
+        // Destroy descendants
+        ProgressCounter counter = new ProgressCounter(processDescendants.size());
+        SpecsLogs.debug("Found " + processDescendants.size() + " descendants processes");
+        for (ProcessHandle handle : processDescendants) {
+            SpecsLogs.debug(() -> "ProcessRunner.executeProcess: Killing descendant process... " + counter.next());
+
+            handle.destroyForcibly();
+            SpecsLogs.debug(() -> "ProcessRunner.executeProcess: Waiting killing...");
+            try {
+                handle.onExit().get(1, TimeUnit.SECONDS);
+                SpecsLogs.debug(() -> "ProcessRunner.executeProcess: Destroyed");
+
+            } catch (TimeoutException t) {
+                SpecsLogs.debug(() -> "ProcessRunner.executeProcess: Timeout while destroying descendant process!");
+
+            } catch (Exception e) {
+                SpecsLogs.debug(() -> "ProcessRunner.executeProcess: Could not destroy descendant process!");
+            }
+        }
+    }
+}
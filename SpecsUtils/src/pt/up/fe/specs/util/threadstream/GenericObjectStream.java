@@ -1,25 +1,59 @@
 package pt.up.fe.specs.util.threadstream;
 
+import java.util.ArrayDeque;
+
 import pt.up.fe.specs.util.collections.concurrentchannel.ChannelConsumer;
 
 public class GenericObjectStream<T> extends AObjectStream<T> implements ObjectStream<T> {
 
     private final ChannelConsumer<T> consumer;
 
+    /*
+     * Maximum number of tokens taken from the channel in a single handoff
+     */
+    private final int batchSize;
+
+    /*
+     * Tokens already taken from the channel, but not yet consumed
+     */
+    private final ArrayDeque<T> batch;
+
     public GenericObjectStream(ChannelConsumer<T> consumer, T poison) {
+        this(consumer, poison, 1);
+    }
+
+    public GenericObjectStream(ChannelConsumer<T> consumer, T poison, int batchSize) {
         super(poison);
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
         this.consumer = consumer;
+        this.batchSize = batchSize;
+        this.batch = new ArrayDeque<>(batchSize);
     }
 
     @Override
     protected T consumeFromProvider() {
+        if (!this.batch.isEmpty()) {
+            return this.batch.poll();
+        }
+
         T ret = null;
         try {
             ret = this.consumer.take();
         } catch (InterruptedException e) {
             // TODO Auto-generated catch block
             e.printStackTrace();
+            return null;
         }
+
+        // Take whatever else is already available, without blocking
+        if (this.batchSize > 1) {
+            this.consumer.drainTo(this.batch, this.batchSize - 1);
+        }
+
         return ret;
     }
 }
@@ -41,6 +41,33 @@ public class ProducerEngine<T, K extends ObjectProducer<T>> {
         this.consumers = new ArrayList<ConsumerThread<T, ?>>();
     }
 
+    /**
+     * Sets the number of tokens each channel holds before the producer blocks. Applies to consumers subscribed after
+     * this call.
+     */
+    public ProducerEngine<T, K> setChannelDepth(int channelDepth) {
+        this.producer.setChannelDepth(channelDepth);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of tokens a consumer takes from its channel in a single handoff. Only applies to the
+     * default stream constructor, and to consumers subscribed after this call.
+     */
+    public ProducerEngine<T, K> setBatchSize(int batchSize) {
+        this.producer.setBatchSize(batchSize);
+        return this;
+    }
+
+    /**
+     * If true, channels use a lock-free single-producer, single-consumer ring buffer instead of an
+     * ArrayBlockingQueue. Applies to consumers subscribed after this call.
+     */
+    public ProducerEngine<T, K> setLockFree(boolean lockFree) {
+        this.producer.setLockFree(lockFree);
+        return this;
+    }
+
     /*
      * 
      */
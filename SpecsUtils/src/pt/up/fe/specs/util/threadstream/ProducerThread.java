@@ -19,6 +19,16 @@ import pt.up.fe.specs.util.collections.concurrentchannel.ConcurrentChannel;
  */
 public class ProducerThread<T, K extends ObjectProducer<T>> implements Runnable {
 
+    /*
+     * Default number of tokens each channel can hold before the producer blocks
+     */
+    public static final int DEFAULT_CHANNEL_DEPTH = 64;
+
+    /*
+     * Default maximum number of tokens a consumer takes from its channel in a single handoff
+     */
+    public static final int DEFAULT_BATCH_SIZE = 16;
+
     /*
      * Source producer function
      */
@@ -39,9 +49,21 @@ public class ProducerThread<T, K extends ObjectProducer<T>> implements Runnable
      */
     private List<ChannelProducer<T>> producers;
 
+    /*
+     * Settings for new channels
+     */
+    private int channelDepth;
+    private int batchSize;
+    private boolean lockFree;
+
     protected ProducerThread(K producer, Function<K, T> produceFunction) {
-        this(producer, produceFunction,
-                cc -> new GenericObjectStream<T>(cc, producer.getPoison()));
+        this.producer = producer;
+        this.produceFunction = produceFunction;
+        this.cons = cc -> new GenericObjectStream<T>(cc, producer.getPoison(), this.batchSize);
+        this.producers = new ArrayList<ChannelProducer<T>>();
+        this.channelDepth = DEFAULT_CHANNEL_DEPTH;
+        this.batchSize = DEFAULT_BATCH_SIZE;
+        this.lockFree = false;
     }
 
     protected ProducerThread(K producer, Function<K, T> produceFunction,
@@ -50,13 +72,39 @@ public class ProducerThread<T, K extends ObjectProducer<T>> implements Runnable
         this.produceFunction = produceFunction;
         this.cons = cons;
         this.producers = new ArrayList<ChannelProducer<T>>();
+        this.channelDepth = DEFAULT_CHANNEL_DEPTH;
+        this.batchSize = DEFAULT_BATCH_SIZE;
+        this.lockFree = false;
+    }
+
+    protected void setChannelDepth(int channelDepth) {
+        if (channelDepth < 1) {
+            throw new IllegalArgumentException("Channel depth must be positive: " + channelDepth);
+        }
+
+        this.channelDepth = channelDepth;
+    }
+
+    /*
+     * Only used by the default stream constructor
+     */
+    protected void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    protected void setLockFree(boolean lockFree) {
+        this.lockFree = lockFree;
     }
 
     /*
-     * creates a new channel into which this runnable object will pump data, with depth 1
+     * creates a new channel into which this runnable object will pump data, with the configured depth
      */
     protected ObjectStream<T> newChannel() {
-        return this.newChannel(1);
+        return this.newChannel(this.channelDepth);
     }
 
     /*
@@ -65,9 +113,10 @@ public class ProducerThread<T, K extends ObjectProducer<T>> implements Runnable
     protected ObjectStream<T> newChannel(int depth) {
 
         /*
-         * Need new channel
+         * Need new channel (each channel has one producer and one consumer thread)
          */
-        var channel = new ConcurrentChannel<T>(depth);
+        var channel = this.lockFree ? ConcurrentChannel.<T> newSingleProducerSingleConsumer(depth)
+                : new ConcurrentChannel<T>(depth);
         this.producers.add(channel.createProducer());
 
         /*
@@ -77,11 +126,12 @@ public class ProducerThread<T, K extends ObjectProducer<T>> implements Runnable
     }
 
     /*
-     * ChannelProducer returns false immediately if fail to insert, so repeat
+     * Blocks while the channel is full. Returns false if the thread was interrupted, in which case the token may not
+     * have been inserted
      */
-    private void insertToken(ChannelProducer<T> prod, T inst) {
-        while (!prod.offer(inst))
-            ;
+    private boolean insertToken(ChannelProducer<T> prod, T inst) {
+        prod.put(inst);
+        return !Thread.currentThread().isInterrupted();
     }
 
     /*
@@ -96,13 +146,17 @@ public class ProducerThread<T, K extends ObjectProducer<T>> implements Runnable
         T nextproduct = null;
         while ((nextproduct = this.produceFunction.apply(this.producer)) != null) {
             for (var producer : this.producers) {
-                this.insertToken(producer, nextproduct);
+                if (!this.insertToken(producer, nextproduct)) {
+                    return;
+                }
             }
         }
 
         // insert poison terminator to all channels
         for (var producer : this.producers) {
-            this.insertToken(producer, this.producer.getPoison());
+            if (!this.insertToken(producer, this.producer.getPoison())) {
+                return;
+            }
         }
     }
 }
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import pt.up.fe.specs.util.Preconditions;
 import pt.up.fe.specs.util.SpecsCheck;
@@ -29,9 +30,17 @@ import pt.up.fe.specs.util.SpecsLogs;
  */
 public abstract class ATreeNode<K extends ATreeNode<K>> implements TreeNode<K> {
 
+    // Set once the first descendant index is enabled, before that modifications are not tracked
+    private static volatile boolean trackModifications = false;
+
     private List<K> children;
     protected K parent;
 
+    // Incremented when the subtree of this node is modified
+    private long modCount;
+    private boolean indexDescendants;
+    private DescendantIndex<K> descendantIndex;
+
     public ATreeNode(Collection<? extends K> children) {
         // this.children = SpecsFactory.newLinkedList();
         this.children = initChildren(children);
@@ -55,11 +64,106 @@ public abstract class ATreeNode<K extends ATreeNode<K>> implements TreeNode<K> {
     private void addChildPrivate(K child) {
         SpecsCheck.checkNotNull(child, () -> "Cannot use 'null' as children.");
         this.children.add(child);
+        subtreeModified();
     }
 
     private void addChildPrivate(int index, K child) {
         SpecsCheck.checkNotNull(child, () -> "Cannot use 'null' as children.");
         this.children.add(index, child);
+        subtreeModified();
+    }
+
+    /**
+     * Invalidates the descendant indexes of this node and of its ancestors.
+     */
+    protected void subtreeModified() {
+        if (!trackModifications) {
+            return;
+        }
+
+        ATreeNode<K> node = this;
+        while (node != null) {
+            node.modCount++;
+            node = node.parent;
+        }
+    }
+
+    /**
+     * Notifies that the children of the given node were modified.
+     *
+     * @param node
+     */
+    static void subtreeModified(TreeNode<?> node) {
+        if (node instanceof ATreeNode) {
+            ((ATreeNode<?>) node).subtreeModified();
+        }
+    }
+
+    /**
+     * Enables an index of the descendants of this node by class, which is used by getDescendants(Class),
+     * getDescendantsAndSelf(Class), getFirstDescendant(Class) and getFirstDescendantsAndSelf(Class).
+     *
+     * <p>
+     * The index is built on the first query, and rebuilt on the first query after the subtree is modified. Changes
+     * made directly to the list returned by {@link #getChildren()} are not detected.
+     *
+     * @param indexDescendants
+     */
+    public void setIndexDescendants(boolean indexDescendants) {
+        if (indexDescendants) {
+            trackModifications = true;
+        }
+
+        this.indexDescendants = indexDescendants;
+        this.descendantIndex = null;
+    }
+
+    public boolean isIndexDescendants() {
+        return indexDescendants;
+    }
+
+    private DescendantIndex<K> getDescendantIndex() {
+        if (descendantIndex == null || descendantIndex.getModCount() != modCount) {
+            descendantIndex = new DescendantIndex<>(getThis(), modCount);
+        }
+
+        return descendantIndex;
+    }
+
+    @Override
+    public <N extends K> List<N> getDescendants(Class<N> targetType) {
+        if (!indexDescendants) {
+            return TreeNode.super.getDescendants(targetType);
+        }
+
+        return getDescendantIndex().get(targetType, false);
+    }
+
+    @Override
+    public <N extends K> List<N> getDescendantsAndSelf(Class<N> targetType) {
+        if (!indexDescendants) {
+            return TreeNode.super.getDescendantsAndSelf(targetType);
+        }
+
+        return getDescendantIndex().get(targetType, true);
+    }
+
+    @Override
+    public <N extends K> Optional<N> getFirstDescendant(Class<N> targetType) {
+        if (!indexDescendants) {
+            return TreeNode.super.getFirstDescendant(targetType);
+        }
+
+        return getDescendantIndex().getFirst(targetType, false);
+    }
+
+    @Override
+    public <N extends K> Optional<N> getFirstDescendantsAndSelf(Class<N> targetType) {
+        if (!indexDescendants) {
+            return TreeNode.super.getFirstDescendantsAndSelf(targetType);
+        }
+
+        return getDescendantIndex().getFirst(targetType, true);
     }
 
     private List<K> initChildren(Collection<? extends K> children) {
@@ -116,6 +220,7 @@ public abstract class ATreeNode<K extends ATreeNode<K>> implements TreeNode<K> {
         }
 
         K child = this.children.remove(index);
+        subtreeModified();
 
         // Unlink child from this node
         child.removeParent();
@@ -140,6 +245,7 @@ public abstract class ATreeNode<K extends ATreeNode<K>> implements TreeNode<K> {
 
         // Insert child
         K previousChild = this.children.set(index, sanitizedToken);
+        subtreeModified();
 
         // Remove the previous child from the tree
         if (previousChild != null) {
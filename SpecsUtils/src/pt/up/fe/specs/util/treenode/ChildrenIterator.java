@@ -77,6 +77,7 @@ public class ChildrenIterator<N extends TreeNode<N>> implements ListIterator<N>
     public void remove() {
         // Remove from list
         this.iterator.remove();
+        ATreeNode.subtreeModified(this.parent);
 
         // Unlink child from this node
         this.lastReturned.removeParent();
@@ -95,6 +96,7 @@ public class ChildrenIterator<N extends TreeNode<N>> implements ListIterator<N>
 
         // Insert child
         this.iterator.set(sanitizedToken);
+        ATreeNode.subtreeModified(this.parent);
 
         // Remove the previous child from the tree
         this.lastReturned.removeParent();
@@ -113,6 +115,7 @@ public class ChildrenIterator<N extends TreeNode<N>> implements ListIterator<N>
 
         // Add node
         this.iterator.add(sanitizedToken);
+        ATreeNode.subtreeModified(this.parent);
 
         // Reset last returned
         this.lastReturned = null;
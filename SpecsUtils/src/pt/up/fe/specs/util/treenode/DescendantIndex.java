@@ -0,0 +1,148 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.treenode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Snapshot of the subtree of a node (including the node), grouped by concrete class.
+ *
+ * <p>
+ * Nodes are stored in pre-order, and each concrete class keeps the positions of its nodes. Queries for a type merge the
+ * positions of the concrete classes assignable to it, and are cached.
+ */
+class DescendantIndex<K extends TreeNode<K>> {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final long modCount;
+    private final Object[] nodes;
+    private final Map<Class<?>, int[]> positionsByClass;
+    private final Map<Class<?>, int[]> queryCache;
+
+    DescendantIndex(K root, long modCount) {
+        this.modCount = modCount;
+
+        var preOrder = new ArrayList<K>();
+        TreeNodeTraversal.preOrder(root, true).forEachRemaining(preOrder::add);
+        this.nodes = preOrder.toArray();
+
+        // Count nodes of each class, to allocate the arrays with the exact size
+        var counts = new HashMap<Class<?>, int[]>();
+        for (var node : nodes) {
+            counts.computeIfAbsent(node.getClass(), key -> new int[1])[0]++;
+        }
+
+        this.positionsByClass = new HashMap<>(counts.size() * 2);
+        for (var entry : counts.entrySet()) {
+            positionsByClass.put(entry.getKey(), new int[entry.getValue()[0]]);
+        }
+
+        var filled = new HashMap<Class<?>, int[]>(counts.size() * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            var nodeClass = nodes[i].getClass();
+            var next = filled.computeIfAbsent(nodeClass, key -> new int[1]);
+            positionsByClass.get(nodeClass)[next[0]++] = i;
+        }
+
+        this.queryCache = new HashMap<>();
+    }
+
+    long getModCount() {
+        return modCount;
+    }
+
+    /**
+     *
+     * @param targetType
+     * @param includeSelf
+     * @return the nodes that are an instance of the given type, in pre-order
+     */
+    <N extends K> List<N> get(Class<N> targetType, boolean includeSelf) {
+        var positions = getPositions(targetType);
+
+        int start = !includeSelf && positions.length > 0 && positions[0] == 0 ? 1 : 0;
+
+        var result = new ArrayList<N>(positions.length - start);
+        for (int i = start; i < positions.length; i++) {
+            result.add(targetType.cast(nodes[positions[i]]));
+        }
+
+        return result;
+    }
+
+    /**
+     *
+     * @param targetType
+     * @param includeSelf
+     * @return the first node in pre-order that is an instance of the given type
+     */
+    <N extends K> Optional<N> getFirst(Class<N> targetType, boolean includeSelf) {
+        var positions = getPositions(targetType);
+
+        int index = !includeSelf && positions.length > 0 && positions[0] == 0 ? 1 : 0;
+        if (index >= positions.length) {
+            return Optional.empty();
+        }
+
+        return Optional.of(targetType.cast(nodes[positions[index]]));
+    }
+
+    private int[] getPositions(Class<?> targetType) {
+        var positions = queryCache.get(targetType);
+
+        if (positions == null) {
+            positions = computePositions(targetType);
+            queryCache.put(targetType, positions);
+        }
+
+        return positions;
+    }
+
+    private int[] computePositions(Class<?> targetType) {
+        var matches = new ArrayList<int[]>();
+        int total = 0;
+
+        for (var entry : positionsByClass.entrySet()) {
+            if (targetType.isAssignableFrom(entry.getKey())) {
+                matches.add(entry.getValue());
+                total += entry.getValue().length;
+            }
+        }
+
+        if (matches.isEmpty()) {
+            return EMPTY;
+        }
+
+        if (matches.size() == 1) {
+            return matches.get(0);
+        }
+
+        // Positions of each class are sorted, but must be merged to keep the pre-order
+        var positions = new int[total];
+        int offset = 0;
+        for (var match : matches) {
+            System.arraycopy(match, 0, positions, offset, match.length);
+            offset += match.length;
+        }
+        Arrays.sort(positions);
+
+        return positions;
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -89,30 +90,28 @@ public interface TreeNode<K extends TreeNode<K>> {
     }
 
     default Stream<K> getDescendantsStream() {
-        return getChildrenStream().flatMap(c -> c.getDescendantsAndSelfStream());
+        return TreeNodeTraversal.preOrderStream(getThisNode(), false);
     }
 
-    @SuppressWarnings("unchecked")
     default Stream<K> getDescendantsAndSelfStream() {
-        return Stream.concat(Stream.of((K) this), getDescendantsStream());
+        return TreeNodeTraversal.preOrderStream(getThisNode(), true);
     }
 
     default Stream<K> getAscendantsStream() {
         return getAscendantsAndSelfStream().skip(1);
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     default Stream<K> getAscendantsAndSelfStream() {
-        List ascendantsAndSelf = new ArrayList<>();
-
-        TreeNode node = this;
-        while (node != null) {
-            ascendantsAndSelf.add(node);
-
-            node = node.getParent();
-        }
+        return Stream.iterate(getThisNode(), Objects::nonNull, TreeNode::getParent);
+    }
 
-        return ascendantsAndSelf.stream();
+    /**
+     * 
+     * @return this node, as K
+     */
+    @SuppressWarnings("unchecked")
+    private K getThisNode() {
+        return (K) this;
     }
 
     /**
@@ -121,9 +120,7 @@ public interface TreeNode<K extends TreeNode<K>> {
      * @return all descendants that are an instance of the given class
      */
     default <N extends K> List<N> getDescendants(Class<N> targetType) {
-        return getDescendantsStream().filter(node -> targetType.isInstance(node))
-                .map(node -> targetType.cast(node))
-                .collect(Collectors.toList());
+        return TreeNodeTraversal.getDescendants(getThisNode(), targetType, false);
     }
 
     /**
@@ -132,7 +129,19 @@ public interface TreeNode<K extends TreeNode<K>> {
      * @return list with all descendants
      */
     default List<K> getDescendants() {
-        return getDescendantsStream().collect(Collectors.toList());
+        var descendants = new ArrayList<K>();
+        TreeNodeTraversal.preOrder(getThisNode(), false).forEachRemaining(descendants::add);
+        return descendants;
+    }
+
+    /**
+     * Stops at the first node that is found.
+     *
+     * @param targetType
+     * @return the first descendant in pre-order that is an instance of the given class
+     */
+    default <N extends K> Optional<N> getFirstDescendant(Class<N> targetType) {
+        return TreeNodeTraversal.getFirstDescendant(getThisNode(), targetType, false);
     }
 
     /**
@@ -148,21 +157,26 @@ public interface TreeNode<K extends TreeNode<K>> {
     }
 
     default <N extends K> List<N> getDescendantsAndSelf(Class<N> targetType) {
-        return getDescendantsAndSelfStream().filter(node -> targetType.isInstance(node))
-                .map(node -> targetType.cast(node))
-                .collect(Collectors.toList());
+        return TreeNodeTraversal.getDescendants(getThisNode(), targetType, true);
     }
 
     default <N extends K> Optional<N> getFirstDescendantsAndSelf(Class<N> targetType) {
-        return getDescendantsAndSelfStream().filter(node -> targetType.isInstance(node))
-                .map(node -> targetType.cast(node))
-                .findFirst();
+        return TreeNodeTraversal.getFirstDescendant(getThisNode(), targetType, true);
     }
 
     default <N extends K> List<N> getAscendantsAndSelf(Class<N> targetType) {
-        return getAscendantsAndSelfStream().filter(targetType::isInstance)
-                .map(targetType::cast)
-                .collect(Collectors.toList());
+        var ascendants = new ArrayList<N>();
+
+        K node = getThisNode();
+        while (node != null) {
+            if (targetType.isInstance(node)) {
+                ascendants.add(targetType.cast(node));
+            }
+
+            node = node.getParent();
+        }
+
+        return ascendants;
     }
 
     /**
@@ -0,0 +1,356 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.treenode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Depth-first traversals of trees, using an explicit stack instead of recursion.
+ *
+ * <p>
+ * Iterators only allocate when the stack needs to grow, so the cost of a traversal does not depend on the number of
+ * nodes in the tree. The tree must not be modified while it is being traversed.
+ */
+public class TreeNodeTraversal {
+
+    private static final int INITIAL_STACK_SIZE = 16;
+
+    private static final int STREAM_CHARACTERISTICS = Spliterator.ORDERED | Spliterator.NONNULL;
+
+    private TreeNodeTraversal() {
+    }
+
+    /**
+     *
+     * @param node
+     * @param includeSelf
+     *            if true, the given node is the first node returned
+     * @return an iterator over the descendants of the node, in pre-order
+     */
+    public static <K extends TreeNode<K>> Iterator<K> preOrder(K node, boolean includeSelf) {
+        return new PreOrderIterator<>(node, includeSelf);
+    }
+
+    /**
+     *
+     * @param node
+     * @param includeSelf
+     *            if true, the given node is the last node returned
+     * @return an iterator over the descendants of the node, in post-order
+     */
+    public static <K extends TreeNode<K>> Iterator<K> postOrder(K node, boolean includeSelf) {
+        return new PostOrderIterator<>(node, includeSelf);
+    }
+
+    /**
+     *
+     * @param node
+     * @param includeSelf
+     * @return a sequential stream over the descendants of the node, in pre-order
+     */
+    public static <K extends TreeNode<K>> Stream<K> preOrderStream(K node, boolean includeSelf) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(preOrder(node, includeSelf), STREAM_CHARACTERISTICS), false);
+    }
+
+    /**
+     *
+     * @param node
+     * @param includeSelf
+     * @return a sequential stream over the descendants of the node, in post-order
+     */
+    public static <K extends TreeNode<K>> Stream<K> postOrderStream(K node, boolean includeSelf) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(postOrder(node, includeSelf), STREAM_CHARACTERISTICS), false);
+    }
+
+    /**
+     *
+     * @param node
+     * @param targetType
+     * @param includeSelf
+     * @return the descendants that are an instance of the given class, in pre-order
+     */
+    public static <K extends TreeNode<K>, N extends K> List<N> getDescendants(K node, Class<N> targetType,
+            boolean includeSelf) {
+
+        var descendants = new ArrayList<N>();
+
+        var iterator = preOrder(node, includeSelf);
+        while (iterator.hasNext()) {
+            var descendant = iterator.next();
+
+            if (targetType.isInstance(descendant)) {
+                descendants.add(targetType.cast(descendant));
+            }
+        }
+
+        return descendants;
+    }
+
+    /**
+     * Stops the traversal as soon as a node is found.
+     *
+     * @param node
+     * @param targetType
+     * @param includeSelf
+     * @return the first descendant in pre-order that is an instance of the given class
+     */
+    public static <K extends TreeNode<K>, N extends K> Optional<N> getFirstDescendant(K node, Class<N> targetType,
+            boolean includeSelf) {
+
+        return findFirst(node, targetType::isInstance, includeSelf).map(targetType::cast);
+    }
+
+    /**
+     * Stops the traversal as soon as a node is found.
+     *
+     * @param node
+     * @param predicate
+     * @param includeSelf
+     * @return the first descendant in pre-order that passes the predicate
+     */
+    public static <K extends TreeNode<K>> Optional<K> findFirst(K node, Predicate<? super K> predicate,
+            boolean includeSelf) {
+
+        var iterator = preOrder(node, includeSelf);
+        while (iterator.hasNext()) {
+            var descendant = iterator.next();
+
+            if (predicate.test(descendant)) {
+                return Optional.of(descendant);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Visits the node and its descendants in pre-order. The visitor receives each node and the value returned for its
+     * parent, and returns the value for the children of the node, or null if they should not be visited.
+     *
+     * <p>
+     * Like the iterators, it keeps an explicit stack of children lists, the index of the next child in each list, and
+     * the value given to the children in each list.
+     *
+     * @param node
+     * @param value
+     *            the value given to the visitor with the first node
+     * @param visitor
+     */
+    public static <K extends TreeNode<K>, V> void visitPreOrder(K node, V value,
+            BiFunction<? super K, ? super V, ? extends V> visitor) {
+
+        V childrenValue = visitor.apply(node, value);
+        if (childrenValue == null || !node.hasChildren()) {
+            return;
+        }
+
+        Object[] lists = new Object[INITIAL_STACK_SIZE];
+        Object[] values = new Object[INITIAL_STACK_SIZE];
+        int[] indexes = new int[INITIAL_STACK_SIZE];
+
+        lists[0] = node.getChildren();
+        values[0] = childrenValue;
+        int size = 1;
+
+        while (size > 0) {
+            @SuppressWarnings("unchecked")
+            var children = (List<K>) lists[size - 1];
+
+            if (indexes[size - 1] >= children.size()) {
+                size--;
+                lists[size] = null;
+                values[size] = null;
+                continue;
+            }
+
+            var child = children.get(indexes[size - 1]++);
+
+            @SuppressWarnings("unchecked")
+            var parentValue = (V) values[size - 1];
+            childrenValue = visitor.apply(child, parentValue);
+
+            if (childrenValue == null || !child.hasChildren()) {
+                continue;
+            }
+
+            if (size == lists.length) {
+                lists = Arrays.copyOf(lists, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+                indexes = Arrays.copyOf(indexes, size * 2);
+            }
+
+            lists[size] = child.getChildren();
+            values[size] = childrenValue;
+            indexes[size] = 0;
+            size++;
+        }
+    }
+
+    /**
+     * Keeps a stack of children lists, and the index of the next child to return from each list.
+     */
+    static class PreOrderIterator<K extends TreeNode<K>> implements Iterator<K> {
+
+        private Object[] lists;
+        private int[] indexes;
+        private int size;
+
+        private K root;
+
+        PreOrderIterator(K root, boolean includeSelf) {
+            this.lists = new Object[INITIAL_STACK_SIZE];
+            this.indexes = new int[INITIAL_STACK_SIZE];
+            this.size = 0;
+
+            if (includeSelf) {
+                this.root = root;
+            } else {
+                this.root = null;
+                push(root.getChildren());
+            }
+        }
+
+        private void push(List<K> children) {
+            if (children.isEmpty()) {
+                return;
+            }
+
+            if (size == lists.length) {
+                lists = Arrays.copyOf(lists, size * 2);
+                indexes = Arrays.copyOf(indexes, size * 2);
+            }
+
+            lists[size] = children;
+            indexes[size] = 0;
+            size++;
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<K> peekList() {
+            return (List<K>) lists[size - 1];
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (root != null) {
+                return true;
+            }
+
+            // Discard exhausted lists
+            while (size > 0 && indexes[size - 1] >= peekList().size()) {
+                size--;
+                lists[size] = null;
+            }
+
+            return size > 0;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            if (root != null) {
+                var node = root;
+                root = null;
+                push(node.getChildren());
+                return node;
+            }
+
+            var node = peekList().get(indexes[size - 1]++);
+            push(node.getChildren());
+            return node;
+        }
+    }
+
+    /**
+     * Keeps a stack of nodes, and the index of the next child to visit from each node.
+     */
+    static class PostOrderIterator<K extends TreeNode<K>> implements Iterator<K> {
+
+        private Object[] nodes;
+        private int[] indexes;
+        private int size;
+
+        private final K root;
+        private final boolean includeSelf;
+
+        PostOrderIterator(K root, boolean includeSelf) {
+            this.nodes = new Object[INITIAL_STACK_SIZE];
+            this.indexes = new int[INITIAL_STACK_SIZE];
+            this.size = 0;
+
+            this.root = root;
+            this.includeSelf = includeSelf;
+
+            push(root);
+        }
+
+        private void push(K node) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                indexes = Arrays.copyOf(indexes, size * 2);
+            }
+
+            nodes[size] = node;
+            indexes[size] = 0;
+            size++;
+        }
+
+        @Override
+        public boolean hasNext() {
+            // The root is the last node on the stack
+            return includeSelf ? size > 0 : size > 1 || (size == 1 && indexes[0] < root.getChildren().size());
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public K next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            while (true) {
+                var node = (K) nodes[size - 1];
+                var children = node.getChildren();
+                var index = indexes[size - 1];
+
+                // Descend until a node without unvisited children is found
+                if (index < children.size()) {
+                    indexes[size - 1]++;
+                    push(children.get(index));
+                    continue;
+                }
+
+                size--;
+                nodes[size] = null;
+                return node;
+            }
+        }
+    }
+}
@@ -32,6 +32,20 @@ public interface NodeTransform<K extends TreeNode<K>> {
      */
     List<K> getOperands();
 
+    /**
+     * The operands whose position in the tree is changed by this transformation (i.e., nodes that are removed,
+     * inserted or moved), as opposed to nodes that are only used as a reference. Used to detect conflicting
+     * transformations.
+     *
+     * <p>
+     * By default, returns all operands.
+     *
+     * @return the operands moved by the instruction
+     */
+    default List<K> getMovedOperands() {
+        return getOperands();
+    }
+
     /**
      * Executes the instruction.
      */
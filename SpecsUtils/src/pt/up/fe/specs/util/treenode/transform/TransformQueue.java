@@ -15,7 +15,9 @@ package pt.up.fe.specs.util.treenode.transform;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import pt.up.fe.specs.util.treenode.TreeNode;
 import pt.up.fe.specs.util.treenode.transform.transformations.AddChildTransform;
@@ -30,10 +32,27 @@ public class TransformQueue<K extends TreeNode<K>> {
     // Id that can be used to identify where the transformations come from
     private final String id;
     private final List<NodeTransform<K>> instructions;
+    private boolean checkConflicts;
 
     public TransformQueue(String id) {
         this.id = id;
         instructions = new ArrayList<>();
+        checkConflicts = false;
+    }
+
+    /**
+     * If true, {@link #apply()} and {@link #applyReverse()} first call {@link #checkConflicts()}.
+     *
+     * @param checkConflicts
+     * @return this queue
+     */
+    public TransformQueue<K> setCheckConflicts(boolean checkConflicts) {
+        this.checkConflicts = checkConflicts;
+        return this;
+    }
+
+    public boolean isCheckConflicts() {
+        return checkConflicts;
     }
 
     public String getId() {
@@ -62,6 +81,10 @@ public class TransformQueue<K extends TreeNode<K>> {
 
     private void applyPrivate(List<NodeTransform<K>> transforms) {
 
+        if (checkConflicts) {
+            checkConflicts();
+        }
+
         for (NodeTransform<K> transform : transforms) {
             transform.execute();
         }
@@ -73,6 +96,73 @@ public class TransformQueue<K extends TreeNode<K>> {
         return instructions;
     }
 
+    /**
+     * Checks that no node is moved by more than one transformation, and that nodes moved by a transformation are not
+     * used as reference by another. Such transformations depend on the order they are applied, and can leave the tree
+     * in an inconsistent state.
+     *
+     * <p>
+     * Nodes are compared by identity.
+     *
+     * @throws RuntimeException
+     *             if two transformations conflict
+     */
+    public void checkConflicts() {
+        // First transformation that moves each node
+        Map<K, NodeTransform<K>> moved = new IdentityHashMap<>();
+        // First transformation that uses each node as reference
+        Map<K, NodeTransform<K>> referenced = new IdentityHashMap<>();
+
+        for (var transform : instructions) {
+            var movedOperands = transform.getMovedOperands();
+
+            for (var operand : transform.getOperands()) {
+                boolean isMoved = movedOperands.stream().anyMatch(movedOperand -> movedOperand == operand);
+
+                var previousMove = moved.get(operand);
+                if (previousMove != null && previousMove != transform) {
+                    throw newConflictException(operand, previousMove, transform);
+                }
+
+                if (!isMoved) {
+                    referenced.putIfAbsent(operand, transform);
+                    continue;
+                }
+
+                var previousReference = referenced.get(operand);
+                if (previousReference != null && previousReference != transform) {
+                    throw newConflictException(operand, previousReference, transform);
+                }
+
+                moved.put(operand, transform);
+            }
+        }
+    }
+
+    private RuntimeException newConflictException(K node, NodeTransform<K> first, NodeTransform<K> second) {
+        return new RuntimeException("Conflicting transformations in queue '" + id + "' for node "
+                + node.getNodeName() + "@" + Integer.toHexString(System.identityHashCode(node)) + ": '" + first
+                + "' and '" + second + "'");
+    }
+
+    /**
+     * Adds a transformation to the end of the queue.
+     *
+     * @param transform
+     */
+    public void add(NodeTransform<K> transform) {
+        instructions.add(transform);
+    }
+
+    /**
+     * Adds the transformations of the given queue to the end of this queue, keeping their order.
+     *
+     * @param queue
+     */
+    public void addAll(TransformQueue<K> queue) {
+        instructions.addAll(queue.getTransforms());
+    }
+
     @Override
     public String toString() {
         return instructions.toString();
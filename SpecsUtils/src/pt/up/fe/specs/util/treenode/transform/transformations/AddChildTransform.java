@@ -13,6 +13,9 @@
 
 package pt.up.fe.specs.util.treenode.transform.transformations;
 
+import java.util.Collections;
+import java.util.List;
+
 import pt.up.fe.specs.util.treenode.TreeNode;
 import pt.up.fe.specs.util.treenode.transform.TwoOperandTransform;
 
@@ -40,4 +43,8 @@ public class AddChildTransform<K extends TreeNode<K>> extends TwoOperandTransfor
         getNode1().addChild(position, getNode2());
     }
 
+    @Override
+    public List<K> getMovedOperands() {
+        return Collections.singletonList(getNode2());
+    }
 }
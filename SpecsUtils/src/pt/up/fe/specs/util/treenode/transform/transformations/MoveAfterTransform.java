@@ -13,6 +13,9 @@
 
 package pt.up.fe.specs.util.treenode.transform.transformations;
 
+import java.util.Collections;
+import java.util.List;
+
 import pt.up.fe.specs.util.treenode.NodeInsertUtils;
 import pt.up.fe.specs.util.treenode.TreeNode;
 import pt.up.fe.specs.util.treenode.transform.TwoOperandTransform;
@@ -28,4 +31,8 @@ public class MoveAfterTransform<K extends TreeNode<K>> extends TwoOperandTransfo
         NodeInsertUtils.insertAfter(getNode1(), getNode2(), true);
     }
 
+    @Override
+    public List<K> getMovedOperands() {
+        return Collections.singletonList(getNode2());
+    }
 }
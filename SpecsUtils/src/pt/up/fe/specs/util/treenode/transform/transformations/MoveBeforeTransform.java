@@ -13,6 +13,9 @@
 
 package pt.up.fe.specs.util.treenode.transform.transformations;
 
+import java.util.Collections;
+import java.util.List;
+
 import pt.up.fe.specs.util.treenode.NodeInsertUtils;
 import pt.up.fe.specs.util.treenode.TreeNode;
 import pt.up.fe.specs.util.treenode.transform.TwoOperandTransform;
@@ -28,4 +31,8 @@ public class MoveBeforeTransform<K extends TreeNode<K>> extends TwoOperandTransf
 	NodeInsertUtils.insertBefore(getNode1(), getNode2(), true);
     }
 
+    @Override
+    public List<K> getMovedOperands() {
+	return Collections.singletonList(getNode2());
+    }
 }
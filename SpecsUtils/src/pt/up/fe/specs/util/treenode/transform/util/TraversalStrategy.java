@@ -13,8 +13,16 @@
 
 package pt.up.fe.specs.util.treenode.transform.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
 import pt.up.fe.specs.util.SpecsLogs;
 import pt.up.fe.specs.util.treenode.TreeNode;
+import pt.up.fe.specs.util.treenode.TreeNodeTraversal;
 import pt.up.fe.specs.util.treenode.transform.TransformQueue;
 import pt.up.fe.specs.util.treenode.transform.TransformResult;
 import pt.up.fe.specs.util.treenode.transform.TransformRule;
@@ -34,6 +42,11 @@ public enum TraversalStrategy {
      */
     POST_ORDER;
 
+    /**
+     * Nodes up to this depth collect the transformations of their children in parallel.
+     */
+    private static final int PARALLEL_DEPTH = 6;
+
     public <K extends TreeNode<K>, T extends TransformResult> void apply(K node, TransformRule<K, T> rule) {
         getTransformations(node, rule).apply();
     }
@@ -106,4 +119,212 @@ public enum TraversalStrategy {
         }
 
     }
+
+    /**
+     * Applies several rules in a single traversal of the tree. See
+     * {@link #getTransformations(TreeNode, List)}.
+     *
+     * @param node
+     * @param rules
+     */
+    public <K extends TreeNode<K>> void apply(K node, List<? extends TransformRule<K, ?>> rules) {
+        getTransformations(node, rules).apply();
+    }
+
+    /**
+     * Collects the transformations of several rules in a single traversal of the tree. In each node, rules are applied
+     * in the given order. When using pre-order, a rule that does not visit the children of a node is not applied to
+     * its descendants, while the other rules are.
+     *
+     * <p>
+     * Since all rules see the original tree, this is only equivalent to applying the rules one after the other if
+     * they are independent. The returned queue checks for conflicting transformations before being applied.
+     *
+     * @param node
+     * @param rules
+     * @return a queue with the transformations of all rules
+     */
+    public <K extends TreeNode<K>> TransformQueue<K> getTransformations(K node,
+            List<? extends TransformRule<K, ?>> rules) {
+
+        TransformQueue<K> queue = newFusedQueue(rules);
+        traverseFused(node, rules, newActive(rules), queue);
+        return queue;
+    }
+
+    /**
+     * Collects the transformations of the rule, visiting disjoint subtrees in parallel. The rule must be thread-safe.
+     *
+     * <p>
+     * The transformations are in the same order as in {@link #getTransformations(TreeNode, TransformRule)}.
+     *
+     * @param node
+     * @param rule
+     * @return a queue with the transformations of the rule
+     */
+    public <K extends TreeNode<K>, T extends TransformResult> TransformQueue<K> getTransformationsParallel(K node,
+            TransformRule<K, T> rule) {
+
+        TransformQueue<K> queue = new TransformQueue<>(rule.getClass().getSimpleName());
+        queue.addAll(ForkJoinPool.commonPool().invoke(new CollectTask<>(this, node, List.of(rule),
+                newActive(List.of(rule)), 0, queue.getId())));
+        return queue;
+    }
+
+    /**
+     * Collects the transformations of several rules in a single traversal of the tree, visiting disjoint subtrees in
+     * parallel. The rules must be thread-safe.
+     *
+     * <p>
+     * The transformations are in the same order as in {@link #getTransformations(TreeNode, List)}, and the returned
+     * queue checks for conflicting transformations before being applied.
+     *
+     * @param node
+     * @param rules
+     * @return a queue with the transformations of all rules
+     */
+    public <K extends TreeNode<K>> TransformQueue<K> getTransformationsParallel(K node,
+            List<? extends TransformRule<K, ?>> rules) {
+
+        TransformQueue<K> queue = newFusedQueue(rules);
+        queue.addAll(ForkJoinPool.commonPool().invoke(new CollectTask<>(this, node, rules, newActive(rules), 0,
+                queue.getId())));
+        return queue;
+    }
+
+    private static <K extends TreeNode<K>> TransformQueue<K> newFusedQueue(
+            List<? extends TransformRule<K, ?>> rules) {
+
+        String id = rules.stream()
+                .map(rule -> rule.getClass().getSimpleName())
+                .collect(Collectors.joining("+"));
+
+        return new TransformQueue<K>(id).setCheckConflicts(true);
+    }
+
+    private static boolean[] newActive(List<?> rules) {
+        var active = new boolean[rules.size()];
+        Arrays.fill(active, true);
+        return active;
+    }
+
+    /**
+     * Applies the active rules to the node, and returns which rules should be applied to the children, or null if
+     * none.
+     */
+    private <K extends TreeNode<K>> boolean[] applyRules(K node, List<? extends TransformRule<K, ?>> rules,
+            boolean[] active, TransformQueue<K> queue) {
+
+        boolean[] childrenActive = active;
+        boolean anyActive = false;
+
+        for (int i = 0; i < rules.size(); i++) {
+            if (!active[i]) {
+                continue;
+            }
+
+            TransformResult result = rules.get(i).apply(node, queue);
+
+            // Post-order always visits the children
+            if (this == PRE_ORDER && !result.visitChildren()) {
+                if (childrenActive == active) {
+                    childrenActive = active.clone();
+                }
+                childrenActive[i] = false;
+                continue;
+            }
+
+            anyActive = true;
+        }
+
+        return anyActive || this == POST_ORDER ? childrenActive : null;
+    }
+
+    /**
+     * Uses the explicit-stack traversals of {@link TreeNodeTraversal}, so that deep trees do not overflow the stack.
+     */
+    private <K extends TreeNode<K>> void traverseFused(K node, List<? extends TransformRule<K, ?>> rules,
+            boolean[] active, TransformQueue<K> queue) {
+
+        switch (this) {
+        case POST_ORDER:
+            // All rules are applied to all nodes
+            var iterator = TreeNodeTraversal.postOrder(node, true);
+            while (iterator.hasNext()) {
+                applyRules(iterator.next(), rules, active, queue);
+            }
+            return;
+        case PRE_ORDER:
+            // The rules that are active for the children depend on the rules applied to the parent
+            TreeNodeTraversal.visitPreOrder(node, active,
+                    (child, childActive) -> applyRules(child, rules, childActive, queue));
+            return;
+        default:
+            SpecsLogs.warn("Case not defined:" + this);
+            return;
+        }
+    }
+
+    /**
+     * Collects the transformations of a subtree into its own queue. Near the root, the children are collected in
+     * parallel and their queues are appended in order.
+     */
+    private static class CollectTask<K extends TreeNode<K>> extends RecursiveTask<TransformQueue<K>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final TraversalStrategy strategy;
+        private final K node;
+        private final List<? extends TransformRule<K, ?>> rules;
+        private final boolean[] active;
+        private final int depth;
+        private final String id;
+
+        public CollectTask(TraversalStrategy strategy, K node, List<? extends TransformRule<K, ?>> rules,
+                boolean[] active, int depth, String id) {
+
+            this.strategy = strategy;
+            this.node = node;
+            this.rules = rules;
+            this.active = active;
+            this.depth = depth;
+            this.id = id;
+        }
+
+        @Override
+        protected TransformQueue<K> compute() {
+            var queue = new TransformQueue<K>(id);
+
+            if (depth >= PARALLEL_DEPTH || node.getNumChildren() < 2) {
+                strategy.traverseFused(node, rules, active, queue);
+                return queue;
+            }
+
+            boolean[] childrenActive = active;
+            if (strategy == PRE_ORDER) {
+                childrenActive = strategy.applyRules(node, rules, active, queue);
+
+                if (childrenActive == null) {
+                    return queue;
+                }
+            }
+
+            var tasks = new ArrayList<CollectTask<K>>(node.getNumChildren());
+            for (K child : node.getChildren()) {
+                tasks.add(new CollectTask<>(strategy, child, rules, childrenActive, depth + 1, id));
+            }
+
+            invokeAll(tasks);
+
+            for (var task : tasks) {
+                queue.addAll(task.join());
+            }
+
+            if (strategy == POST_ORDER) {
+                strategy.applyRules(node, rules, active, queue);
+            }
+
+            return queue;
+        }
+    }
 }
@@ -1,11 +1,11 @@
 /**
  * Copyright 2018 SPeCS.
- * 
+ *
  * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
  * the License. You may obtain a copy of the License at
- * 
+ *
  * http://www.apache.org/licenses/LICENSE-2.0
- * 
+ *
  * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
  * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
  * specific language governing permissions and limitations under the License. under the License.
@@ -14,15 +14,32 @@
 package pt.up.fe.specs.util.utilities;
 
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
 import pt.up.fe.specs.util.SpecsStrings;
 
 /**
  * Caches items that can be built with a mapper function.
- * 
+ *
+ * <p>
+ * By default the cache is unbounded. It can be bounded by number of items ({@link #setMaximumSize(long)}) or by total
+ * weight ({@link #setMaximumWeight(long, ToLongFunction)}), in which case the least recently used items are evicted
+ * first, and items can expire a fixed time after being created ({@link #setExpireAfterWrite(long, TimeUnit)}). These
+ * settings should be applied before the cache is used.
+ *
+ * <p>
+ * In thread-safe mode, concurrent calls for the same key run the mapper only once, the other callers wait for its
+ * result. A thread that recursively asks for a key it is already loading runs the mapper again instead of waiting.
+ *
  * @author JoaoBispo
  *
  * @param <K>
@@ -30,11 +47,50 @@ import pt.up.fe.specs.util.SpecsStrings;
  */
 public class CachedItems<K, V> {
 
-    private final Map<K, V> cache;
+    private static final class Entry<V> {
+        private final V value;
+        private final long weight;
+        private final long expiresAt;
+
+        private Entry(V value, long weight, long expiresAt) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Loading<V> {
+        private final FutureTask<V> task;
+        private final Thread owner;
+
+        private Loading(FutureTask<V> task) {
+            this.task = task;
+            this.owner = Thread.currentThread();
+        }
+    }
+
     private final Function<K, V> mapper;
+    private final boolean isThreadSafe;
+
+    // Keys being loaded, only used in thread-safe mode
+    private final Map<K, Loading<V>> loading;
+
+    // Guards the cache when it is bounded, since reads reorder the map
+    private final Object lock;
+
+    private Map<K, Entry<V>> cache;
+
+    private long maximumSize;
+    private long maximumWeight;
+    private ToLongFunction<? super V> weigher;
+    private long expireAfterWriteNanos;
 
-    private long cacheHits;
-    private long cacheMisses;
+    // Guarded by lock
+    private long totalWeight;
+
+    private final LongAdder cacheHits;
+    private final LongAdder cacheMisses;
+    private final LongAdder cacheEvictions;
 
     public CachedItems(Function<K, V> mapper) {
         this(mapper, false);
@@ -43,44 +99,281 @@ public class CachedItems<K, V> {
     public CachedItems(Function<K, V> mapper, boolean isThreadSafe) {
         this.cache = isThreadSafe ? new ConcurrentHashMap<>() : new HashMap<>();
         this.mapper = mapper;
-        cacheHits = 0;
-        cacheMisses = 0;
+        this.isThreadSafe = isThreadSafe;
+        this.loading = isThreadSafe ? new ConcurrentHashMap<>() : null;
+        this.lock = new Object();
+
+        this.maximumSize = Long.MAX_VALUE;
+        this.maximumWeight = Long.MAX_VALUE;
+        this.weigher = value -> 1;
+        this.expireAfterWriteNanos = 0;
+        this.totalWeight = 0;
+
+        cacheHits = new LongAdder();
+        cacheMisses = new LongAdder();
+        cacheEvictions = new LongAdder();
+    }
+
+    /**
+     * Limits the number of cached items. When the limit is exceeded, the least recently used items are evicted.
+     *
+     * @param maximumSize
+     * @return this cache
+     */
+    public CachedItems<K, V> setMaximumSize(long maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size must be non-negative: " + maximumSize);
+        }
+
+        this.maximumSize = maximumSize;
+        setBounded();
+        return this;
+    }
+
+    /**
+     * Limits the total weight of the cached items. When the limit is exceeded, the least recently used items are
+     * evicted.
+     *
+     * @param maximumWeight
+     * @param weigher
+     *            computes the weight of an item, must be non-negative
+     * @return this cache
+     */
+    public CachedItems<K, V> setMaximumWeight(long maximumWeight, ToLongFunction<? super V> weigher) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Maximum weight must be non-negative: " + maximumWeight);
+        }
+
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        setBounded();
+        return this;
+    }
+
+    /**
+     * Items are discarded after the given amount of time has passed since they were created.
+     *
+     * @param duration
+     * @param unit
+     * @return this cache
+     */
+    public CachedItems<K, V> setExpireAfterWrite(long duration, TimeUnit unit) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Duration must be positive: " + duration);
+        }
+
+        this.expireAfterWriteNanos = unit.toNanos(duration);
+        return this;
+    }
+
+    private boolean isBounded() {
+        return maximumSize != Long.MAX_VALUE || maximumWeight != Long.MAX_VALUE;
+    }
+
+    private void setBounded() {
+        synchronized (lock) {
+            // Access-ordered map, the eldest entry is the least recently used
+            var boundedCache = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true);
+            boundedCache.putAll(cache);
+            cache = boundedCache;
+
+            totalWeight = 0;
+            for (var entry : cache.values()) {
+                totalWeight += entry.weight;
+            }
+
+            evict();
+        }
     }
 
     public V get(K key) {
         // Check if map contains item
-        V object = cache.get(key);
+        V object = getIfPresent(key);
+
+        if (object != null) {
+            cacheHits.increment();
+            return object;
+        }
 
         // If object is not in map, create and store it
-        if (object == null) {
-            cacheMisses++;
+        if (!isThreadSafe) {
+            cacheMisses.increment();
             object = mapper.apply(key);
-            cache.put(key, object);
-        } else {
-            cacheHits++;
+            put(key, object);
+            return object;
         }
 
-        return object;
+        return load(key);
+    }
+
+    private V load(K key) {
+        var loadingKey = new Loading<V>(new FutureTask<>(() -> mapper.apply(key)));
+        var inFlight = loading.putIfAbsent(key, loadingKey);
+
+        if (inFlight != null) {
+            // Recursive call while loading this key, waiting would deadlock
+            if (inFlight.owner == Thread.currentThread()) {
+                cacheMisses.increment();
+                return mapper.apply(key);
+            }
+
+            // Mapper is only called once, count it as a hit
+            cacheHits.increment();
+            return await(inFlight.task);
+        }
+
+        try {
+            // Another thread might have stored the item after the first check
+            V object = getIfPresent(key);
+            if (object != null) {
+                cacheHits.increment();
+                return object;
+            }
+
+            cacheMisses.increment();
+            loadingKey.task.run();
+            object = await(loadingKey.task);
+            put(key, object);
+            return object;
+        } finally {
+            loading.remove(key, loadingKey);
+        }
+    }
+
+    private static <V> V await(FutureTask<V> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for cached item", e);
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new RuntimeException("Could not build cached item", cause);
+        }
+    }
+
+    /**
+     *
+     * @param key
+     * @return the cached item, or null if it is not cached. Does not call the mapper, nor count as a hit or miss
+     */
+    public V getIfPresent(K key) {
+        if (!isBounded()) {
+            var entry = cache.get(key);
+
+            if (entry == null) {
+                return null;
+            }
+
+            if (isExpired(entry)) {
+                cache.remove(key, entry);
+                return null;
+            }
+
+            return entry.value;
+        }
+
+        synchronized (lock) {
+            var entry = cache.get(key);
+
+            if (entry == null) {
+                return null;
+            }
+
+            if (isExpired(entry)) {
+                cache.remove(key);
+                totalWeight -= entry.weight;
+                return null;
+            }
+
+            return entry.value;
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return expireAfterWriteNanos > 0 && System.nanoTime() - entry.expiresAt >= 0;
+    }
+
+    private void put(K key, V value) {
+        // Null values are not cached
+        if (value == null) {
+            return;
+        }
+
+        var expiresAt = expireAfterWriteNanos > 0 ? System.nanoTime() + expireAfterWriteNanos : 0;
+
+        if (!isBounded()) {
+            cache.put(key, new Entry<>(value, 1, expiresAt));
+            return;
+        }
+
+        var weight = weigher.applyAsLong(value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight for item '" + key + "': " + weight);
+        }
+
+        synchronized (lock) {
+            var previous = cache.put(key, new Entry<>(value, weight, expiresAt));
+            if (previous != null) {
+                totalWeight -= previous.weight;
+            }
+            totalWeight += weight;
+
+            evict();
+        }
+    }
+
+    // Must hold the lock
+    private void evict() {
+        Iterator<Entry<V>> iterator = cache.values().iterator();
+
+        while ((cache.size() > maximumSize || totalWeight > maximumWeight) && iterator.hasNext()) {
+            var eldest = iterator.next();
+            iterator.remove();
+            totalWeight -= eldest.weight;
+            cacheEvictions.increment();
+        }
     }
 
     public long getCacheHits() {
-        return cacheHits;
+        return cacheHits.sum();
     }
 
     public long getCacheMisses() {
-        return cacheMisses;
+        return cacheMisses.sum();
+    }
+
+    public long getCacheEvictions() {
+        return cacheEvictions.sum();
     }
 
     public long getCacheTotalCalls() {
-        return cacheMisses + cacheHits;
+        return getCacheMisses() + getCacheHits();
     }
 
     public long getCacheSize() {
-        return cache.size();
+        if (!isBounded()) {
+            return cache.size();
+        }
+
+        synchronized (lock) {
+            return cache.size();
+        }
     }
 
     public double getHitRatio() {
-        return (double) cacheHits / (double) (cacheHits + cacheMisses);
+        long hits = getCacheHits();
+        long misses = getCacheMisses();
+        return (double) hits / (double) (hits + misses);
     }
 
     public String getAnalytics() {
@@ -89,6 +382,7 @@ public class CachedItems<K, V> {
         builder.append("Cache size: ").append(getCacheSize()).append("\n");
         builder.append("Total calls: ").append(getCacheTotalCalls()).append("\n");
         builder.append("Hit ratio: ").append(SpecsStrings.toPercentage(getHitRatio())).append("\n");
+        builder.append("Evictions: ").append(getCacheEvictions()).append("\n");
 
         return builder.toString();
     }
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.utilities;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Source of lines for a {@link LineStream}.
+ */
+interface LineSource extends Closeable {
+
+    /**
+     * 
+     * @return the next line, without the line terminator, or null if the end of the source has been reached
+     * @throws IOException
+     */
+    CharSequence readLine() throws IOException;
+
+    static LineSource newInstance(BufferedReader reader) {
+        return new LineSource() {
+
+            @Override
+            public CharSequence readLine() throws IOException {
+                return reader.readLine();
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
+    static LineSource newInstance(Iterator<? extends CharSequence> lines) {
+        return new LineSource() {
+
+            @Override
+            public CharSequence readLine() {
+                return lines.hasNext() ? lines.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -42,9 +42,9 @@ public class LineStream implements AutoCloseable {
     /**
      * INSTANCE VARIABLES
      */
-    private final BufferedReader reader;
+    private final LineSource source;
     private int currentLineIndex;
-    private String nextLine;
+    private CharSequence nextLine;
     private final Optional<String> name;
 
     private boolean fileEnded;
@@ -63,10 +63,10 @@ public class LineStream implements AutoCloseable {
     /**
      * Private constructor for static creator method.
      * 
-     * @param reader
+     * @param source
      */
-    private LineStream(BufferedReader reader, Optional<String> filename) {
-        this.reader = reader;
+    private LineStream(LineSource source, Optional<String> filename) {
+        this.source = source;
         name = filename;
 
         currentLineIndex = 0;
@@ -145,6 +145,36 @@ public class LineStream implements AutoCloseable {
         }
     }
 
+    /**
+     * Creates a LineStream that memory-maps the given UTF-8 file in chunks, instead of decoding it through a Reader.
+     * 
+     * <p>
+     * Lines are found directly on the bytes of the file. Lines with only ASCII characters are kept as views over the
+     * mapped file, and a String is only created when one is requested (e.g., {@link #nextLine()}). Use
+     * {@link #nextLineSequence()} to avoid creating Strings altogether.
+     * 
+     * @param file
+     * @return a new LineStream backed by the given file. If the object could not be created, throws a RuntimeException.
+     */
+    public static LineStream newMapped(File file) {
+        return newMapped(file, MappedLineSource.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * 
+     * @param file
+     * @param chunkSize
+     *            size in bytes of each mapped region of the file
+     * @return a new LineStream backed by the given file. If the object could not be created, throws a RuntimeException.
+     */
+    public static LineStream newMapped(File file, int chunkSize) {
+        try {
+            return new LineStream(new MappedLineSource(file, chunkSize), Optional.of(file.getName()));
+        } catch (final IOException e) {
+            throw new RuntimeException("Problem while using LineStream backed by a mapped file", e);
+        }
+    }
+
     public static LineStream newInstance(String string) {
         try {
             return newInstance(new ByteArrayInputStream(string.getBytes("UTF-8")), null);
@@ -165,6 +195,16 @@ public class LineStream implements AutoCloseable {
         */
     }
 
+    /**
+     * 
+     * @param lines
+     *            lines without line terminators
+     * @return a new LineStream backed by the given lines, which are not copied
+     */
+    public static LineStream newInstance(List<? extends CharSequence> lines) {
+        return new LineStream(LineSource.newInstance(lines.iterator()), Optional.empty());
+    }
+
     public static LineStream newInstance(InputStream inputStream, String name) {
         final InputStreamReader streamReader = new InputStreamReader(inputStream);
         return newInstance(streamReader, Optional.ofNullable(name));
@@ -179,7 +219,7 @@ public class LineStream implements AutoCloseable {
      */
     public static LineStream newInstance(Reader reader, Optional<String> name) {
         final BufferedReader newReader = new BufferedReader(reader);
-        return new LineStream(newReader, name);
+        return new LineStream(LineSource.newInstance(newReader), name);
 
     }
 
@@ -192,8 +232,24 @@ public class LineStream implements AutoCloseable {
     }
 
     public String peekNextLine() {
-        return nextLine;
+        if (nextLine == null) {
+            return null;
+        }
+
+        // Keep the String, in case the line is peeked again
+        final String line = nextLine.toString();
+        nextLine = line;
+
+        return line;
+    }
 
+    /**
+     * 
+     * @return the next line in the file, without creating a String if the stream supports it, or null if the end of
+     *         the stream has been reached.
+     */
+    public CharSequence peekNextLineSequence() {
+        return nextLine;
     }
 
     /**
@@ -202,13 +258,24 @@ public class LineStream implements AutoCloseable {
      * @return the next line in the file, or null if the end of the stream has been reached.
      */
     public String nextLine() {
+        final CharSequence currentLine = nextLineSequence();
+        return currentLine == null ? null : currentLine.toString();
+    }
+
+    /**
+     * Similar to {@link #nextLine()}, but does not create a String if the stream supports it (e.g., streams created
+     * with {@link #newMapped(File)}).
+     * 
+     * @return the next line in the file, or null if the end of the stream has been reached.
+     */
+    public CharSequence nextLineSequence() {
         if (nextLine != null) {
             currentLineIndex++;
         } else {
             return null;
         }
 
-        final String currentLine = nextLine;
+        final CharSequence currentLine = nextLine;
         nextLine = nextLineHelper();
 
         // Log to file
@@ -232,7 +299,7 @@ public class LineStream implements AutoCloseable {
         return nextLine != null;
     }
 
-    private String nextLineHelper() {
+    private CharSequence nextLineHelper() {
         // If file already ended, return null
         if (fileEnded) {
             return null;
@@ -240,12 +307,12 @@ public class LineStream implements AutoCloseable {
 
         try {
             // Read next line
-            final String line = reader.readLine();
+            final CharSequence line = source.readLine();
 
             // If we got to the end of the stream mark it, and close reader.
             if (line == null) {
                 fileEnded = true;
-                reader.close();
+                source.close();
             }
 
             return line;
@@ -343,7 +410,7 @@ public class LineStream implements AutoCloseable {
     @Override
     public void close() {
         try {
-            reader.close();
+            source.close();
             if (dumpFile != null) {
                 dumpFile.close();
             }
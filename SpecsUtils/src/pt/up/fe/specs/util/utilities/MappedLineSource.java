@@ -0,0 +1,139 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads UTF-8 lines from a file that is memory-mapped in chunks.
+ * 
+ * <p>
+ * Line boundaries are found on the raw bytes, and follow the same rules as {@link java.io.BufferedReader#readLine()}
+ * ('\n', '\r' or "\r\n"). Lines that only contain ASCII characters are returned as views over the mapping, other lines
+ * are decoded to a String.
+ */
+class MappedLineSource implements LineSource {
+
+    /**
+     * Default size of each mapped region (64MB).
+     */
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int chunkSize;
+
+    // Current mapped region
+    private MappedByteBuffer chunk;
+    private long chunkStart;
+
+    // Position in the file of the next line
+    private long position;
+
+    public MappedLineSource(File file, int chunkSize) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.size = channel.size();
+        this.chunkSize = chunkSize;
+
+        this.chunk = null;
+        this.chunkStart = 0;
+        this.position = 0;
+    }
+
+    @Override
+    public CharSequence readLine() throws IOException {
+        if (position >= size) {
+            return null;
+        }
+
+        if (chunk == null || position >= chunkStart + chunk.limit()) {
+            map(position, chunkSize);
+        }
+
+        while (true) {
+            int start = (int) (position - chunkStart);
+            int limit = chunk.limit();
+            boolean isAscii = true;
+
+            for (int i = start; i < limit; i++) {
+                byte currentByte = chunk.get(i);
+
+                if (currentByte == '\n') {
+                    return newLine(start, i, isAscii, 1);
+                }
+
+                if (currentByte == '\r') {
+                    // Need the next byte to decide if it is "\r\n"
+                    if (i + 1 < limit) {
+                        return newLine(start, i, isAscii, chunk.get(i + 1) == '\n' ? 2 : 1);
+                    }
+
+                    if (chunkStart + limit >= size) {
+                        return newLine(start, i, isAscii, 1);
+                    }
+
+                    break;
+                }
+
+                if (currentByte < 0) {
+                    isAscii = false;
+                }
+            }
+
+            // Last line of the file, without terminator
+            if (chunkStart + limit >= size) {
+                return newLine(start, limit, isAscii, 0);
+            }
+
+            // Line crosses the end of the mapped region, map again starting at the line. If the line alone does not
+            // fit in a chunk, increase the mapped region
+            int lineLength = limit - start;
+            long window = lineLength < chunkSize ? chunkSize : 2L * lineLength;
+            if (window > Integer.MAX_VALUE) {
+                throw new IOException("Line starting at byte " + position + " is too long");
+            }
+
+            map(position, (int) window);
+        }
+    }
+
+    private CharSequence newLine(int start, int end, boolean isAscii, int terminatorLength) {
+        position = chunkStart + end + terminatorLength;
+
+        if (isAscii) {
+            return new AsciiSequence(chunk, start, end - start);
+        }
+
+        var bytes = new byte[end - start];
+        chunk.duplicate().position(start).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void map(long start, int window) throws IOException {
+        chunkStart = start;
+        chunk = channel.map(MapMode.READ_ONLY, start, Math.min(window, size - start));
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Mapped regions remain valid after the channel is closed, so views that were already returned keep working
+        channel.close();
+    }
+}
@@ -16,6 +16,15 @@ package pt.up.fe.specs.util;
 import static org.junit.Assert.assertEquals;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 
@@ -167,4 +176,98 @@ public class IoUtilsTest {
         assertEquals("benchmarks/NAS", query.get("folder"));
         assertEquals("stuff", query.get("another"));
     }
+
+    @Test
+    public void testReadWriteAppend() throws IOException {
+        File file = SpecsIo.getTempFile();
+        String contents = "line 1\nlinha 2 \u00e7\u00e3o\n";
+
+        try {
+            SpecsIo.write(file, contents);
+            SpecsIo.append(file, "appended");
+            assertEquals(contents + "appended", SpecsIo.read(file));
+
+            assertEquals(contents, SpecsIo.read(SpecsIo.toInputStream(contents)));
+        } finally {
+            SpecsIo.delete(file);
+        }
+    }
+
+    @Test
+    public void testGetFilesRecursive() throws IOException {
+        File folder = SpecsIo.newRandomFolder();
+
+        try {
+            SpecsIo.write(new File(folder, "a.c"), "");
+            SpecsIo.write(new File(folder, "b.txt"), "");
+            SpecsIo.write(new File(folder, "sub/c.C"), "");
+            SpecsIo.write(new File(folder, "sub/deep/d.c"), "");
+            SpecsIo.write(new File(folder, "ignored/e.c"), "");
+            Files.createSymbolicLink(new File(folder, "link.c").toPath(), new File(folder, "a.c").toPath());
+
+            Predicate<File> cutoff = path -> path.getName().equals("ignored");
+
+            List<String> expected = Arrays.asList("a.c", "link.c", "sub/c.C", "sub/deep/d.c");
+            assertEquals(expected, relativePaths(folder,
+                    SpecsIo.getFilesRecursive(folder, Arrays.asList("c"), true, cutoff)));
+
+            assertEquals(Arrays.asList("a.c", "sub/c.C", "sub/deep/d.c"), relativePaths(folder,
+                    SpecsIo.getFilesRecursive(folder, Arrays.asList("c"), false, cutoff)));
+
+            try (Stream<Path> files = SpecsIo.getFilesRecursiveStream(folder, Arrays.asList("c"), true, cutoff)) {
+                assertEquals(expected, relativePaths(folder, files.map(Path::toFile).collect(Collectors.toList())));
+            }
+
+            // Single file and missing path
+            assertEquals(1, SpecsIo.getFilesRecursive(new File(folder, "a.c"), Arrays.asList("C")).size());
+            assertEquals(0, SpecsIo.getFilesRecursive(new File(folder, "missing")).size());
+        } finally {
+            SpecsIo.deleteFolder(folder);
+        }
+    }
+
+    @Test
+    public void testGetFilesRecursiveOrder() throws IOException {
+        File folder = SpecsIo.newRandomFolder();
+
+        try {
+            for (int i = 0; i < 5; i++) {
+                SpecsIo.write(new File(folder, "f" + i + ".c"), "");
+                for (int j = 0; j < 5; j++) {
+                    SpecsIo.write(new File(folder, "d" + i + "/f" + j + ".c"), "");
+                    SpecsIo.write(new File(folder, "d" + i + "/d" + j + "/f.c"), "");
+                }
+            }
+
+            var expected = new ArrayList<File>();
+            walk(folder, expected);
+
+            // Not sorted, must be in the same order as the sequential walk
+            assertEquals(expected, SpecsIo.getFilesRecursive(folder, Arrays.asList("c"), false, path -> false));
+        } finally {
+            SpecsIo.deleteFolder(folder);
+        }
+    }
+
+    /**
+     * Sequential depth-first walk, in the order the folders are listed.
+     */
+    private static void walk(File folder, List<File> files) throws IOException {
+        try (var children = Files.newDirectoryStream(folder.toPath())) {
+            for (var child : children) {
+                if (Files.isDirectory(child)) {
+                    walk(child.toFile(), files);
+                } else {
+                    files.add(child.toFile());
+                }
+            }
+        }
+    }
+
+    private static List<String> relativePaths(File folder, List<File> files) {
+        return files.stream()
+                .map(file -> folder.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/'))
+                .sorted()
+                .collect(Collectors.toList());
+    }
 }
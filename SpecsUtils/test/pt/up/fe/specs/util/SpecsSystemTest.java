@@ -15,8 +15,13 @@ package pt.up.fe.specs.util;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 
+import pt.up.fe.specs.util.system.ProcessMetrics;
+import pt.up.fe.specs.util.system.ProcessOutputAsString;
+
 public class SpecsSystemTest {
 
     public static final String STATIC_FIELD = "a_static_field";
@@ -30,6 +35,18 @@ public class SpecsSystemTest {
         return 20;
     }
 
+    public static String concat(String a, Integer b) {
+        return a + b;
+    }
+
+    public int add(Integer a, Integer b) {
+        return a + b;
+    }
+
+    public int sum(Integer... values) {
+        return Arrays.stream(values).mapToInt(Integer::intValue).sum();
+    }
+
     @Test
     public void testJavaVersion() {
         // Just ensure there is no exception thrown
@@ -48,4 +65,43 @@ public class SpecsSystemTest {
         assertEquals(20, SpecsSystem.invokeAsGetter(new SpecsSystemTest(), "number"));
     }
 
+    @Test
+    public void testInvoke() {
+        // Repeated calls use the cached invoker
+        for (int i = 0; i < 2; i++) {
+            // Static Method
+            assertEquals("a1", SpecsSystem.invoke(SpecsSystemTest.class, "concat", "a", 1));
+
+            // Instance Method
+            assertEquals(3, SpecsSystem.invoke(new SpecsSystemTest(), "add", 1, 2));
+
+            // Varargs are passed as an array
+            assertEquals(6, SpecsSystem.invoke(new SpecsSystemTest(), "sum", (Object) new Integer[] { 1, 2, 3 }));
+        }
+
+        // Missing methods
+        for (int i = 0; i < 2; i++) {
+            try {
+                SpecsSystem.invoke(new SpecsSystemTest(), "add", "1", "2");
+                fail("Expected exception");
+            } catch (RuntimeException e) {
+                assertTrue(e.getMessage().startsWith("Could not find method 'add'"));
+            }
+            assertNull(SpecsSystem.getMethod(SpecsSystemTest.class, "missing"));
+        }
+    }
+
+    @Test
+    public void testRunProcessMetrics() {
+        ProcessOutputAsString output = SpecsSystem.runProcess(Arrays.asList("echo", "hello"), true, false);
+
+        assertEquals(0, output.getReturnValue());
+        assertEquals("hello", output.getStdOut().strip());
+
+        ProcessMetrics metrics = output.getMetrics().get();
+        assertTrue(metrics.getStdOutBytes() > 0);
+        assertEquals(0, metrics.getStdErrBytes());
+        assertTrue(metrics.getWallNanos() >= metrics.getSpawnNanos());
+    }
+
 }
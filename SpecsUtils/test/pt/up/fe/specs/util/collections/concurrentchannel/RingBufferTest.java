@@ -0,0 +1,58 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.collections.concurrentchannel;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+
+import org.junit.Test;
+
+public class RingBufferTest {
+
+    private static void testCollectionMethods(BlockingQueue<Integer> queue) {
+        for (int i = 0; i < 6; i++) {
+            assertTrue(queue.offer(i));
+        }
+
+        // Wraps around the end of the buffer
+        assertEquals(Integer.valueOf(0), queue.poll());
+        assertEquals(Integer.valueOf(1), queue.poll());
+        assertTrue(queue.offer(6));
+        assertTrue(queue.offer(7));
+
+        assertArrayEquals(new Object[] { 2, 3, 4, 5, 6, 7 }, queue.toArray());
+        assertTrue(queue.contains(7));
+        assertFalse(queue.contains(1));
+        assertTrue(queue.containsAll(Arrays.asList(2, 5)));
+
+        try {
+            queue.iterator().remove();
+            fail("Expected exception");
+        } catch (UnsupportedOperationException | IllegalStateException e) {
+            // Snapshot iterators do not remove elements
+        }
+    }
+
+    @Test
+    public void testSpscCollectionMethods() {
+        testCollectionMethods(new SpscRingBuffer<>(8));
+    }
+
+    @Test
+    public void testMpscCollectionMethods() {
+        testCollectionMethods(new MpscRingBuffer<>(8));
+    }
+}
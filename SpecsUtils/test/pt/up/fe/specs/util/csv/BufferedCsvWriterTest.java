@@ -0,0 +1,146 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.csv;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import pt.up.fe.specs.util.SpecsIo;
+
+public class BufferedCsvWriterTest {
+
+    private File csvFile;
+
+    @Before
+    public void setUp() throws IOException {
+        csvFile = File.createTempFile("buffered_csv_writer", ".csv");
+    }
+
+    @After
+    public void tearDown() {
+        csvFile.delete();
+    }
+
+    @Test
+    public void testSameAsCsvWriter() {
+        var expected = new CsvWriter("name", "1", "2");
+        expected.setNewline("\n");
+        expected.addField(CsvField.AVERAGE, CsvField.STANDARD_DEVIATION_SAMPLE);
+
+        try (var writer = new BufferedCsvWriter(csvFile, Arrays.asList("name", "1", "2"))) {
+            writer.setNewline("\n");
+            writer.addField(CsvField.AVERAGE, CsvField.STANDARD_DEVIATION_SAMPLE);
+
+            for (int i = 0; i < 1000; i++) {
+                expected.addLine("line" + i, i, i * 2);
+                writer.addLine("line" + i, i, i * 2);
+            }
+
+            assertEquals(expected.buildCsv(), writer.buildCsv());
+        }
+
+        assertEquals(expected.buildCsv(), SpecsIo.read(csvFile));
+    }
+
+    @Test
+    public void testFlushOnSize() {
+        try (var writer = new BufferedCsvWriter(csvFile, Arrays.asList("a", "b"))) {
+            writer.setNewline("\n");
+            writer.setBufferSize(16);
+
+            writer.addLine("1", "2");
+            assertEquals("", SpecsIo.read(csvFile));
+
+            writer.addLine("3", "4");
+            assertEquals("sep=;\na;b\n1;2\n3;4\n", SpecsIo.read(csvFile));
+        }
+    }
+
+    @Test
+    public void testFlushOnTime() throws InterruptedException {
+        try (var writer = new BufferedCsvWriter(csvFile, Arrays.asList("a", "b"))) {
+            writer.setNewline("\n");
+            writer.setFlushInterval(1, TimeUnit.MILLISECONDS);
+
+            Thread.sleep(5);
+            writer.addLine("1", "2");
+            assertEquals("sep=;\na;b\n1;2\n", SpecsIo.read(csvFile));
+        }
+    }
+
+    @Test
+    public void testFlushWithoutNewLines() throws InterruptedException {
+        try (var writer = new BufferedCsvWriter(csvFile, Arrays.asList("a", "b"))) {
+            writer.setNewline("\n");
+            writer.setFlushInterval(20, TimeUnit.MILLISECONDS);
+
+            writer.addLine("1", "2");
+
+            // Written by the daemon thread, no more lines are added
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (SpecsIo.read(csvFile).isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals("sep=;\na;b\n1;2\n", SpecsIo.read(csvFile));
+        }
+    }
+
+    private static void writeWithoutClosing(File csvFile) {
+        var writer = new BufferedCsvWriter(csvFile, Arrays.asList("a", "b"));
+        writer.setNewline("\n");
+        writer.setFlushInterval(1, TimeUnit.HOURS);
+        writer.addLine("1", "2");
+    }
+
+    @Test
+    public void testNotClosed() throws InterruptedException {
+        writeWithoutClosing(csvFile);
+
+        // Lines are written when the writer is garbage collected
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (SpecsIo.read(csvFile).isEmpty() && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertEquals("sep=;\na;b\n1;2\n", SpecsIo.read(csvFile));
+    }
+
+    @Test
+    public void testClose() {
+        var writer = new BufferedCsvWriter(csvFile, Arrays.asList("a", "b"));
+        writer.setNewline("\n");
+        writer.addLine("1", "2");
+        writer.close();
+
+        assertEquals("sep=;\na;b\n1;2\n", SpecsIo.read(csvFile));
+        assertEquals("sep=;\na;b\n1;2\n", writer.buildCsv());
+
+        try {
+            writer.addLine("3", "4");
+            fail("Expected exception");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("closed"));
+        }
+    }
+}
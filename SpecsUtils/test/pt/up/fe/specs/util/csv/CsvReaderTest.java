@@ -0,0 +1,165 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.csv;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import pt.up.fe.specs.util.SpecsIo;
+
+public class CsvReaderTest {
+
+    @Test
+    public void testSeparatorAndHeader() {
+        try (var reader = new CsvReader("sep=,\nname,value\na,1\nb,2\n")) {
+            assertEquals(",", reader.getDelimiter());
+            assertEquals(Arrays.asList("name", "value"), reader.getHeader());
+            assertEquals(Arrays.asList("a", "1"), reader.next());
+            assertTrue(reader.hasNext());
+            assertEquals(Arrays.asList("b", "2"), reader.next());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    public void testQuoting() {
+        var csv = "name;text\r\n"
+                + "\"a;b\";\"line1\r\nline2\"\r\n"
+                + "\"say \"\"hi\"\"\";;\r\n"
+                + "\"\";\"x\"y\r\n";
+
+        try (var reader = new CsvReader(csv)) {
+            assertEquals(Arrays.asList("a;b", "line1\r\nline2"), reader.next());
+            assertEquals(Arrays.asList("say \"hi\"", "", ""), reader.next());
+            assertEquals(Arrays.asList("", "xy"), reader.next());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    public void testTrailingEmptyFields() {
+        try (var reader = new CsvReader("a;b;c\n1;;\n;;\n")) {
+            assertEquals(Arrays.asList("1", "", ""), reader.next());
+            assertEquals(Arrays.asList("", "", ""), reader.next());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testUnterminatedQuote() {
+        try (var reader = new CsvReader("a\n\"b\n")) {
+            reader.next();
+        }
+    }
+
+    @Test
+    public void testRow() {
+        try (var reader = new CsvReader("i;l;d\n -7 ;12345678901234;2.5\n")) {
+            var row = reader.nextRow();
+
+            assertEquals(3, row.size());
+            assertEquals(-7, row.getInt(0));
+            assertEquals(12345678901234L, row.getLong(1));
+            assertEquals(2.5, row.getDouble(2), 0.0);
+            assertNull(reader.nextRow());
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testRowNotNumber() {
+        try (var reader = new CsvReader("i\n1a\n")) {
+            reader.nextRow().getInt(0);
+        }
+    }
+
+    @Test
+    public void testColumns() {
+        try (var reader = new CsvReader("name;i;l;d;ignored\na;1;2;3.5;x\nb;4;5;6.5;y\n")) {
+            var columns = reader.readColumns(CsvColumnType.STRING, CsvColumnType.INT, CsvColumnType.LONG,
+                    CsvColumnType.DOUBLE);
+
+            assertEquals(2, columns.getRowCount());
+            assertArrayEquals(new String[] { "a", "b" }, columns.getStrings(0));
+            assertArrayEquals(new int[] { 1, 4 }, columns.getInts(1));
+            assertArrayEquals(new long[] { 2, 5 }, columns.getLongs(2));
+            assertArrayEquals(new double[] { 3.5, 6.5 }, columns.getDoubles(3), 0.0);
+        }
+    }
+
+    @Test
+    public void testColumnsAfterTrim() {
+        CsvColumns columns;
+        try (var reader = new CsvReader("i\n")) {
+            columns = reader.readColumns(CsvColumnType.INT);
+        }
+        assertEquals(0, columns.getRowCount());
+
+        try (var reader = new CsvReader("i\n1\n2\n")) {
+            columns.add(reader.nextRow());
+            columns.add(reader.nextRow());
+        }
+
+        assertEquals(2, columns.getRowCount());
+        assertEquals(1, columns.getInts(0)[0]);
+        assertEquals(2, columns.getInts(0)[1]);
+    }
+
+    @Test
+    public void testParallel() throws IOException {
+        var csv = new StringBuilder("sep=,\nid,text\n");
+        for (int i = 0; i < 10_000; i++) {
+            csv.append(i).append(",");
+            // Quoted newlines must not be used as boundaries
+            csv.append(i % 3 == 0 ? "\"a\nb\"" : "c").append("\n");
+        }
+
+        var file = File.createTempFile("csv_reader", ".csv");
+        try {
+            SpecsIo.write(file, csv.toString());
+
+            CsvColumns expected;
+            try (var reader = new CsvReader(file)) {
+                expected = reader.readColumns(CsvColumnType.INT, CsvColumnType.STRING);
+            }
+
+            for (int parallelism : new int[] { 1, 3, 16 }) {
+                var columns = CsvReader.readColumns(file, parallelism, CsvColumnType.INT, CsvColumnType.STRING);
+
+                assertEquals(Arrays.asList("id", "text"), columns.getHeader());
+                assertArrayEquals(expected.getInts(0), columns.getInts(0));
+                assertArrayEquals(expected.getStrings(1), columns.getStrings(1));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testSplit() {
+        var data = "1,\"a\nb\"\n2,c\n3,d\n".toCharArray();
+        var boundaries = CsvParser.split(data, 0, data.length, 3);
+
+        assertEquals(0, boundaries[0]);
+        assertEquals(data.length, boundaries[boundaries.length - 1]);
+        for (int i = 1; i < boundaries.length - 1; i++) {
+            assertEquals('\n', data[boundaries[i] - 1]);
+            assertNotEquals(4, boundaries[i]);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.jobs;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import pt.up.fe.specs.util.jobs.JobResult.Status;
+
+public class JobSchedulerTest {
+
+    @Test
+    public void testAffinity() {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String name = (i % 2 == 0 ? "even" : "odd") + i;
+            jobs.add(Job.singleJavaCall(() -> order.add(name), name));
+        }
+
+        JobSummary summary = new JobScheduler(4)
+                .setShowProgress(false)
+                .setAffinity(job -> job.getDescription().startsWith("even"))
+                .run(jobs);
+
+        assertTrue(summary.isSuccess());
+        assertEquals(20, summary.getResults().size());
+
+        // Jobs with the same affinity keep their relative order
+        List<String> even = new ArrayList<>();
+        synchronized (order) {
+            order.stream().filter(name -> name.startsWith("even")).forEach(even::add);
+        }
+        assertEquals(Arrays.asList("even0", "even2", "even4", "even6", "even8", "even10", "even12", "even14",
+                "even16", "even18"), even);
+    }
+
+    @Test
+    public void testTimeoutAndFailure() {
+        Job slow = Job.singleJavaCall(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }, "slow");
+        Job failing = Job.singleJavaCall(() -> {
+            throw new RuntimeException("expected failure");
+        }, "failing");
+        Job ok = Job.singleJavaCall(() -> {
+        }, "ok");
+
+        JobSummary summary = new JobScheduler(2)
+                .setShowProgress(false)
+                .setTimeout(1, TimeUnit.SECONDS)
+                .run(Arrays.asList(slow, failing, ok));
+
+        assertEquals(Status.TIMED_OUT, summary.getResults().get(0).getStatus());
+        assertEquals(Status.FAILED, summary.getResults().get(1).getStatus());
+        assertEquals(Status.COMPLETED, summary.getResults().get(2).getStatus());
+        assertFalse(summary.isSuccess());
+    }
+}
@@ -0,0 +1,288 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.logging;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.Test;
+
+import pt.up.fe.specs.util.SpecsLogs;
+import pt.up.fe.specs.util.logging.AsyncHandler.FullBufferPolicy;
+
+public class AsyncHandlerTest {
+
+    @Test
+    public void testManyProducers() throws InterruptedException {
+        int numThreads = 4;
+        int recordsPerThread = 10_000;
+
+        var delegate = new StringHandler();
+        var handler = new AsyncHandler(delegate, 64);
+
+        var threads = new ArrayList<Thread>();
+        for (int i = 0; i < numThreads; i++) {
+            var thread = new Thread(() -> {
+                for (int j = 0; j < recordsPerThread; j++) {
+                    handler.publish(new LogRecord(Level.INFO, "x"));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        handler.flush();
+        assertEquals(numThreads * recordsPerThread, delegate.getString().length());
+        assertEquals(0, handler.getDroppedRecords());
+
+        handler.close();
+    }
+
+    @Test
+    public void testDrop() throws InterruptedException {
+        var blocked = new CountDownLatch(1);
+        var published = new StringBuilder();
+
+        var delegate = new Handler() {
+
+            @Override
+            public void publish(LogRecord record) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                published.append(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        var handler = new AsyncHandler(delegate, 4)
+                .setFullBufferPolicy(FullBufferPolicy.DROP)
+                .setFlushInterval(10, TimeUnit.MILLISECONDS);
+
+        // Writer takes the first record and blocks, the buffer holds the next 4
+        for (int i = 0; i < 20; i++) {
+            handler.publish(new LogRecord(Level.INFO, "x"));
+            Thread.sleep(1);
+        }
+
+        assertTrue(handler.getDroppedRecords() >= 10);
+
+        blocked.countDown();
+        handler.close();
+        assertEquals(20 - handler.getDroppedRecords(), published.length());
+    }
+
+    @Test
+    public void testIdleWriter() throws InterruptedException {
+        var delegate = new StringHandler();
+        var handler = new AsyncHandler(delegate).setFlushInterval(1, TimeUnit.SECONDS);
+
+        Thread writer = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("AsyncHandler-StringHandler"))
+                .findFirst()
+                .get();
+
+        // Writer is parked while there are no records
+        Thread.sleep(100);
+        var threadBean = ManagementFactory.getThreadMXBean();
+        long cpuBefore = threadBean.getThreadCpuTime(writer.getId());
+        Thread.sleep(200);
+        long cpuNanos = threadBean.getThreadCpuTime(writer.getId()) - cpuBefore;
+        assertTrue("Idle writer used " + cpuNanos + "ns of CPU", cpuNanos < TimeUnit.MILLISECONDS.toNanos(20));
+
+        // A record wakes the writer before the flush interval ends
+        handler.publish(new LogRecord(Level.INFO, "x"));
+        long start = System.nanoTime();
+        while (delegate.getString().isEmpty() && System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500)) {
+            Thread.sleep(1);
+        }
+        assertEquals("x", delegate.getString());
+
+        handler.close();
+    }
+
+    @Test
+    public void testInterruptedWhileBlocked() throws InterruptedException {
+        var blocked = new CountDownLatch(1);
+
+        var delegate = new Handler() {
+
+            @Override
+            public void publish(LogRecord record) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        var handler = new AsyncHandler(delegate, 1);
+        var errors = new ArrayList<String>();
+        handler.setErrorManager(new ErrorManager() {
+            @Override
+            public synchronized void error(String msg, Exception ex, int code) {
+                errors.add(msg);
+            }
+        });
+
+        // Writer gets blocked in the delegate, and the next records fill the buffer (capacity is at least 2)
+        handler.publish(new LogRecord(Level.INFO, "x"));
+        Thread.sleep(50);
+        handler.publish(new LogRecord(Level.INFO, "x"));
+        handler.publish(new LogRecord(Level.INFO, "x"));
+
+        var interrupted = new boolean[1];
+        var thread = new Thread(() -> {
+            handler.publish(new LogRecord(Level.INFO, "blocked"));
+            interrupted[0] = Thread.currentThread().isInterrupted();
+        });
+        thread.start();
+        Thread.sleep(50);
+        thread.interrupt();
+        thread.join();
+
+        assertTrue(interrupted[0]);
+        assertEquals(1, handler.getDroppedRecords());
+        assertTrue(errors.get(0).startsWith("Interrupted"));
+
+        blocked.countDown();
+        handler.close();
+    }
+
+    @Test
+    public void testCloseWhileBlocked() throws InterruptedException {
+        var blocked = new CountDownLatch(1);
+
+        var delegate = new Handler() {
+
+            @Override
+            public void publish(LogRecord record) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        var handler = new AsyncHandler(delegate, 2);
+
+        // Writer gets blocked in the delegate, and the next records fill the buffer
+        handler.publish(new LogRecord(Level.INFO, "x"));
+        Thread.sleep(50);
+        handler.publish(new LogRecord(Level.INFO, "x"));
+        handler.publish(new LogRecord(Level.INFO, "x"));
+
+        var publisher = new Thread(() -> handler.publish(new LogRecord(Level.INFO, "blocked")));
+        publisher.start();
+        Thread.sleep(50);
+
+        var closer = new Thread(handler::close);
+        closer.start();
+
+        // Publisher gives up once the handler is closed, while the buffer is still full
+        publisher.join(1000);
+        assertFalse(publisher.isAlive());
+        assertEquals(1, handler.getDroppedRecords());
+
+        blocked.countDown();
+        closer.join(5000);
+        assertFalse(closer.isAlive());
+    }
+
+    @Test
+    public void testReplacedHandlerIsClosed() {
+        var published = new StringBuilder();
+        var closed = new boolean[1];
+
+        var delegate = new Handler() {
+
+            @Override
+            public void publish(LogRecord record) {
+                published.append(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        var previousHandlers = SpecsLogs.getRootLogger().getHandlers();
+        try {
+            var handler = new AsyncHandler(delegate).setFlushInterval(1, TimeUnit.SECONDS);
+            SpecsLogs.setRootHandlers(new Handler[] { handler });
+            handler.publish(new LogRecord(Level.INFO, "x"));
+
+            // Removing the handler writes the pending record and closes the delegate
+            SpecsLogs.setRootHandlers(previousHandlers);
+            assertEquals("x", published.toString());
+            assertTrue(closed[0]);
+        } finally {
+            SpecsLogs.setRootHandlers(previousHandlers);
+        }
+    }
+
+    @Test
+    public void testTagLoggerCache() {
+        var logger = new StringLogger("async.test");
+
+        assertSame(logger.getLogger("tag"), new StringLogger("async.test").getLogger("tag"));
+        assertSame(logger.getLogger(null), logger.getLogger(null));
+        assertEquals("async.test.tag", logger.getLogger("tag").getName());
+        assertEquals("async.test.$root", logger.getLogger(null).getName());
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.logging;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpecsLoggingTest {
+
+    @Before
+    public void setUp() {
+        SpecsLogging.resetCallSites();
+    }
+
+    @After
+    public void tearDown() {
+        SpecsLogging.setStackTraceDepth(SpecsLogging.DEFAULT_STACK_TRACE_DEPTH);
+        SpecsLogging.setStackTraceRepeatLimit(SpecsLogging.DEFAULT_STACK_TRACE_REPEAT_LIMIT);
+        SpecsLogging.resetCallSites();
+    }
+
+    @Test
+    public void testSource() {
+        var suffix = SpecsLogging.getLogSuffix(LogSourceInfo.SOURCE, null);
+
+        assertTrue(suffix, suffix.startsWith(" -> " + SpecsLoggingTest.class.getName() + ".testSource("));
+    }
+
+    @Test
+    public void testCallSite() {
+        var callSite = SpecsLogging.getLogCallSite().get();
+
+        assertEquals(SpecsLoggingTest.class.getName(), callSite.getClassName());
+        assertEquals("testCallSite", callSite.getMethodName());
+    }
+
+    @Test
+    public void testRepeatLimit() {
+        SpecsLogging.setStackTraceRepeatLimit(2);
+
+        var suffixes = new String[4];
+        for (int i = 0; i < suffixes.length; i++) {
+            suffixes[i] = SpecsLogging.getLogSuffix(LogSourceInfo.STACK_TRACE, null);
+        }
+
+        assertTrue(suffixes[0].contains("Stack Trace:"));
+        assertTrue(suffixes[1].contains("Stack Trace:"));
+        assertFalse(suffixes[2].contains("Stack Trace:"));
+        assertTrue(suffixes[2], suffixes[2].contains(".testRepeatLimit("));
+        assertTrue(suffixes[3], suffixes[3].endsWith("(stack trace omitted, occurrence 4)"));
+
+        // A different call site still shows the stack trace
+        assertTrue(SpecsLogging.getLogSuffix(LogSourceInfo.STACK_TRACE, null).contains("Stack Trace:"));
+    }
+
+    @Test
+    public void testDepth() {
+        SpecsLogging.setStackTraceDepth(2);
+
+        var lines = SpecsLogging.getLogSuffix(LogSourceInfo.STACK_TRACE, null).trim().split("\n");
+
+        // Header, separator, two frames, ellipsis and separator
+        assertEquals(6, lines.length);
+        assertTrue(lines[2], lines[2].contains(".testDepth("));
+        assertEquals("...", lines[4]);
+    }
+
+    @Test
+    public void testGivenStackTrace() {
+        SpecsLogging.setStackTraceDepth(1);
+
+        var stackTrace = new Throwable().getStackTrace();
+        var first = SpecsLogging.getLogSuffix(LogSourceInfo.STACK_TRACE, stackTrace);
+        var second = SpecsLogging.getLogSuffix(LogSourceInfo.STACK_TRACE, stackTrace);
+
+        // Given stack traces are always printed, but bounded
+        assertEquals(first, second);
+        assertTrue(first.contains(".testGivenStackTrace("));
+        assertTrue(first.contains("\n...\n"));
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.threadstream;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ProducerEngineTest {
+
+    private static final int NUM_TOKENS = 10_000;
+
+    private static class CounterProducer implements ObjectProducer<Integer> {
+
+        private static final Integer POISON = Integer.valueOf(-1);
+
+        private int next = 0;
+
+        public Integer nextToken() {
+            return next < NUM_TOKENS ? next++ : null;
+        }
+
+        @Override
+        public Integer getPoison() {
+            return POISON;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static Long sumInOrder(ObjectStream<Integer> stream) {
+        long sum = 0;
+        int expected = 0;
+        Integer token;
+        while ((token = stream.next()) != null) {
+            assertEquals(expected++, token.intValue());
+            sum += token;
+        }
+
+        return sum;
+    }
+
+    private static void testEngine(ProducerEngine<Integer, CounterProducer> engine) {
+        engine.subscribe(ProducerEngineTest::sumInOrder);
+        engine.subscribe(ProducerEngineTest::sumInOrder);
+        engine.launch();
+
+        long expected = (long) NUM_TOKENS * (NUM_TOKENS - 1) / 2;
+        for (var consumer : engine.getConsumers()) {
+            assertEquals(expected, consumer.getConsumeResult());
+        }
+    }
+
+    @Test
+    public void testDefault() {
+        testEngine(new ProducerEngine<>(new CounterProducer(), CounterProducer::nextToken));
+    }
+
+    @Test
+    public void testUnbatched() {
+        testEngine(new ProducerEngine<>(new CounterProducer(), CounterProducer::nextToken)
+                .setChannelDepth(1)
+                .setBatchSize(1));
+    }
+
+    @Test
+    public void testLockFree() {
+        testEngine(new ProducerEngine<>(new CounterProducer(), CounterProducer::nextToken)
+                .setChannelDepth(5)
+                .setBatchSize(4)
+                .setLockFree(true));
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.treenode;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import pt.up.fe.specs.util.treenode.TreeNodeTraversalTest.LeafNode;
+import pt.up.fe.specs.util.treenode.TreeNodeTraversalTest.TestNode;
+
+public class DescendantIndexTest {
+
+    static class OtherLeafNode extends LeafNode {
+
+        public OtherLeafNode(String name) {
+            super(name);
+        }
+    }
+
+    /**
+     * a(b(d, e), c(f(g)))
+     */
+    private static TestNode newTree() {
+        return new TestNode("a",
+                new TestNode("b", new LeafNode("d"), new OtherLeafNode("e")),
+                new TestNode("c", new TestNode("f", new LeafNode("g"))));
+    }
+
+    private static String names(List<? extends TestNode> nodes) {
+        return nodes.stream().map(TestNode::toContentString).collect(Collectors.joining());
+    }
+
+    @Test
+    public void testQueries() {
+        var tree = newTree();
+        tree.setIndexDescendants(true);
+
+        assertEquals("deg", names(tree.getDescendants(LeafNode.class)));
+        assertEquals("e", names(tree.getDescendants(OtherLeafNode.class)));
+        assertEquals("bdecfg", names(tree.getDescendants(TestNode.class)));
+        assertEquals("abdecfg", names(tree.getDescendantsAndSelf(TestNode.class)));
+        assertEquals("b", tree.getFirstDescendant(TestNode.class).get().toContentString());
+        assertEquals("a", tree.getFirstDescendantsAndSelf(TestNode.class).get().toContentString());
+        assertFalse(tree.getChild(1).getFirstDescendant(OtherLeafNode.class).isPresent());
+    }
+
+    @Test
+    public void testModifications() {
+        var tree = newTree();
+        tree.setIndexDescendants(true);
+        assertEquals("deg", names(tree.getDescendants(LeafNode.class)));
+
+        // Deep modification
+        var f = tree.getChild(1).getChild(0);
+        f.addChild(new LeafNode("h"));
+        assertEquals("degh", names(tree.getDescendants(LeafNode.class)));
+
+        f.removeChild(0);
+        assertEquals("deh", names(tree.getDescendants(LeafNode.class)));
+
+        tree.getChild(0).setChild(0, new LeafNode("x"));
+        assertEquals("xeh", names(tree.getDescendants(LeafNode.class)));
+
+        tree.getChild(0).detach();
+        assertEquals("h", names(tree.getDescendants(LeafNode.class)));
+
+        var iterator = tree.getChildrenIterator();
+        iterator.next();
+        iterator.add(new LeafNode("y"));
+        assertEquals("hy", names(tree.getDescendants(LeafNode.class)));
+
+        NodeInsertUtils.replace(tree.getChild(1), new LeafNode("z"));
+        assertEquals("hz", names(tree.getDescendants(LeafNode.class)));
+    }
+}
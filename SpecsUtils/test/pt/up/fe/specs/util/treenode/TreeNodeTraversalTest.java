@@ -0,0 +1,132 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.treenode;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class TreeNodeTraversalTest {
+
+    static class TestNode extends ATreeNode<TestNode> {
+
+        private final String name;
+
+        public TestNode(String name, TestNode... children) {
+            this(name, Arrays.asList(children));
+        }
+
+        public TestNode(String name, Collection<? extends TestNode> children) {
+            super(children);
+            this.name = name;
+        }
+
+        @Override
+        public String toContentString() {
+            return name;
+        }
+
+        @Override
+        protected TestNode copyPrivate() {
+            return new TestNode(name);
+        }
+
+        @Override
+        protected TestNode getThis() {
+            return this;
+        }
+    }
+
+    static class LeafNode extends TestNode {
+
+        public LeafNode(String name) {
+            super(name);
+        }
+    }
+
+    /**
+     * a(b(d, e), c(f(g)))
+     */
+    private static TestNode newTree() {
+        return new TestNode("a",
+                new TestNode("b", new LeafNode("d"), new LeafNode("e")),
+                new TestNode("c", new TestNode("f", new LeafNode("g"))));
+    }
+
+    private static String names(List<? extends TestNode> nodes) {
+        return nodes.stream().map(TestNode::toContentString).collect(Collectors.joining());
+    }
+
+    private static String names(Iterator<TestNode> iterator) {
+        var nodes = new ArrayList<TestNode>();
+        iterator.forEachRemaining(nodes::add);
+        return names(nodes);
+    }
+
+    @Test
+    public void testPreOrder() {
+        var tree = newTree();
+
+        assertEquals("abdecfg", names(TreeNodeTraversal.preOrder(tree, true)));
+        assertEquals("bdecfg", names(TreeNodeTraversal.preOrder(tree, false)));
+        assertEquals("bdecfg", names(tree.getDescendants()));
+        assertEquals("abdecfg", names(tree.getDescendantsAndSelfStream().collect(Collectors.toList())));
+        assertEquals("", names(TreeNodeTraversal.preOrder(new TestNode("x"), false)));
+    }
+
+    @Test
+    public void testPostOrder() {
+        var tree = newTree();
+
+        assertEquals("debgfca", names(TreeNodeTraversal.postOrder(tree, true)));
+        assertEquals("debgfc", names(TreeNodeTraversal.postOrder(tree, false)));
+        assertEquals("x", names(TreeNodeTraversal.postOrder(new TestNode("x"), true)));
+        assertEquals("", names(TreeNodeTraversal.postOrder(new TestNode("x"), false)));
+    }
+
+    @Test
+    public void testTypedQueries() {
+        var tree = newTree();
+
+        assertEquals("deg", names(tree.getDescendants(LeafNode.class)));
+        assertEquals("d", tree.getFirstDescendant(LeafNode.class).get().toContentString());
+        assertEquals("a", tree.getFirstDescendantsAndSelf(TestNode.class).get().toContentString());
+
+        var g = tree.getDescendants(LeafNode.class).get(2);
+        assertEquals("gfca", names(g.getAscendantsAndSelfStream().collect(Collectors.toList())));
+        assertEquals("fca", names(g.getAscendantsStream().collect(Collectors.toList())));
+        assertEquals("g", names(g.getAscendantsAndSelf(LeafNode.class)));
+    }
+
+    @Test
+    public void testDeepTree() {
+        // Deep enough to overflow the stack of a recursive traversal
+        int depth = 100_000;
+
+        var node = new TestNode("n");
+        for (int i = 0; i < depth; i++) {
+            node = new TestNode("n", node);
+        }
+
+        assertEquals(depth, node.getDescendants().size());
+        assertEquals(depth, TreeNodeTraversal.postOrderStream(node, false).count());
+    }
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.treenode.transform.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import pt.up.fe.specs.util.treenode.ATreeNode;
+import pt.up.fe.specs.util.treenode.transform.TransformQueue;
+import pt.up.fe.specs.util.treenode.transform.TransformResult;
+import pt.up.fe.specs.util.treenode.transform.TransformRule;
+import pt.up.fe.specs.util.treenode.transform.impl.DefaultTransformResult;
+
+public class TraversalStrategyTest {
+
+    private static class TestNode extends ATreeNode<TestNode> {
+
+        private final String name;
+
+        public TestNode(String name, TestNode... children) {
+            this(name, Arrays.asList(children));
+        }
+
+        public TestNode(String name, Collection<? extends TestNode> children) {
+            super(children);
+            this.name = name;
+        }
+
+        @Override
+        public String toContentString() {
+            return name;
+        }
+
+        @Override
+        protected TestNode copyPrivate() {
+            return new TestNode(name);
+        }
+
+        @Override
+        protected TestNode getThis() {
+            return this;
+        }
+    }
+
+    private static class LeafNode extends TestNode {
+
+        public LeafNode(String name) {
+            super(name);
+        }
+    }
+
+    /**
+     * Deletes nodes whose name starts with the given prefix, optionally not visiting their children.
+     */
+    private static class DeleteRule implements TransformRule<TestNode, TransformResult> {
+
+        private final String prefix;
+        private final boolean stopAtMatch;
+        private final TraversalStrategy strategy;
+
+        public DeleteRule(String prefix, boolean stopAtMatch, TraversalStrategy strategy) {
+            this.prefix = prefix;
+            this.stopAtMatch = stopAtMatch;
+            this.strategy = strategy;
+        }
+
+        @Override
+        public TransformResult apply(TestNode node, TransformQueue<TestNode> queue) {
+            if (!node.toContentString().startsWith(prefix)) {
+                return TransformResult.empty();
+            }
+
+            queue.delete(node);
+            return new DefaultTransformResult(!stopAtMatch);
+        }
+
+        @Override
+        public TraversalStrategy getTraversalStrategy() {
+            return strategy;
+        }
+    }
+
+    /**
+     * Complete tree where node names are their path (e.g., "r", "r0", "r01", ...)
+     */
+    private static TestNode newTree(String name, int width, int depth) {
+        if (depth == 0) {
+            return new LeafNode(name);
+        }
+
+        var children = new ArrayList<TestNode>();
+        for (int i = 0; i < width; i++) {
+            children.add(newTree(name + i, width, depth - 1));
+        }
+
+        return new TestNode(name, children);
+    }
+
+    private static String toString(TransformQueue<TestNode> queue) {
+        return queue.getTransforms().stream()
+                .map(transform -> transform.getOperands().get(0).toContentString())
+                .collect(Collectors.joining(","));
+    }
+
+    private static List<TransformRule<TestNode, ?>> newRules(TraversalStrategy strategy) {
+        return List.of(new DeleteRule("r1", true, strategy), new DeleteRule("r10", false, strategy),
+                new DeleteRule("r2", false, strategy));
+    }
+
+    @Test
+    public void testFused() {
+        for (var strategy : TraversalStrategy.values()) {
+            var tree = newTree("r", 3, 3);
+            var rules = newRules(strategy);
+
+            var fused = strategy.getTransformations(tree, rules);
+
+            // Sequential traversals, merged per node in rule order
+            var expected = new ArrayList<String>();
+            var perRule = new ArrayList<List<String>>();
+            for (var rule : rules) {
+                perRule.add(List.of(toString(strategy.getTransformations(tree, rule)).split(",")));
+            }
+            for (var node : strategy == TraversalStrategy.PRE_ORDER ? tree.getDescendantsAndSelf(TestNode.class)
+                    : postOrder(tree)) {
+                for (var names : perRule) {
+                    if (names.contains(node.toContentString())) {
+                        expected.add(node.toContentString());
+                    }
+                }
+            }
+
+            assertEquals(String.join(",", expected), toString(fused));
+        }
+
+        // r10 is not visited by the first rule, since it stops at r1
+        var preOrder = TraversalStrategy.PRE_ORDER.getTransformations(newTree("r", 3, 3),
+                newRules(TraversalStrategy.PRE_ORDER));
+        assertTrue(toString(preOrder).startsWith("r1,r10,r100,"));
+    }
+
+    private static List<TestNode> postOrder(TestNode node) {
+        var nodes = new ArrayList<TestNode>();
+        for (var child : node.getChildren()) {
+            nodes.addAll(postOrder(child));
+        }
+        nodes.add(node);
+        return nodes;
+    }
+
+    @Test
+    public void testParallel() {
+        for (var strategy : TraversalStrategy.values()) {
+            // Deeper than the parallel depth
+            var tree = newTree("r", 2, 9);
+            var rules = newRules(strategy);
+
+            assertEquals(toString(strategy.getTransformations(tree, rules)),
+                    toString(strategy.getTransformationsParallel(tree, rules)));
+
+            for (var rule : rules) {
+                assertEquals(toString(strategy.getTransformations(tree, rule)),
+                        toString(strategy.getTransformationsParallel(tree, rule)));
+            }
+        }
+    }
+
+    @Test
+    public void testDeepTree() {
+        // Deep enough to overflow the stack of a recursive traversal
+        int depth = 100_000;
+
+        var node = new TestNode("r2");
+        for (int i = 0; i < depth; i++) {
+            node = new TestNode("r2", node);
+        }
+
+        for (var strategy : TraversalStrategy.values()) {
+            var rules = newRules(strategy);
+
+            assertEquals(depth + 1, strategy.getTransformations(node, rules).getTransforms().size());
+            assertEquals(depth + 1, strategy.getTransformationsParallel(node, rules).getTransforms().size());
+        }
+    }
+
+    @Test
+    public void testConflicts() {
+        var tree = newTree("r", 2, 2);
+        var r0 = tree.getChild(0);
+        var r1 = tree.getChild(1);
+
+        var queue = new TransformQueue<TestNode>("test").setCheckConflicts(true);
+        queue.delete(r0);
+        queue.moveBefore(r0, new LeafNode("new"));
+
+        try {
+            queue.apply();
+            fail("Expected conflict");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().startsWith("Conflicting transformations"));
+        }
+
+        // Tree was not modified
+        assertEquals(2, tree.getNumChildren());
+
+        // Several transformations can use the same node as reference
+        queue = new TransformQueue<TestNode>("test").setCheckConflicts(true);
+        queue.addChild(r1, new LeafNode("a"));
+        queue.addChild(r1, new LeafNode("b"));
+        queue.delete(r0);
+        queue.apply();
+
+        assertEquals(1, tree.getNumChildren());
+        assertEquals(4, r1.getNumChildren());
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.utilities;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class CachedItemsTest {
+
+    @Test
+    public void testLru() {
+        var calls = new AtomicInteger();
+        var cache = new CachedItems<Integer, String>(key -> {
+            calls.incrementAndGet();
+            return key.toString();
+        }).setMaximumSize(2);
+
+        cache.get(1);
+        cache.get(2);
+        // 1 becomes the most recently used
+        assertEquals("1", cache.get(1));
+        cache.get(3);
+
+        assertEquals(2, cache.getCacheSize());
+        assertEquals(1, cache.getCacheEvictions());
+        assertNull(cache.getIfPresent(2));
+        assertEquals("1", cache.getIfPresent(1));
+        assertEquals(3, calls.get());
+        assertEquals(1, cache.getCacheHits());
+        assertEquals(3, cache.getCacheMisses());
+    }
+
+    @Test
+    public void testWeight() {
+        var cache = new CachedItems<Integer, String>(key -> "x".repeat(key), true)
+                .setMaximumWeight(10, String::length);
+
+        cache.get(4);
+        cache.get(5);
+        assertEquals(2, cache.getCacheSize());
+
+        cache.get(3);
+        assertEquals(2, cache.getCacheSize());
+        assertNull(cache.getIfPresent(4));
+    }
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+        var calls = new AtomicInteger();
+        var cache = new CachedItems<Integer, Integer>(key -> calls.incrementAndGet(), true)
+                .setExpireAfterWrite(50, TimeUnit.MILLISECONDS);
+
+        assertEquals(1, cache.get(0).intValue());
+        assertEquals(1, cache.get(0).intValue());
+
+        Thread.sleep(100);
+        assertEquals(2, cache.get(0).intValue());
+    }
+
+    @Test
+    public void testSingleFlight() throws InterruptedException {
+        int numThreads = 8;
+        var calls = new AtomicInteger();
+        var start = new CountDownLatch(1);
+
+        var cache = new CachedItems<Integer, Integer>(key -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return key * 2;
+        }, true);
+
+        var threads = new ArrayList<Thread>();
+        var results = new AtomicInteger();
+        for (int i = 0; i < numThreads; i++) {
+            var thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                results.addAndGet(cache.get(21));
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(42 * numThreads, results.get());
+        assertEquals(numThreads, cache.getCacheTotalCalls());
+    }
+
+    @Test
+    public void testRecursiveLoad() {
+        var holder = new ArrayList<CachedItems<Integer, Integer>>();
+        var cache = new CachedItems<Integer, Integer>(key -> key == 0 ? 0 : holder.get(0).get(key - 1) + 1, true);
+        holder.add(cache);
+
+        assertEquals(5, cache.get(5).intValue());
+        assertEquals(6, cache.getCacheSize());
+    }
+}
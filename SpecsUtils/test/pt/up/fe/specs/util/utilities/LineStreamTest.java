@@ -0,0 +1,72 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package pt.up.fe.specs.util.utilities;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import pt.up.fe.specs.util.SpecsIo;
+
+public class LineStreamTest {
+
+    private static final String CONTENTS = "first\nsecond\r\nthird\rção\n\n\r\nlast line without newline";
+
+    @Test
+    public void testMappedSameAsReader() {
+        File file = SpecsIo.getTempFile();
+        SpecsIo.write(file, CONTENTS);
+
+        try {
+            List<String> expected = LineStream.readLines(file);
+
+            // Small chunks, to force lines and "\r\n" to cross chunk boundaries
+            for (int chunkSize = 1; chunkSize < 12; chunkSize++) {
+                try (LineStream lines = LineStream.newMapped(file, chunkSize)) {
+                    List<String> mappedLines = new ArrayList<>();
+                    while (lines.hasNextLine()) {
+                        mappedLines.add(lines.nextLine());
+                    }
+
+                    assertEquals("Chunk size " + chunkSize, expected, mappedLines);
+                }
+            }
+        } finally {
+            SpecsIo.delete(file);
+        }
+    }
+
+    @Test
+    public void testMappedMetrics() {
+        File file = SpecsIo.getTempFile();
+        SpecsIo.write(file, "a\nbc\n");
+
+        try (LineStream lines = LineStream.newMapped(file)) {
+            assertEquals("a", lines.peekNextLine());
+            assertEquals("a", lines.peekNextLineSequence().toString());
+            assertEquals("a", lines.nextLineSequence().toString());
+            assertEquals("bc", lines.nextLine());
+            assertNull(lines.nextLineSequence());
+
+            assertEquals(2, lines.getReadLines());
+            assertEquals(3, lines.getReadChars());
+        } finally {
+            SpecsIo.delete(file);
+        }
+    }
+}
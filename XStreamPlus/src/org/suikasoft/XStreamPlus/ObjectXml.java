@@ -13,10 +13,13 @@
 
 package org.suikasoft.XStreamPlus;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import pt.up.fe.specs.util.SpecsLogs;
 
@@ -34,13 +37,32 @@ public abstract class ObjectXml<T> {
     private final Map<Class<?>, ObjectXml<?>> nestedXml = new HashMap<>();
     private final Map<String, Class<?>> mappings = new HashMap<>();
 
+    // Incremented when mappings or nested ObjectXmls are added
+    private volatile long version = 0;
+
+    // Built on first use, and discarded when the mappings of this or of a nested ObjectXml change
+    private volatile CachedFile<T> xstreamFile = null;
+
+    private static class CachedFile<T> {
+	private final XStreamFile<T> file;
+	private final long version;
+
+	public CachedFile(XStreamFile<T> file, long version) {
+	    this.file = file;
+	    this.version = version;
+	}
+    }
+
     /**
      * Alias mappings, for assigning names to classes. Can be null.
      * 
+     * <p>
+     * The returned map cannot be modified, use the addMappings methods instead.
+     * 
      * @return
      */
     public Map<String, Class<?>> getMappings() {
-	return mappings;
+	return Collections.unmodifiableMap(mappings);
     }
 
     public void addMappings(String name, Class<?> aClass) {
@@ -49,6 +71,8 @@ public abstract class ObjectXml<T> {
 	}
 
 	mappings.put(name, aClass);
+	version++;
+	xstreamFile = null;
     }
 
     public void addMappings(Map<String, Class<?>> mappings) {
@@ -71,11 +95,45 @@ public abstract class ObjectXml<T> {
     public abstract Class<T> getTargetClass();
 
     public String toXml(Object object) {
-	return getXStreamFile().toXml(object);
+	return getCachedXStreamFile().toXml(object);
     }
 
     public T fromXml(String xmlContents) {
-	return getXStreamFile().fromXml(xmlContents);
+	return getCachedXStreamFile().fromXml(xmlContents);
+    }
+
+    /**
+     * Creating the XStream object is expensive, the same XStreamFile is used while the mappings of this object and of
+     * its nested ObjectXmls do not change.
+     * 
+     * @return
+     */
+    private XStreamFile<T> getCachedXStreamFile() {
+	CachedFile<T> cached = xstreamFile;
+	long currentVersion = getVersion(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+	if (cached == null || cached.version != currentVersion) {
+	    cached = new CachedFile<>(getXStreamFile(), currentVersion);
+	    xstreamFile = cached;
+	}
+
+	return cached.file;
+    }
+
+    /**
+     * Versions only increase, so their sum changes when any nested ObjectXml changes.
+     */
+    private long getVersion(Set<ObjectXml<?>> visited) {
+	if (!visited.add(this)) {
+	    return 0;
+	}
+
+	long total = version;
+	for (ObjectXml<?> nested : nestedXml.values()) {
+	    total += nested.getVersion(visited);
+	}
+
+	return total;
     }
 
     protected XStreamFile<T> getXStreamFile() {
@@ -84,6 +142,8 @@ public abstract class ObjectXml<T> {
 
     protected void addNestedXml(ObjectXml<?> objectXml) {
 	ObjectXml<?> returnObject = nestedXml.put(objectXml.getTargetClass(), objectXml);
+	version++;
+	xstreamFile = null;
 	if (returnObject != null) {
 	    SpecsLogs.msgWarn("Replacing ObjectXml for class '" + objectXml.getTargetClass()
 		    + "'.");
@@ -91,7 +151,7 @@ public abstract class ObjectXml<T> {
     }
 
     public Map<Class<?>, ObjectXml<?>> getNestedXml() {
-	return nestedXml;
+	return Collections.unmodifiableMap(nestedXml);
     }
 
 }
@@ -19,6 +19,7 @@ import com.thoughtworks.xstream.XStream;
 
 import pt.up.fe.specs.util.SpecsIo;
 import pt.up.fe.specs.util.SpecsLogs;
+import pt.up.fe.specs.util.lazy.Lazy;
 
 /**
  * Utility methods related to XStreamPlus package.
@@ -30,6 +31,21 @@ import pt.up.fe.specs.util.SpecsLogs;
  */
 public class XStreamUtils {
 
+    private static final Lazy<XStream> SHARED_XSTREAM = Lazy.newInstance(XStreamUtils::newXStream);
+
+    /**
+     * XStream instance shared by the methods of this class that do not use custom mappings.
+     * 
+     * <p>
+     * XStream is thread-safe once configured, and creating it is expensive. The returned instance must not be
+     * configured, use {@link #newXStream()} instead.
+     * 
+     * @return
+     */
+    public static XStream getXStream() {
+        return SHARED_XSTREAM.get();
+    }
+
     public static XStream newXStream() {
 
         var xstream = new XStream();
@@ -145,8 +161,7 @@ public class XStreamUtils {
          * 
          * return objXml.toXml(object);
          */
-        XStream xstream = XStreamUtils.newXStream();
-        return xstream.toXML(object);
+        return getXStream().toXML(object);
     }
 
     public static <T> T read(File file, ObjectXml<T> stream) {
@@ -187,15 +202,15 @@ public class XStreamUtils {
     }
 
     public static <T> T from(String contents, final Class<T> objectClass) {
-        ObjectXml<T> objXml = new ObjectXml<T>() {
+        // Without mappings, the shared XStream gives the same result as an ObjectXml
+        Object dataInstance = getXStream().fromXML(contents);
 
-            @Override
-            public Class<T> getTargetClass() {
-                return objectClass;
-            }
-        };
+        if (!objectClass.isInstance(dataInstance)) {
+            SpecsLogs.warn("Given file does not represent a '" + objectClass + "' object.");
+            return null;
+        }
 
-        return objXml.fromXml(contents);
+        return objectClass.cast(dataInstance);
         /*
          * Object anObj = objXml.fromXml(contents);
          * 
@@ -220,7 +235,7 @@ public class XStreamUtils {
      */
     @SuppressWarnings("unchecked")
     public static <T> T copy(T object) {
-        XStream xstream = XStreamUtils.newXStream();
+        XStream xstream = getXStream();
 
         String stringObject = xstream.toXML(object);
         return (T) xstream.fromXML(stringObject);
@@ -0,0 +1,146 @@
+/**
+ * Copyright 2026 SPeCS.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.DataStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import org.suikasoft.jOptions.Datakey.DataKey;
+import org.suikasoft.jOptions.Datakey.KeyFactory;
+import org.suikasoft.jOptions.Interfaces.DataStore;
+import org.suikasoft.jOptions.storedefinition.StoreDefinition;
+
+/**
+ * Measures the memory used by each DataStore instance, and the time to set and get every key, for the HashMap-based
+ * SimpleDataStore, the list-based ListDataStore and the array-based ArrayDataStore.
+ * 
+ * <p>
+ * Also measures the cost of copying stores, where ArrayDataStore shares the values with the copy until they are
+ * modified.
+ */
+public class ArrayDataStoreTester {
+
+    private static final int NUM_KEYS = 16;
+
+    private static final int NUM_STORES = 200_000;
+
+    private static final int REPETITIONS = 3;
+
+    private static final List<DataKey<Integer>> KEYS = new ArrayList<>();
+    static {
+        for (int i = 0; i < NUM_KEYS; i++) {
+            KEYS.add(KeyFactory.integer("key" + i));
+        }
+    }
+
+    private static final StoreDefinition DEFINITION = StoreDefinition.newInstance("Benchmark", new ArrayList<>(KEYS));
+
+    private static long usedMemory() {
+        var runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void fill(DataStore data) {
+        for (int i = 0; i < KEYS.size(); i++) {
+            data.set(KEYS.get(i), i);
+        }
+    }
+
+    private static void measure(String name, Supplier<DataStore> factory) {
+        // Memory, values are small cached Integers and do not count
+        var stores = new DataStore[NUM_STORES];
+        long before = usedMemory();
+        for (int i = 0; i < NUM_STORES; i++) {
+            stores[i] = factory.get();
+            fill(stores[i]);
+        }
+        long after = usedMemory();
+        double bytesPerStore = (after - before) / (double) NUM_STORES;
+
+        // Keep the stores alive until memory is measured
+        if (stores[NUM_STORES - 1] == null) {
+            throw new RuntimeException("Store not created");
+        }
+        stores = null;
+
+        // Time
+        long best = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int r = 0; r < REPETITIONS; r++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < NUM_STORES; i++) {
+                var data = factory.get();
+                fill(data);
+                for (var key : KEYS) {
+                    checksum += data.get(key);
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        System.out.printf("%-15s %8.1f bytes/store, %8.1f ns/store (create, %d sets, %d gets) [%d]%n",
+                name, bytesPerStore, best / (double) NUM_STORES, NUM_KEYS, NUM_KEYS, checksum);
+    }
+
+    private static void measureCopy(String name, Supplier<DataStore> factory) {
+        var original = factory.get();
+        fill(original);
+
+        // Memory
+        var copies = new DataStore[NUM_STORES];
+        long before = usedMemory();
+        for (int i = 0; i < NUM_STORES; i++) {
+            copies[i] = original.copy();
+        }
+        long after = usedMemory();
+        double bytesPerCopy = (after - before) / (double) NUM_STORES;
+
+        if (copies[NUM_STORES - 1] == null) {
+            throw new RuntimeException("Copy not created");
+        }
+        copies = null;
+
+        // Time
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < REPETITIONS; r++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < NUM_STORES; i++) {
+                original.copy();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        System.out.printf("%-15s %8.1f bytes/copy, %8.1f ns/copy%n", name, bytesPerCopy,
+                best / (double) NUM_STORES);
+    }
+
+    @Test
+    public void testCopy() {
+        measureCopy("SimpleDataStore", () -> new SimpleDataStore(DEFINITION));
+        measureCopy("ListDataStore", () -> new ListDataStore(DEFINITION));
+        measureCopy("ArrayDataStore", () -> new ArrayDataStore(DEFINITION));
+    }
+
+    @Test
+    public void testDataStores() {
+        measure("SimpleDataStore", () -> new SimpleDataStore(DEFINITION));
+        measure("ListDataStore", () -> new ListDataStore(DEFINITION));
+        measure("ArrayDataStore", () -> new ArrayDataStore(DEFINITION));
+    }
+}
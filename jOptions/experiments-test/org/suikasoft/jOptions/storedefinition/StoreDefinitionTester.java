@@ -0,0 +1,84 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.storedefinition;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.suikasoft.jOptions.Datakey.DataKey;
+import org.suikasoft.jOptions.Datakey.KeyFactory;
+
+/**
+ * Measures the time to look up every key of a definition by name, rebuilding the key map on each lookup (the previous
+ * behavior of StoreDefinition.getKey) and with the indexes built once per definition.
+ */
+public class StoreDefinitionTester {
+
+    private static final int[] KEY_COUNTS = { 10, 100, 1_000 };
+
+    private static final int REPETITIONS = 5;
+
+    private static StoreDefinition newDefinition(int numKeys) {
+        List<DataKey<?>> keys = new ArrayList<>();
+        for (int i = 0; i < numKeys; i++) {
+            keys.add(KeyFactory.string("key" + i));
+        }
+
+        return StoreDefinition.newInstance("Definition" + numKeys, keys);
+    }
+
+    private static Map<String, DataKey<?>> rebuildKeyMap(StoreDefinition definition) {
+        return definition.getKeys().stream()
+                .collect(Collectors.toMap(key -> key.getName(), key -> key));
+    }
+
+    @Test
+    public void testGetKey() {
+        for (int numKeys : KEY_COUNTS) {
+            var definition = newDefinition(numKeys);
+            var names = definition.getKeys().stream().map(DataKey::getName).collect(Collectors.toList());
+
+            // Enough passes over all keys to take a measurable amount of time
+            int passes = Math.max(1, 1_000_000 / (numKeys * numKeys));
+
+            long bestRebuild = Long.MAX_VALUE;
+            long bestIndexed = Long.MAX_VALUE;
+            for (int r = 0; r < REPETITIONS; r++) {
+                long start = System.nanoTime();
+                for (int p = 0; p < passes; p++) {
+                    for (var name : names) {
+                        assertNotNull(rebuildKeyMap(definition).get(name));
+                    }
+                }
+                bestRebuild = Math.min(bestRebuild, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                for (int p = 0; p < passes; p++) {
+                    for (var name : names) {
+                        assertNotNull(definition.getKey(name));
+                    }
+                }
+                bestIndexed = Math.min(bestIndexed, System.nanoTime() - start);
+            }
+
+            System.out.printf("%5d keys: rebuilt map %10.1f us/pass, indexed %8.2f us/pass%n", numKeys,
+                    bestRebuild / 1000.0 / passes, bestIndexed / 1000.0 / passes);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.streamparser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.suikasoft.jOptions.DataStore.ADataClass;
+import org.suikasoft.jOptions.Interfaces.DataStore;
+
+import pt.up.fe.specs.util.utilities.LineStream;
+
+/**
+ * Measures the throughput of LineStreamParser when parsing in the calling thread, and when pipelined with several
+ * threads.
+ */
+public class LineStreamParserTester {
+
+    private static final int NUM_IDS = 8;
+
+    private static final int NUM_SECTIONS = 200_000;
+
+    private static final int LINES_PER_SECTION = 10;
+
+    private static class TestData extends ADataClass<TestData> {
+        public TestData() {
+            super(DataStore.newInstance("LineStreamParserTester"));
+        }
+    }
+
+    private static String buildStream() {
+        var builder = new StringBuilder();
+        for (int i = 0; i < NUM_SECTIONS; i++) {
+            builder.append("<id").append(i % NUM_IDS).append(">\n");
+            builder.append(LINES_PER_SECTION).append("\n");
+            for (int j = 0; j < LINES_PER_SECTION; j++) {
+                builder.append("value_").append(i).append("_").append(j).append("\n");
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static void measure(String stream, int numThreads) {
+        var checksum = new long[1];
+
+        Map<String, LineStreamWorker<TestData>> workers = new HashMap<>();
+        for (int i = 0; i < NUM_IDS; i++) {
+            var id = "<id" + i + ">";
+            workers.put(id, ParallelLineStreamWorker.newInstance(id,
+                    lines -> LineStreamParsers.stringList(lines).stream().mapToLong(String::hashCode).sum(),
+                    (sectionChecksum, data) -> checksum[0] += sectionChecksum));
+        }
+
+        var parser = LineStreamParser.newInstance(new TestData(), workers);
+        parser.setNumThreads(numThreads);
+        parser.parse(LineStream.newInstance(stream), null, false, false);
+
+        System.out.println(numThreads + " threads: " + parser.getMetrics() + " [" + checksum[0] + "]");
+    }
+
+    @Test
+    public void test() {
+        var stream = buildStream();
+
+        for (int numThreads : new int[] { 0, 1, 2, 4, 8 }) {
+            measure(stream, numThreads);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.DataStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.suikasoft.jOptions.Datakey.CustomGetter;
+import org.suikasoft.jOptions.Datakey.DataKey;
+import org.suikasoft.jOptions.Interfaces.DataStore;
+import org.suikasoft.jOptions.storedefinition.StoreDefinition;
+import org.suikasoft.jOptions.storedefinition.StoreDefinitionIndexes;
+
+import pt.up.fe.specs.util.SpecsCheck;
+
+/**
+ * Implementation of DataStore that uses an array to store the data.
+ * 
+ * <p>
+ * This implementation requires a StoreDefinition, and only accepts the keys of the definition. The array has one
+ * position per key, and keys are mapped to positions through their ordinal (see {@link DataKey#getOrdinal()}) using
+ * the indexes of the definition, which are shared by all stores with the same definition.
+ * 
+ * <p>
+ * Copies are copy-on-write: when no value needs to be copied with the copy function of its key, {@link #copy()} shares
+ * the array with the copy, and each store only creates its own array before its first modification.
+ *
+ */
+public class ArrayDataStore implements DataStore {
+
+    private final StoreDefinition definition;
+    private final StoreDefinitionIndexes indexes;
+    private Object[] values;
+    // If true, the array can be used by other stores and must be copied before being modified
+    private boolean sharedValues;
+
+    private boolean strict;
+
+    public ArrayDataStore(StoreDefinition definition) {
+        this(definition, definition.getIndexes(), new Object[definition.getIndexes().size()], false, false);
+    }
+
+    private ArrayDataStore(StoreDefinition definition, StoreDefinitionIndexes indexes, Object[] values,
+            boolean sharedValues, boolean strict) {
+
+        this.definition = definition;
+        this.indexes = indexes;
+        this.values = values;
+        this.sharedValues = sharedValues;
+        this.strict = strict;
+    }
+
+    /**
+     * 
+     * @return the array of values, after making sure it is not shared with other stores
+     */
+    private Object[] getWritableValues() {
+        if (sharedValues) {
+            values = values.clone();
+            sharedValues = false;
+        }
+
+        return values;
+    }
+
+    private int toIndex(DataKey<?> key) {
+        int index = indexes.getIndexOrNegative(key);
+
+        if (index < 0) {
+            // Throws exception with the keys of the definition
+            return indexes.getIndex(key.getName());
+        }
+
+        return index;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((getName() == null) ? 0 : getName().hashCode());
+        result = prime * result + Arrays.hashCode(values);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        ArrayDataStore other = (ArrayDataStore) obj;
+        if (getName() == null) {
+            if (other.getName() != null)
+                return false;
+        } else if (!getName().equals(other.getName()))
+            return false;
+        return Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public <T, E extends T> DataStore set(DataKey<T> key, E value) {
+        SpecsCheck.checkNotNull(value, () -> "Tried to set a null value with key '" + key + "'. Use .remove() instead");
+
+        // Stop if value is not compatible with class of key
+        if (key.verifyValueClass() && !key.getValueClass().isInstance(value)) {
+            throw new RuntimeException("Tried to add a value of type '" + value.getClass()
+                    + "', with a key that supports '" + key.getValueClass() + "'");
+        }
+
+        // Do not set keys that are not in the definition
+        int index = indexes.getIndexOrNegative(key);
+        if (index >= 0) {
+            getWritableValues()[index] = value;
+        }
+
+        return this;
+    }
+
+    @Override
+    public Optional<Object> setRaw(String key, Object value) {
+        // Do not set key
+        if (!indexes.hasIndex(key)) {
+            return Optional.empty();
+        }
+
+        int index = indexes.getIndex(key);
+        var previousValue = values[index];
+        getWritableValues()[index] = value;
+
+        return Optional.ofNullable(previousValue);
+    }
+
+    @Override
+    public void setStrict(boolean value) {
+        this.strict = value;
+    }
+
+    @Override
+    public Optional<StoreDefinition> getStoreDefinition() {
+        return Optional.of(definition);
+    }
+
+    @Override
+    public void setStoreDefinition(StoreDefinition definition) {
+        throw new RuntimeException(
+                "This implementation does not support setting the StoreDefinition after instantiation");
+    }
+
+    @Override
+    public String getName() {
+        return definition.getName();
+    }
+
+    @Override
+    public <T> T get(DataKey<T> key) {
+        int index = toIndex(key);
+
+        Object valueRaw = values[index];
+        if (strict && valueRaw == null) {
+            throw new RuntimeException(
+                    "No value present in DataStore '" + getName() + "' " + " for key '" + key.getName() + "'");
+        }
+
+        T value = null;
+        try {
+            value = key.getValueClass().cast(valueRaw);
+        } catch (Exception e) {
+            throw new RuntimeException("Could not retrive value from key " + key, e);
+        }
+
+        // If value is null, use default value
+        if (value == null) {
+            if (!key.hasDefaultValue()) {
+                throw new RuntimeException("No default value for key '" + key.getName() + "' in this object: " + this);
+            }
+
+            value = key.getDefault().orElse(null);
+
+            // Storing value, in case it is a mutable value (e.g., a list)
+            getWritableValues()[index] = value;
+        }
+
+        // Check if key has custom getter
+        Optional<CustomGetter<T>> getter = key.getCustomGetter();
+        if (getter.isPresent()) {
+            return getter.get().get(value, this);
+        }
+
+        return value;
+    }
+
+    @Override
+    public <T> Optional<T> remove(DataKey<T> key) {
+        Optional<T> value = getTry(key);
+
+        // If not present, there was already no value there
+        if (!value.isPresent()) {
+            return Optional.empty();
+        }
+
+        getWritableValues()[toIndex(key)] = null;
+
+        return value;
+    }
+
+    @Override
+    public <T> boolean hasValue(DataKey<T> key) {
+        return values[toIndex(key)] != null;
+    }
+
+    @Override
+    public Collection<String> getKeysWithValues() {
+        List<String> keysWithValues = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                keysWithValues.add(indexes.getKey(i).getName());
+            }
+        }
+
+        return keysWithValues;
+    }
+
+    @Override
+    public Collection<DataKey<?>> getDataKeysWithValues() {
+        List<DataKey<?>> keysWithValues = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                keysWithValues.add(indexes.getKey(i));
+            }
+        }
+
+        return keysWithValues;
+    }
+
+    @Override
+    public Object get(String id) {
+        return values[indexes.getIndex(id)];
+    }
+
+    /**
+     * If there are no values to copy with the copy function of their key, the copy shares the values of this store until
+     * one of them is modified. Otherwise, those values are copied immediately.
+     */
+    @Override
+    public DataStore copy() {
+        var copyableIndexes = indexes.getCopyableIndexes();
+
+        boolean copyValues = false;
+        for (int index : copyableIndexes) {
+            if (values[index] != null) {
+                copyValues = true;
+                break;
+            }
+        }
+
+        if (!copyValues) {
+            sharedValues = true;
+            return new ArrayDataStore(definition, indexes, values, true, strict);
+        }
+
+        var copiedValues = values.clone();
+        for (int index : copyableIndexes) {
+            var value = copiedValues[index];
+
+            if (value != null) {
+                copiedValues[index] = indexes.getKey(index).copyRaw(value);
+            }
+        }
+
+        return new ArrayDataStore(definition, indexes, copiedValues, false, strict);
+    }
+
+    /**
+     * This implementation is always closed.
+     */
+    @Override
+    public boolean isClosed() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return toInlinedString();
+    }
+}
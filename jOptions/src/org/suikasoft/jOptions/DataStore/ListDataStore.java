@@ -15,9 +15,7 @@ package org.suikasoft.jOptions.DataStore;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import org.suikasoft.jOptions.Datakey.CustomGetter;
@@ -39,16 +37,16 @@ import pt.up.fe.specs.util.SpecsCheck;
  */
 public class ListDataStore implements DataStore {
 
-    private static final Map<StoreDefinition, StoreDefinitionIndexes> KEY_TO_INDEXES = new HashMap<>();
-
     private final StoreDefinition keys;
+    private final StoreDefinitionIndexes indexes;
     private final List<Object> values;
 
     private boolean strict;
 
     public ListDataStore(StoreDefinition keys) {
         this.keys = keys;
-        this.values = new ArrayList<>(keys.getKeys().size());
+        this.indexes = keys.getIndexes();
+        this.values = new ArrayList<>(indexes.size());
 
         // Fill array with nulls
         // for (int i = 0; i < keys.getKeys().size(); i++) {
@@ -128,7 +126,7 @@ public class ListDataStore implements DataStore {
     @Override
     public Optional<Object> setRaw(String key, Object value) {
         // Do not set key
-        if (!keys.hasKey(key)) {
+        if (!indexes.hasIndex(key)) {
             return Optional.empty();
         }
 
@@ -239,9 +237,9 @@ public class ListDataStore implements DataStore {
     @Override
     public Collection<String> getKeysWithValues() {
         List<String> keysWithValues = new ArrayList<>();
-        for (DataKey<?> key : keys.getKeys()) {
-            if (get(toIndex(key)) != null) {
-                keysWithValues.add(key.getName());
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) != null) {
+                keysWithValues.add(indexes.getKey(i).getName());
             }
         }
 
@@ -253,20 +251,9 @@ public class ListDataStore implements DataStore {
     }
 
     private int toIndex(String key) {
-        StoreDefinitionIndexes indexes = getIndexes();
-
         return indexes.getIndex(key);
     }
 
-    private StoreDefinitionIndexes getIndexes() {
-        StoreDefinitionIndexes indexes = KEY_TO_INDEXES.get(keys);
-        if (indexes == null) {
-            indexes = new StoreDefinitionIndexes(keys);
-            KEY_TO_INDEXES.put(keys, indexes);
-        }
-        return indexes;
-    }
-
     @Override
     public Object get(String id) {
         return get(toIndex(id));
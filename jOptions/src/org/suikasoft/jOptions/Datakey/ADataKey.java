@@ -36,6 +36,9 @@ public abstract class ADataKey<T> implements DataKey<T> {
     private transient final CustomGetter<T> customSetter;
     private transient final DataKeyExtraData extraData;
 
+    // Ordinal plus one, zero if not assigned yet. Racy, but every thread computes the same value
+    private transient int ordinalPlusOne;
+
     protected ADataKey(String id, Supplier<? extends T> defaultValueProvider, StringCodec<T> decoder,
             CustomGetter<T> customGetter, KeyPanelProvider<T> panelProvider, String label,
             StoreDefinition definition, Function<T, T> copyFunction, CustomGetter<T> customSetter,
@@ -53,6 +56,7 @@ public abstract class ADataKey<T> implements DataKey<T> {
         this.copyFunction = copyFunction;
         this.customSetter = customSetter;
         this.extraData = extraData;
+        this.ordinalPlusOne = 0;
     }
 
     protected ADataKey(String id, Supplier<T> defaultValue) {
@@ -64,6 +68,18 @@ public abstract class ADataKey<T> implements DataKey<T> {
         return id;
     }
 
+    @Override
+    public int getOrdinal() {
+        int current = ordinalPlusOne;
+
+        if (current == 0) {
+            current = DataKeyOrdinals.getOrdinal(id) + 1;
+            ordinalPlusOne = current;
+        }
+
+        return current - 1;
+    }
+
     @Override
     public String toString() {
         return DataKey.toString(this);
@@ -51,6 +51,16 @@ public interface DataKey<T> extends KeyProvider<String> {
 
     String getName();
 
+    /**
+     * Keys with the same name have the same ordinal.
+     * 
+     * @return a small number that identifies the name of this key
+     * @see DataKeyOrdinals
+     */
+    default int getOrdinal() {
+        return DataKeyOrdinals.getOrdinal(getName());
+    }
+
     default String getTypeName() {
         return getValueClass().getSimpleName();
     }
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.Datakey;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns a number to each DataKey name.
+ * 
+ * <p>
+ * Since DataKey equality is based on the name, all keys with the same name have the same ordinal. Ordinals are
+ * assigned in the order names are first seen, start at zero and are never reused, which allows them to index arrays
+ * (see {@link org.suikasoft.jOptions.storedefinition.StoreDefinitionIndexes}).
+ */
+public class DataKeyOrdinals {
+
+    private static final ConcurrentHashMap<String, Integer> ORDINALS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ORDINAL = new AtomicInteger();
+
+    private DataKeyOrdinals() {
+    }
+
+    /**
+     * 
+     * @param keyName
+     * @return the ordinal of keys with the given name
+     */
+    public static int getOrdinal(String keyName) {
+        var ordinal = ORDINALS.get(keyName);
+
+        if (ordinal != null) {
+            return ordinal;
+        }
+
+        return ORDINALS.computeIfAbsent(keyName, name -> NEXT_ORDINAL.getAndIncrement());
+    }
+
+    /**
+     * 
+     * @return the number of ordinals assigned so far
+     */
+    public static int size() {
+        return NEXT_ORDINAL.get();
+    }
+}
@@ -20,10 +20,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.suikasoft.jOptions.DataStore.ArrayDataStore;
 import org.suikasoft.jOptions.DataStore.DataClass;
 import org.suikasoft.jOptions.DataStore.DataClassUtils;
 import org.suikasoft.jOptions.DataStore.DataStoreContainer;
-import org.suikasoft.jOptions.DataStore.ListDataStore;
 import org.suikasoft.jOptions.DataStore.SimpleDataStore;
 import org.suikasoft.jOptions.Datakey.DataKey;
 import org.suikasoft.jOptions.storedefinition.StoreDefinition;
@@ -459,12 +459,12 @@ public interface DataStore extends DataClass<DataStore> {
      * @param storeDefinition
      * @param closed
      *            if true, no other keys besides the ones defined in the StoreDefinition can be added. This allows a
-     *            more efficient implementation of DataStore to be used.
+     *            more efficient implementation of DataStore to be used ({@link ArrayDataStore}).
      * @return
      */
     public static DataStore newInstance(StoreDefinition storeDefinition, boolean closed) {
         if (closed) {
-            return new ListDataStore(storeDefinition);
+            return new ArrayDataStore(storeDefinition);
         } else {
             return new SimpleDataStore(storeDefinition);
         }
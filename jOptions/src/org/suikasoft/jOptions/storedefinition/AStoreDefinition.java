@@ -14,10 +14,8 @@
 package org.suikasoft.jOptions.storedefinition;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import org.suikasoft.jOptions.Datakey.DataKey;
@@ -29,8 +27,8 @@ public abstract class AStoreDefinition implements StoreDefinition {
     // private final List<DataKey<?>> options;
     private final List<StoreSection> sections;
     private final DataStore defaultData;
-    // private final transient Map<String, DataKey<?>> keyMap = new HashMap<>();
-    private final Map<String, DataKey<?>> keyMap = new HashMap<>();
+    // Built on first use, not serialized
+    private transient volatile StoreDefinitionIndexes indexes;
 
     /**
      * @param appName
@@ -58,12 +56,16 @@ public abstract class AStoreDefinition implements StoreDefinition {
     }
 
     @Override
-    public Map<String, DataKey<?>> getKeyMap() {
-        if (keyMap.isEmpty()) {
-            keyMap.putAll(StoreDefinition.super.getKeyMap());
+    public StoreDefinitionIndexes getIndexes() {
+        var currentIndexes = indexes;
+
+        // Indexes are immutable, building them more than once in concurrent calls is harmless
+        if (currentIndexes == null) {
+            currentIndexes = new StoreDefinitionIndexes(appName, StoreSection.getAllKeys(sections), sections);
+            indexes = currentIndexes;
         }
 
-        return keyMap;
+        return currentIndexes;
     }
 
     /**
@@ -119,7 +121,7 @@ public abstract class AStoreDefinition implements StoreDefinition {
 
     @Override
     public List<DataKey<?>> getKeys() {
-        return StoreSection.getAllKeys(sections);
+        return getIndexes().getKeys();
     }
 
     @Override
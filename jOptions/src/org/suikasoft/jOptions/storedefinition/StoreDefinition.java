@@ -18,7 +18,6 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.suikasoft.jOptions.DataStore.DataKeyProvider;
 import org.suikasoft.jOptions.Datakey.DataKey;
@@ -61,13 +60,20 @@ public interface StoreDefinition {
      * @return
      */
     default Map<String, DataKey<?>> getKeyMap() {
-        // To maintain the order of the keys
-        // Map<String, DataKey<?>> keyMap = new LinkedHashMap<>();
-        // getKeys().stream().forEach(key -> keyMap.put(getName(), key));
-        //
-        // return keyMap;
-        return getKeys().stream()
-                .collect(Collectors.toMap(key -> key.getName(), key -> key));
+        return getIndexes().getKeyMap();
+    }
+
+    /**
+     * Indexes of the keys and sections of this definition.
+     * 
+     * <p>
+     * By default, builds new indexes on each call. Implementations should build them once, and return the same
+     * instance (e.g., {@link AStoreDefinition}).
+     * 
+     * @return
+     */
+    default StoreDefinitionIndexes getIndexes() {
+        return new StoreDefinitionIndexes(this);
     }
 
     public static <T extends Enum<T> & DataKeyProvider> StoreDefinition newInstance(Class<T> aClass) {
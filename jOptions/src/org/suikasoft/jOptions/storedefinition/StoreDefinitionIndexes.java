@@ -13,33 +13,159 @@
 
 package org.suikasoft.jOptions.storedefinition;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.suikasoft.jOptions.Datakey.DataKey;
 
 /**
  * Maps keys of a StoreDefinition to an index.
  * 
+ * <p>
+ * Instances are immutable and built once per definition (see {@link StoreDefinition#getIndexes()}), so lookups by name
+ * do not depend on the number of keys and the same instance can be shared by several threads.
+ * 
  * @author JoaoBispo
  *
  */
 public class StoreDefinitionIndexes {
 
+    private final List<DataKey<?>> keys;
+    private final Map<String, DataKey<?>> keyMap;
     private final Map<String, Integer> keysToIndexes;
+    // Index of each key by key ordinal, -1 for keys not in the definition
+    private final int[] ordinalsToIndexes;
+    // Indexes of the keys that have a copy function
+    private final int[] copyableIndexes;
+
+    private final List<StoreSection> sections;
+    private final List<List<DataKey<?>>> sectionKeys;
+    private final Map<String, Integer> keysToSections;
 
     public StoreDefinitionIndexes(StoreDefinition definition) {
-        this.keysToIndexes = new HashMap<>();
+        this(definition.getName(), definition.getKeys(), definition.getSections());
+    }
+
+    /**
+     * 
+     * @param name
+     *            the name of the definition
+     * @param keys
+     *            the keys of the definition
+     * @param sections
+     *            the sections of the definition
+     */
+    public StoreDefinitionIndexes(String name, List<DataKey<?>> keys, List<StoreSection> sections) {
+        this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+
+        var keyMap = new LinkedHashMap<String, DataKey<?>>(capacity(this.keys.size()));
+        this.keysToIndexes = new HashMap<>(capacity(this.keys.size()));
+
+        for (int i = 0; i < this.keys.size(); i++) {
+            var key = this.keys.get(i);
+
+            if (keyMap.put(key.getName(), key) != null) {
+                throw new RuntimeException("DataKey clash for name '" + key.getName() + "' in store definition '"
+                        + name + "'");
+            }
 
-        List<DataKey<?>> keys = definition.getKeys();
-        for (int i = 0; i < keys.size(); i++) {
-            keysToIndexes.put(keys.get(i).getName(), i);
+            keysToIndexes.put(key.getName(), i);
         }
+
+        this.keyMap = Collections.unmodifiableMap(keyMap);
+
+        int maxOrdinal = -1;
+        for (var key : this.keys) {
+            maxOrdinal = Math.max(maxOrdinal, key.getOrdinal());
+        }
+
+        this.ordinalsToIndexes = new int[maxOrdinal + 1];
+        Arrays.fill(ordinalsToIndexes, -1);
+        for (int i = 0; i < this.keys.size(); i++) {
+            ordinalsToIndexes[this.keys.get(i).getOrdinal()] = i;
+        }
+
+        this.copyableIndexes = IntStream.range(0, this.keys.size())
+                .filter(i -> this.keys.get(i).getCopyFunction().isPresent())
+                .toArray();
+
+        this.sections = Collections.unmodifiableList(new ArrayList<>(sections));
+        this.sectionKeys = new ArrayList<>(this.sections.size());
+        this.keysToSections = new HashMap<>(capacity(this.keys.size()));
+
+        for (int i = 0; i < this.sections.size(); i++) {
+            var currentKeys = this.sections.get(i).getKeys();
+            sectionKeys.add(Collections.unmodifiableList(new ArrayList<>(currentKeys)));
+
+            for (var key : currentKeys) {
+                keysToSections.put(key.getName(), i);
+            }
+        }
+    }
+
+    private static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    /**
+     * 
+     * @return the keys of the definition, in order
+     */
+    public List<DataKey<?>> getKeys() {
+        return keys;
+    }
+
+    /**
+     * 
+     * @return maps the name of the key to the key itself, in the order of the keys
+     */
+    public Map<String, DataKey<?>> getKeyMap() {
+        return keyMap;
+    }
+
+    /**
+     * 
+     * @return the number of keys in the definition
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * 
+     * @param index
+     * @return the key at the given index
+     */
+    public DataKey<?> getKey(int index) {
+        return keys.get(index);
     }
 
     public int getIndex(DataKey<?> key) {
-        return getIndex(key.getName());
+        int index = getIndexOrNegative(key);
+
+        if (index < 0) {
+            return getIndex(key.getName());
+        }
+
+        return index;
+    }
+
+    /**
+     * Looks up the key by its ordinal, without hashing its name.
+     * 
+     * @param key
+     * @return the index of the key, or -1 if the key is not in the definition
+     */
+    public int getIndexOrNegative(DataKey<?> key) {
+        int ordinal = key.getOrdinal();
+
+        return ordinal < ordinalsToIndexes.length ? ordinalsToIndexes[ordinal] : -1;
     }
 
     public int getIndex(String key) {
@@ -52,12 +178,53 @@ public class StoreDefinitionIndexes {
         return index;
     }
 
+    /**
+     * 
+     * @return the indexes of the keys that have a copy function, in increasing order. The array must not be modified
+     */
+    public int[] getCopyableIndexes() {
+        return copyableIndexes;
+    }
+
     public boolean hasIndex(DataKey<?> key) {
-        return hasIndex(key.getName());
+        return getIndexOrNegative(key) >= 0;
     }
 
     public boolean hasIndex(String key) {
         return keysToIndexes.containsKey(key);
     }
 
+    public List<StoreSection> getSections() {
+        return sections;
+    }
+
+    /**
+     * 
+     * @param section
+     *            the index of the section
+     * @return the keys of the section
+     */
+    public List<DataKey<?>> getSectionKeys(int section) {
+        return sectionKeys.get(section);
+    }
+
+    public int getSectionIndex(DataKey<?> key) {
+        return getSectionIndex(key.getName());
+    }
+
+    /**
+     * 
+     * @param key
+     * @return the index of the section that contains the key
+     */
+    public int getSectionIndex(String key) {
+        Integer index = keysToSections.get(key);
+
+        if (index == null) {
+            throw new RuntimeException("Key '" + key + "' not present in the sections of this definition");
+        }
+
+        return index;
+    }
+
 }
@@ -13,8 +13,10 @@
 
 package org.suikasoft.jOptions.streamparser;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 import org.suikasoft.jOptions.DataStore.DataClass;
@@ -28,7 +30,9 @@ class GenericLineStreamParser<T extends DataClass<T>> implements LineStreamParse
 
     private LineStream currentLineStream;
     private Predicate<String> lineIgnore;
-    private int numExceptions;
+    private final AtomicInteger numExceptions;
+    private int numThreads;
+    private LineStreamMetrics metrics;
 
     public GenericLineStreamParser(T inputData, Map<String, LineStreamWorker<T>> workers) {
         // this.data = DataStore.newInstance("Generic LineStream Data").addAll(inputData);
@@ -40,12 +44,14 @@ class GenericLineStreamParser<T extends DataClass<T>> implements LineStreamParse
 
         currentLineStream = null;
         lineIgnore = null;
-        numExceptions = 0;
+        numExceptions = new AtomicInteger();
+        numThreads = 0;
+        metrics = LineStreamMetrics.empty();
     }
 
     @Override
     public int getNumExceptions() {
-        return numExceptions;
+        return numExceptions.get();
     }
 
     @Override
@@ -64,9 +70,20 @@ class GenericLineStreamParser<T extends DataClass<T>> implements LineStreamParse
 
     @Override
     public boolean parse(String id, LineStream lineStream) {
-        try {
-            this.currentLineStream = lineStream;
+        this.currentLineStream = lineStream;
+
+        return apply(id, lineStream);
+    }
 
+    /**
+     * Same as {@link #parse(String, LineStream)}, but does not change the LineStream of the metrics.
+     * 
+     * @param id
+     * @param lineStream
+     * @return true if the id was valid, false otherwise
+     */
+    boolean apply(String id, LineStream lineStream) {
+        try {
             LineStreamWorker<T> worker = workers.get(id);
             if (worker == null) {
                 // Check if id should be ignored
@@ -79,10 +96,71 @@ class GenericLineStreamParser<T extends DataClass<T>> implements LineStreamParse
 
             return true;
         } catch (Exception e) {
-            numExceptions++;
+            numExceptions.incrementAndGet();
+            throw e;
+        }
+
+    }
+
+    /**
+     * 
+     * @param id
+     * @return true if the worker of the given id is a {@link ParallelLineStreamWorker}
+     */
+    boolean isParallel(String id) {
+        return workers.get(id) instanceof ParallelLineStreamWorker;
+    }
+
+    /**
+     * Parses a section with a {@link ParallelLineStreamWorker}. Can be called concurrently.
+     * 
+     * @param id
+     * @param lineStream
+     * @return the result of the section
+     */
+    Object parseSection(String id, LineStream lineStream) {
+        try {
+            return ((ParallelLineStreamWorker<T, ?>) workers.get(id)).parse(lineStream);
+        } catch (Exception e) {
+            numExceptions.incrementAndGet();
             throw e;
         }
+    }
 
+    /**
+     * Merges the result of {@link #parseSection(String, LineStream)} into the data.
+     * 
+     * @param id
+     * @param result
+     */
+    @SuppressWarnings("unchecked")
+    void mergeSection(String id, Object result) {
+        try {
+            ((ParallelLineStreamWorker<T, Object>) workers.get(id)).merge(result, data);
+        } catch (Exception e) {
+            numExceptions.incrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public String parse(LineStream lineStream, File dumpFile, boolean printLinesNotParsed,
+            boolean storeLinesNotParsed) {
+
+        this.currentLineStream = lineStream;
+        long start = System.nanoTime();
+
+        try {
+            if (numThreads == 0) {
+                return LineStreamParser.super.parse(lineStream, dumpFile, printLinesNotParsed, storeLinesNotParsed);
+            }
+
+            return new LineStreamPipeline<>(this, numThreads).parse(lineStream, dumpFile, printLinesNotParsed,
+                    storeLinesNotParsed);
+        } finally {
+            metrics = new LineStreamMetrics(lineStream.getReadLines(), lineStream.getReadChars(),
+                    System.nanoTime() - start);
+        }
     }
 
     @Override
@@ -97,11 +175,27 @@ class GenericLineStreamParser<T extends DataClass<T>> implements LineStreamParse
         }
     }
 
+    @Override
+    public void setNumThreads(int numThreads) {
+        if (numThreads < 0) {
+            throw new IllegalArgumentException("Number of threads cannot be negative: " + numThreads);
+        }
+
+        this.numThreads = numThreads;
+    }
+
+    @Override
+    public LineStreamMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Deprecated
     @Override
     public long getReadLines() {
         return currentLineStream.getReadLines();
     }
 
+    @Deprecated
     @Override
     public long getReadChars() {
         return currentLineStream.getReadChars();
@@ -0,0 +1,59 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.streamparser;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.suikasoft.jOptions.DataStore.DataClass;
+
+import pt.up.fe.specs.util.utilities.LineStream;
+
+class GenericParallelLineStreamWorker<T extends DataClass<T>, R> implements ParallelLineStreamWorker<T, R> {
+
+    private final String id;
+    private final Consumer<T> init;
+    private final Function<LineStream, R> parse;
+    private final BiConsumer<R, T> merge;
+
+    public GenericParallelLineStreamWorker(String id, Consumer<T> init, Function<LineStream, R> parse,
+            BiConsumer<R, T> merge) {
+        this.id = id;
+        this.init = init;
+        this.parse = parse;
+        this.merge = merge;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void init(T data) {
+        init.accept(data);
+    }
+
+    @Override
+    public R parse(LineStream lineStream) {
+        return parse.apply(lineStream);
+    }
+
+    @Override
+    public void merge(R result, T data) {
+        merge.accept(result, data);
+    }
+
+}
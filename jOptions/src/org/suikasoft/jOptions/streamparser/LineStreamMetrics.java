@@ -0,0 +1,85 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.streamparser;
+
+import pt.up.fe.specs.util.SpecsStrings;
+
+/**
+ * Amount of lines and characters read by a {@link LineStreamParser} while parsing a stream, and the time it took.
+ */
+public class LineStreamMetrics {
+
+    private static final LineStreamMetrics EMPTY = new LineStreamMetrics(0, 0, 0);
+
+    private final long readLines;
+    private final long readChars;
+    private final long elapsedNanos;
+
+    public LineStreamMetrics(long readLines, long readChars, long elapsedNanos) {
+        this.readLines = readLines;
+        this.readChars = readChars;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * 
+     * @return metrics of a parser that has not parsed a stream yet
+     */
+    public static LineStreamMetrics empty() {
+        return EMPTY;
+    }
+
+    public long getReadLines() {
+        return readLines;
+    }
+
+    /**
+     * 
+     * @return the number of characters read, without line terminators
+     */
+    public long getReadChars() {
+        return readChars;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getLinesPerSecond() {
+        return perSecond(readLines);
+    }
+
+    /**
+     * For ASCII streams, this is the same as the number of bytes per second.
+     * 
+     * @return
+     */
+    public double getCharsPerSecond() {
+        return perSecond(readChars);
+    }
+
+    private double perSecond(long amount) {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+
+        return amount / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d lines, %d chars in %s (%.0f lines/s, %.0f chars/s)", readLines, readChars,
+                SpecsStrings.parseTime(elapsedNanos), getLinesPerSecond(), getCharsPerSecond());
+    }
+}
@@ -61,6 +61,39 @@ public interface LineStreamParser<T extends DataClass<T>> extends AutoCloseable
      */
     public Collection<String> getIds();
 
+    /**
+     * Sets the number of threads that parse sections of the stream.
+     * 
+     * <p>
+     * With 0 threads (the default), the workers are applied in the thread that reads the stream, and each worker reads
+     * as many lines as it needs. Otherwise, parsing is pipelined: the calling thread reads the stream and splits it
+     * into sections. A section starts at a line that is an id and ends before the next line that is an id, so workers
+     * cannot read lines equal to an id, and lines of a section that the worker does not read are considered not
+     * parsed.
+     * 
+     * <p>
+     * Sections of a {@link ParallelLineStreamWorker} are parsed by the given number of threads, and their results are
+     * merged into the data by the calling thread. Other workers are applied by the calling thread. Workers access the
+     * data in the order of the sections, and only from the calling thread.
+     * 
+     * <p>
+     * By default, does nothing, and the stream is always parsed in the thread that reads it.
+     * 
+     * @param numThreads
+     */
+    default void setNumThreads(int numThreads) {
+
+    }
+
+    /**
+     * By default, returns empty metrics.
+     * 
+     * @return the metrics of the last stream that was parsed
+     */
+    default LineStreamMetrics getMetrics() {
+        return LineStreamMetrics.empty();
+    }
+
     default String parse(InputStream inputStream, File dumpFile) {
         return parse(inputStream, dumpFile, true, true);
     }
@@ -74,9 +107,43 @@ public interface LineStreamParser<T extends DataClass<T>> extends AutoCloseable
     default String parse(InputStream inputStream, File dumpFile, boolean printLinesNotParsed,
             boolean storeLinesNotParsed) {
 
+        return parse(LineStream.newInstance(inputStream, null), dumpFile, printLinesNotParsed, storeLinesNotParsed);
+    }
+
+    /**
+     * Parses a file, which is memory-mapped instead of being read through a stream (see
+     * {@link LineStream#newMapped(File)}).
+     * 
+     * @param file
+     * @param dumpFile
+     * @return lines of the file that were not parsed
+     */
+    default String parse(File file, File dumpFile) {
+        return parse(file, dumpFile, true, true);
+    }
+
+    /**
+     * 
+     * @param file
+     * @param dumpFile
+     * @return lines of the file that were not parsed
+     */
+    default String parse(File file, File dumpFile, boolean printLinesNotParsed, boolean storeLinesNotParsed) {
+        return parse(LineStream.newMapped(file), dumpFile, printLinesNotParsed, storeLinesNotParsed);
+    }
+
+    /**
+     * 
+     * @param lineStream
+     * @param dumpFile
+     * @return lines of the LineStream that were not parsed. The LineStream is closed at the end
+     */
+    default String parse(LineStream lineStream, File dumpFile, boolean printLinesNotParsed,
+            boolean storeLinesNotParsed) {
+
         StringBuilder linesNotParsed = new StringBuilder();
 
-        try (LineStream lines = LineStream.newInstance(inputStream, null)) {
+        try (LineStream lines = lineStream) {
             lines.setDumpFile(dumpFile);
 
             while (lines.hasNextLine()) {
@@ -115,11 +182,21 @@ public interface LineStreamParser<T extends DataClass<T>> extends AutoCloseable
         return linesNotParsed.toString();
     }
 
+    /**
+     * 
+     * @deprecated use {@link #getMetrics()}
+     */
+    @Deprecated
     default long getReadLines() {
         SpecsLogs.debug("Not implemented yet, returning 0");
         return 0;
     }
 
+    /**
+     * 
+     * @deprecated use {@link #getMetrics()}
+     */
+    @Deprecated
     default long getReadChars() {
         SpecsLogs.debug("Not implemented yet, returning 0");
         return 0;
@@ -0,0 +1,258 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.streamparser;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.suikasoft.jOptions.DataStore.DataClass;
+
+import pt.up.fe.specs.util.SpecsLogs;
+import pt.up.fe.specs.util.SpecsSystem;
+import pt.up.fe.specs.util.utilities.LineStream;
+
+/**
+ * Pipelined parsing of a LineStream (see {@link LineStreamParser#setNumThreads(int)}).
+ * 
+ * <p>
+ * The calling thread reads the stream and splits it into sections, each starting at a line that is an id. Sections of
+ * a {@link ParallelLineStreamWorker} are parsed by a pool of threads. The calling thread completes the sections in the
+ * order they appear: it merges the results of parallel workers, and applies the other workers. This way, the data is
+ * only accessed by the calling thread. The number of sections waiting to be completed is bounded, so that the reader
+ * does not keep the whole stream in memory.
+ */
+class LineStreamPipeline<T extends DataClass<T>> {
+
+    private static final int PENDING_SECTIONS_PER_THREAD = 64;
+
+    private static class Section {
+        private final String id;
+        private final List<CharSequence> lines;
+
+        // Result of a parallel worker, null if the worker is applied by the calling thread
+        private CompletableFuture<Object> result;
+        // Lines that the parallel worker did not read
+        private List<CharSequence> remainingLines;
+
+        private Section(String id, List<CharSequence> lines) {
+            this.id = id;
+            this.lines = lines;
+            this.result = null;
+            this.remainingLines = Collections.emptyList();
+        }
+    }
+
+    private final GenericLineStreamParser<T> parser;
+    private final int numThreads;
+    private final int maxPendingSections;
+
+    // Lengths of the ids, to avoid creating a String for lines that cannot be an id
+    private final boolean[] idLengths;
+
+    // Sections that were read but not completed, in order
+    private final Deque<Section> pendingSections;
+    private final StringBuilder linesNotParsed;
+
+    private ExecutorService executor;
+    private boolean printLinesNotParsed;
+    private boolean storeLinesNotParsed;
+
+    public LineStreamPipeline(GenericLineStreamParser<T> parser, int numThreads) {
+        this.parser = parser;
+        this.numThreads = numThreads;
+        this.maxPendingSections = numThreads * PENDING_SECTIONS_PER_THREAD;
+
+        int maxIdLength = parser.getIds().stream().mapToInt(String::length).max().orElse(0);
+        this.idLengths = new boolean[maxIdLength + 1];
+        for (var id : parser.getIds()) {
+            idLengths[id.length()] = true;
+        }
+
+        this.pendingSections = new ArrayDeque<>();
+        this.linesNotParsed = new StringBuilder();
+    }
+
+    /**
+     * 
+     * @param lineStream
+     * @param dumpFile
+     * @return lines of the LineStream that were not parsed. The LineStream is closed at the end
+     */
+    public String parse(LineStream lineStream, File dumpFile, boolean printLinesNotParsed,
+            boolean storeLinesNotParsed) {
+
+        this.printLinesNotParsed = printLinesNotParsed;
+        this.storeLinesNotParsed = storeLinesNotParsed;
+        this.executor = Executors.newFixedThreadPool(numThreads, SpecsSystem.getDaemonThreadFactory());
+
+        try (LineStream lines = lineStream) {
+            lines.setDumpFile(dumpFile);
+
+            String currentId = null;
+            List<CharSequence> currentLines = new ArrayList<>();
+
+            while (lines.hasNextLine()) {
+                var line = lines.nextLineSequence();
+                var id = toId(line);
+
+                if (id == null) {
+                    currentLines.add(line);
+                    continue;
+                }
+
+                // Line that will be used as id, previous section ended
+                addSection(currentId, currentLines);
+
+                currentId = id;
+                currentLines = new ArrayList<>();
+            }
+
+            addSection(currentId, currentLines);
+
+            while (!pendingSections.isEmpty()) {
+                completeSection(pendingSections.poll());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        return linesNotParsed.toString();
+    }
+
+    private String toId(CharSequence line) {
+        if (line.length() >= idLengths.length || !idLengths[line.length()]) {
+            return null;
+        }
+
+        var string = line.toString();
+        return parser.getIds().contains(string) ? string : null;
+    }
+
+    private void addSection(String id, List<CharSequence> lines) {
+        // Lines before the first id
+        if (id == null) {
+            addLinesNotParsed(lines);
+            return;
+        }
+
+        var section = new Section(id, lines);
+
+        if (parser.isParallel(id)) {
+            section.result = CompletableFuture.supplyAsync(() -> parseSection(section), executor);
+        }
+
+        pendingSections.add(section);
+
+        // Complete sections in order. Waits for parallel sections only when there are too many pending sections
+        while (!pendingSections.isEmpty()) {
+            var first = pendingSections.peek();
+
+            boolean isWaiting = first.result != null && !first.result.isDone();
+            if (isWaiting && pendingSections.size() <= maxPendingSections) {
+                break;
+            }
+
+            completeSection(pendingSections.poll());
+        }
+    }
+
+    /**
+     * Runs in the pool.
+     */
+    private Object parseSection(Section section) {
+        var sectionLines = LineStream.newInstance(section.lines);
+
+        try {
+            return parser.parseSection(section.id, sectionLines);
+        } finally {
+            // Visible to the calling thread after the result completes
+            section.remainingLines = getRemainingLines(sectionLines);
+        }
+    }
+
+    /**
+     * Runs in the calling thread.
+     */
+    private void completeSection(Section section) {
+        if (section.result == null) {
+            var sectionLines = LineStream.newInstance(section.lines);
+
+            try {
+                parser.apply(section.id, sectionLines);
+            } catch (Exception e) {
+                SpecsLogs.warn("Problems while parsing '" + section.id + "'", e);
+            }
+
+            addLinesNotParsed(getRemainingLines(sectionLines));
+            return;
+        }
+
+        try {
+            parser.mergeSection(section.id, section.result.join());
+        } catch (CompletionException e) {
+            // Errors are not handled, as in sequential parsing
+            if (!(e.getCause() instanceof Exception)) {
+                throw e;
+            }
+
+            SpecsLogs.warn("Problems while parsing '" + section.id + "'", e.getCause());
+        } catch (Exception e) {
+            SpecsLogs.warn("Problems while parsing '" + section.id + "'", e);
+        }
+
+        addLinesNotParsed(section.remainingLines);
+    }
+
+    private static List<CharSequence> getRemainingLines(LineStream sectionLines) {
+        if (!sectionLines.hasNextLine()) {
+            return Collections.emptyList();
+        }
+
+        var remainingLines = new ArrayList<CharSequence>();
+        while (sectionLines.hasNextLine()) {
+            remainingLines.add(sectionLines.nextLineSequence());
+        }
+
+        return remainingLines;
+    }
+
+    private void addLinesNotParsed(List<CharSequence> lines) {
+        for (var lineSequence : lines) {
+            var line = lineSequence.toString();
+
+            // If line should be ignored, skip it
+            if (parser.getLineIgnore().test(line)) {
+                SpecsLogs.debug("Ignoring line: " + line);
+                continue;
+            }
+
+            // Add line to the warnings
+            if (storeLinesNotParsed) {
+                linesNotParsed.append(line).append("\n");
+            }
+
+            if (printLinesNotParsed) {
+                SpecsLogs.msgInfo(line);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.streamparser;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.suikasoft.jOptions.DataStore.DataClass;
+
+import pt.up.fe.specs.util.utilities.LineStream;
+
+/**
+ * LineStreamWorker that splits the work in two steps, so that sections can be parsed by several threads (see
+ * {@link LineStreamParser#setNumThreads(int)}).
+ * 
+ * <p>
+ * {@link #parse(LineStream)} reads the lines of a section and must not access the data, since it can run at the same
+ * time as other sections. {@link #merge(Object, DataClass)} applies the result to the data, and is called by the thread
+ * that reads the stream, in the order the sections appear.
+ *
+ * @param <R>
+ *            the result of parsing a section
+ */
+public interface ParallelLineStreamWorker<T extends DataClass<T>, R> extends LineStreamWorker<T> {
+
+    static <T extends DataClass<T>, R> ParallelLineStreamWorker<T, R> newInstance(String id, Consumer<T> init,
+            Function<LineStream, R> parse, BiConsumer<R, T> merge) {
+        return new GenericParallelLineStreamWorker<>(id, init, parse, merge);
+    }
+
+    static <T extends DataClass<T>, R> ParallelLineStreamWorker<T, R> newInstance(String id,
+            Function<LineStream, R> parse, BiConsumer<R, T> merge) {
+        // Do nothing
+        Consumer<T> init = data -> {
+        };
+
+        return new GenericParallelLineStreamWorker<>(id, init, parse, merge);
+    }
+
+    /**
+     * Parses the lines of a section, without accessing the data.
+     * 
+     * @param lineStream
+     * @return the result of the section
+     */
+    R parse(LineStream lineStream);
+
+    /**
+     * Applies the result of a section to the data.
+     * 
+     * @param result
+     * @param data
+     */
+    void merge(R result, T data);
+
+    @Override
+    default void apply(LineStream lineStream, T data) {
+        merge(parse(lineStream), data);
+    }
+}
@@ -13,39 +13,67 @@
 
 package org.suikasoft.jOptions.treenode;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.suikasoft.jOptions.Interfaces.DataStore;
 
 import pt.up.fe.specs.util.SpecsLogs;
 
+/**
+ * Maps simple names of nodes to node classes, by looking for the classes in the given packages.
+ * 
+ * <p>
+ * Can be used by several threads at the same time. Each name is resolved only once, including names that do not map to
+ * any class. By default, classes are looked for with {@link Class#forName(String)} the first time a name is requested.
+ * After calling {@link #scanPackages()}, names are resolved with an index of the classes in the packages instead.
+ */
 public class ClassesService<T extends DataNode<T>> {
 
-    private final Collection<String> astNodesPackages;
+    private final List<String> astNodesPackages;
     private final Class<T> baseClass;
     // private final CustomClassnameMapper<T> customClassMap;
-    private final Map<String, Class<? extends T>> autoClassMap;
+    // Names that could not be mapped are stored as empty
+    private final Map<String, ClassMapping<T>> autoClassMap;
     private final Set<String> warnedClasses;
+    // Incremented when the default class or the package indexes change, which can map names that were not mapped
+    private final AtomicInteger version;
 
-    private Class<? extends T> defaultClass;
+    private volatile Class<? extends T> defaultClass;
+
+    // For each package, simple names of the classes found in the package, or null if the package was not scanned
+    private volatile List<Map<String, Class<?>>> packageIndexes;
 
     public ClassesService(Class<T> baseClass, Collection<String> astNodesPackages) {
 
         this.baseClass = baseClass;
-        this.astNodesPackages = astNodesPackages;
+        this.astNodesPackages = new ArrayList<>(astNodesPackages);
         // this.customClassMap = customClassMap;
-        this.autoClassMap = new HashMap<>();
-        this.warnedClasses = new HashSet<>();
+        this.autoClassMap = new ConcurrentHashMap<>();
+        this.warnedClasses = ConcurrentHashMap.newKeySet();
+        this.version = new AtomicInteger(0);
 
         defaultClass = null;
+        packageIndexes = null;
     }
 
     // public ClassesService(Class<T> baseClass, Collection<String> astNodesPackages) {
@@ -56,11 +84,44 @@ public class ClassesService<T extends DataNode<T>> {
         this(baseClass, Arrays.asList(astNodesPackages));
     }
 
+    /**
+     * Result of resolving a name, and the version of the service that was used.
+     */
+    private static class ClassMapping<T> {
+
+        private final Optional<Class<? extends T>> nodeClass;
+        private final int version;
+
+        public ClassMapping(Optional<Class<? extends T>> nodeClass, int version) {
+            this.nodeClass = nodeClass;
+            this.version = version;
+        }
+
+        /**
+         * Names that could not be mapped are only valid for the version of the service they were resolved with.
+         */
+        public boolean isValid(int currentVersion) {
+            return nodeClass.isPresent() || version == currentVersion;
+        }
+    }
+
     public ClassesService<T> setDefaultClass(Class<? extends T> defaultClass) {
         this.defaultClass = defaultClass;
+
+        // Names that could not be mapped can now map to the default class
+        clearNotMapped();
+
         return this;
     }
 
+    /**
+     * Must be called after the change. Names resolved concurrently with the previous version are resolved again.
+     */
+    private void clearNotMapped() {
+        version.incrementAndGet();
+        autoClassMap.values().removeIf(mapping -> mapping.nodeClass.isEmpty());
+    }
+
     // public CustomClassnameMapper<T> getCustomClassMap() {
     // return customClassMap;
     // }
@@ -74,32 +135,28 @@ public class ClassesService<T extends DataNode<T>> {
         // }
 
         // Try cached nodes
-        Class<? extends T> dataNodeClass = autoClassMap.get(classname);
-        if (dataNodeClass != null) {
-            return dataNodeClass;
-        }
+        var mapping = autoClassMap.get(classname);
+
+        // Version is read before the default class and the package indexes
+        int currentVersion = version.get();
 
-        // Try discovering the node
-        dataNodeClass = discoverClass(classname);
-        autoClassMap.put(classname, dataNodeClass);
-        return dataNodeClass;
+        // Try discovering the node. Not done inside the map, since loading a class can request other names
+        if (mapping == null || !mapping.isValid(currentVersion)) {
+            var discovered = new ClassMapping<T>(discoverClass(classname), currentVersion);
 
+            // Keep the mapping of another thread, unless it is no longer valid
+            mapping = autoClassMap.merge(classname, discovered,
+                    (previous, current) -> previous.isValid(version.get()) ? previous : current);
+        }
+
+        return mapping.nodeClass.orElseThrow(
+                () -> new RuntimeException("Could not map classname '" + classname + "' to a node class"));
     }
 
     private Class<? extends T> getClass(String classname, String fullClassname) {
         try {
             // Get class
-            Class<?> aClass = Class.forName(fullClassname);
-
-            // Check if class is a subtype of DataNode
-            if (!baseClass.isAssignableFrom(aClass)) {
-                throw new RuntimeException("Classname '" + classname + "' was converted to a (" + fullClassname
-                        + ") that is not a DataNode");
-            }
-
-            // Cast class object
-            return aClass.asSubclass(baseClass);
-
+            return toNodeClass(classname, Class.forName(fullClassname));
         } catch (ClassNotFoundException e) {
             // No class found, return null
             return null;
@@ -107,7 +164,18 @@ public class ClassesService<T extends DataNode<T>> {
         }
     }
 
-    private Class<? extends T> discoverClass(String classname) {
+    private Class<? extends T> toNodeClass(String classname, Class<?> aClass) {
+        // Check if class is a subtype of DataNode
+        if (!baseClass.isAssignableFrom(aClass)) {
+            throw new RuntimeException("Classname '" + classname + "' was converted to a (" + aClass.getName()
+                    + ") that is not a DataNode");
+        }
+
+        // Cast class object
+        return aClass.asSubclass(baseClass);
+    }
+
+    private Optional<Class<? extends T>> discoverClass(String classname) {
 
         // First, try custom name
         var customName = customSimpleNameToFullName(classname);
@@ -115,37 +183,49 @@ public class ClassesService<T extends DataNode<T>> {
         if (customName != null) {
             var nodeClass = getClass(classname, customName);
             if (nodeClass != null) {
-                return nodeClass;
+                return Optional.of(nodeClass);
             }
         }
 
         // Look for the class in the given node packages
-        for (var astNodesPackage : astNodesPackages) {
+        var indexes = packageIndexes;
+        for (int i = 0; i < astNodesPackages.size(); i++) {
+            var index = indexes != null ? indexes.get(i) : null;
+
+            // Package was scanned, use index
+            if (index != null) {
+                var aClass = index.get(classname);
+                if (aClass != null) {
+                    return Optional.of(toNodeClass(classname, aClass));
+                }
+
+                continue;
+            }
+
             // Append nodeClassname to basePackage
-            var fullClassname = astNodesPackage + "." + classname;
+            var fullClassname = astNodesPackages.get(i) + "." + classname;
             // System.out.println("TRYING CLASS " + fullClassname);
             var nodeClass = getClass(classname, fullClassname);
 
             if (nodeClass != null) {
-                return nodeClass;
+                return Optional.of(nodeClass);
             }
         }
 
         // If default node class is defined and no class was found, use that class
+        var defaultClass = this.defaultClass;
         if (defaultClass != null) {
-            if (!warnedClasses.contains(classname)) {
-                warnedClasses.add(classname);
-
+            if (warnedClasses.add(classname)) {
                 SpecsLogs.info("ClassesService: no node class found for name '" + classname
                         + "', using default class '" + defaultClass + "'");
 
             }
 
-            return defaultClass;
+            return Optional.of(defaultClass);
         }
 
-        // Throw exception if nothing works
-        throw new RuntimeException("Could not map classname '" + classname + "' to a node class");
+        // Nothing works, getClass() throws an exception
+        return Optional.empty();
 
         // try {
         // // Get class
@@ -189,6 +269,143 @@ public class ClassesService<T extends DataNode<T>> {
     // return basePackage + "." + nodeClassname;
     // }
 
+    /**
+     * Builds an index of the classes in each of the node packages, so that names are resolved without trying to load
+     * classes that do not exist. Should be called once, before the service is used.
+     * 
+     * <p>
+     * Only packages in directories or jar files can be scanned. Packages that cannot be scanned keep using
+     * {@link Class#forName(String)}.
+     * 
+     * @return this service
+     */
+    public ClassesService<T> scanPackages() {
+        var indexes = new ArrayList<Map<String, Class<?>>>(astNodesPackages.size());
+
+        for (var astNodesPackage : astNodesPackages) {
+            indexes.add(scanPackage(astNodesPackage));
+        }
+
+        packageIndexes = indexes;
+
+        // Names that were found are resolved in the same way by the index, names that were not found are tried again
+        clearNotMapped();
+
+        return this;
+    }
+
+    /**
+     * 
+     * @param astNodesPackage
+     * @return the top-level classes in the package, mapped by simple name, or null if the package could not be scanned
+     */
+    private Map<String, Class<?>> scanPackage(String astNodesPackage) {
+        var classLoader = ClassesService.class.getClassLoader();
+        var packagePath = astNodesPackage.replace('.', '/');
+
+        var simpleNames = new ArrayList<String>();
+        try {
+            var urls = classLoader.getResources(packagePath);
+
+            if (!urls.hasMoreElements()) {
+                SpecsLogs.debug(() -> "ClassesService: package '" + astNodesPackage + "' not found, not scanning it");
+                return null;
+            }
+
+            while (urls.hasMoreElements()) {
+                var url = urls.nextElement();
+
+                switch (url.getProtocol()) {
+                case "file":
+                    simpleNames.addAll(getDirectoryClasses(url));
+                    break;
+                case "jar":
+                    simpleNames.addAll(getJarClasses(url, packagePath));
+                    break;
+                default:
+                    SpecsLogs.debug(() -> "ClassesService: cannot scan package '" + astNodesPackage + "' in '" + url
+                            + "'");
+                    return null;
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            SpecsLogs.info("ClassesService: could not scan package '" + astNodesPackage + "': " + e.getMessage());
+            return null;
+        }
+
+        var classes = new HashMap<String, Class<?>>();
+        for (var simpleName : simpleNames) {
+            // Same class can appear in more than one location, first one wins as in Class.forName
+            if (classes.containsKey(simpleName)) {
+                continue;
+            }
+
+            try {
+                // Classes are only initialized when used
+                classes.put(simpleName, Class.forName(astNodesPackage + "." + simpleName, false, classLoader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                SpecsLogs.debug(() -> "ClassesService: could not load class '" + astNodesPackage + "." + simpleName
+                        + "': " + e.getMessage());
+            }
+        }
+
+        return classes;
+    }
+
+    private static List<String> getDirectoryClasses(URL url) throws IOException, URISyntaxException {
+        try (Stream<Path> files = Files.list(Paths.get(url.toURI()))) {
+            return files.map(file -> file.getFileName().toString())
+                    .map(ClassesService::toSimpleName)
+                    .filter(name -> name != null)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static List<String> getJarClasses(URL url, String packagePath) throws IOException {
+        var connection = (JarURLConnection) url.openConnection();
+        connection.setUseCaches(false);
+
+        var prefix = packagePath + "/";
+        var simpleNames = new ArrayList<String>();
+        try (var jarFile = connection.getJarFile()) {
+            var entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                var entryName = entries.nextElement().getName();
+
+                // Only direct children of the package
+                if (!entryName.startsWith(prefix) || entryName.indexOf('/', prefix.length()) != -1) {
+                    continue;
+                }
+
+                var simpleName = toSimpleName(entryName.substring(prefix.length()));
+                if (simpleName != null) {
+                    simpleNames.add(simpleName);
+                }
+            }
+        }
+
+        return simpleNames;
+    }
+
+    /**
+     * 
+     * @param filename
+     * @return the simple name of the class, or null if the file is not a top-level class
+     */
+    private static String toSimpleName(String filename) {
+        if (!filename.endsWith(".class") || filename.indexOf('$') != -1) {
+            return null;
+        }
+
+        var simpleName = filename.substring(0, filename.length() - ".class".length());
+
+        if (simpleName.equals("package-info") || simpleName.equals("module-info")) {
+            return null;
+        }
+
+        return simpleName;
+    }
+
     /**
      * Override method if you want to define custom rules. Any case that returns null uses the default conversion.
      * 
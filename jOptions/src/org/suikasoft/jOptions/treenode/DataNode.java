@@ -106,10 +106,14 @@ public abstract class DataNode<K extends DataNode<K>> extends ATreeNode<K>
         return true;
     }
 
+    /**
+     * The copy has a copy of the data of this node (see {@link DataStore#copy()}). With closed stores, the values are
+     * only duplicated when one of the nodes is modified.
+     */
     @SuppressWarnings("unchecked") // getClass() will always return a Class<K>
     @Override
     protected K copyPrivate() {
-        return newInstance((Class<K>) getClass(), Collections.emptyList());
+        return newInstance((Class<K>) getClass(), data.copy(), Collections.emptyList());
     }
 
     /*** STATIC HELPER METHODS ***/
@@ -127,13 +131,24 @@ public abstract class DataNode<K extends DataNode<K>> extends ATreeNode<K>
      * @return
      */
     public static <K extends DataNode<K>, T extends K> K newInstance(Class<T> nodeClass, List<K> children) {
+        return newInstance(nodeClass, DataNode.newDataStore(nodeClass), children);
+    }
 
-        DataStore newDataStore = DataNode.newDataStore(nodeClass);
+    /**
+     * Creates a new node with the given data.
+     * 
+     * @param nodeClass
+     * @param data
+     * @param children
+     * @return
+     */
+    public static <K extends DataNode<K>, T extends K> K newInstance(Class<T> nodeClass, DataStore data,
+            List<K> children) {
 
         try {
             Constructor<T> constructorMethod = nodeClass.getConstructor(DataStore.class, Collection.class);
             try {
-                return nodeClass.cast(constructorMethod.newInstance(newDataStore, children));
+                return nodeClass.cast(constructorMethod.newInstance(data, children));
             } catch (Exception e) {
                 throw new RuntimeException("Could not call constructor for ClavaNode", e);
             }
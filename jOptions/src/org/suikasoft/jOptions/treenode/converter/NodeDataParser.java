@@ -13,38 +13,73 @@
 
 package org.suikasoft.jOptions.treenode.converter;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import pt.up.fe.specs.util.SpecsLogs;
 
 /**
  * Applies methods that generate DataStores, based on arbitrary inputs defined by a signature Method.
  * 
+ * <p>
+ * Parser methods are converted to method handles when the parser is created, and the parser of each key is resolved
+ * only once. Calls with one or two arguments that match the arity of the signature do not allocate an array of
+ * arguments.
+ * 
  * @author JoaoBispo
  *
  */
 public class NodeDataParser {
 
-    private final Method defaultMethod;
-    private final Map<String, Method> dataParsers;
-    private final Set<String> warnedNodes;
+    /**
+     * A parser method, as handles with Object parameters and return type.
+     */
+    private static class Parser {
+        private final Method method;
+        // Takes the arguments as separate parameters
+        private final MethodHandle fixedArity;
+        // Takes the arguments as an Object[]
+        private final MethodHandle spreader;
+
+        private Parser(Method method) {
+            this.method = method;
+
+            try {
+                var handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+                int arity = method.getParameterCount();
+
+                this.fixedArity = handle.asType(MethodType.genericMethodType(arity));
+                this.spreader = fixedArity.asSpreader(Object[].class, arity);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Could not access parser method '" + method + "'", e);
+            }
+        }
+    }
+
+    private final Parser defaultParser;
+    private final int arity;
+    private final Map<String, Parser> dataParsers;
+    private final Map<String, Parser> keysToParsers;
 
     public NodeDataParser(Method defaultMethod, Collection<Class<?>> classesWithParsers) {
-        this.defaultMethod = defaultMethod;
         this.dataParsers = new HashMap<>();
-        this.warnedNodes = new HashSet<String>();
+        this.keysToParsers = new ConcurrentHashMap<>();
 
         // Only supports static methods
         if (!Modifier.isStatic(defaultMethod.getModifiers())) {
             throw new RuntimeException("Compatible methods should be static");
         }
 
+        this.defaultParser = new Parser(defaultMethod);
+        this.arity = defaultMethod.getParameterCount();
+
         for (var classWithParsers : classesWithParsers) {
             addParsers(defaultMethod, classWithParsers);
         }
@@ -61,8 +96,8 @@ public class NodeDataParser {
 
             String methodName = method.getName();
 
-            // Map name of the method to the method class
-            dataParsers.put(methodName, method);
+            // Map name of the method to the method handles
+            dataParsers.put(methodName, new Parser(method));
         }
 
     }
@@ -107,25 +142,72 @@ public class NodeDataParser {
         return "parse" + key + "Data";
     }
 
-    public Object parse(String key, Object... args) {
+    private Parser getParser(String key) {
+        var parser = keysToParsers.get(key);
+
+        if (parser == null) {
+            parser = keysToParsers.computeIfAbsent(key, this::findParser);
+        }
+
+        return parser;
+    }
+
+    private Parser findParser(String key) {
         var methodName = getParserName(key);
-        var method = dataParsers.get(methodName);
+        var parser = dataParsers.get(methodName);
 
-        if (method == null) {
-            if (!warnedNodes.contains(key)) {
-                warnedNodes.add(key);
-                SpecsLogs.info("Could not find parser for key '" + key + "', that is mapped to the method '"
-                        + methodName + "'. Returning default method '" + defaultMethod + "'");
-            }
+        if (parser != null) {
+            return parser;
+        }
 
-            // Return default method
-            method = defaultMethod;
+        // Called once per key
+        SpecsLogs.info("Could not find parser for key '" + key + "', that is mapped to the method '"
+                + methodName + "'. Returning default method '" + defaultParser.method + "'");
+
+        // Return default method
+        return defaultParser;
+    }
+
+    public Object parse(String key, Object... args) {
+        var parser = getParser(key);
+
+        try {
+            return parser.spreader.invokeExact(args);
+        } catch (Throwable e) {
+            throw new RuntimeException("Problems while invoking method '" + parser.method.getName() + "'", e);
+        }
+    }
+
+    public Object parse(String key, Object arg) {
+        // An array is the array of arguments, as in the varargs version
+        if (arg instanceof Object[]) {
+            return parse(key, (Object[]) arg);
+        }
+
+        if (arity != 1) {
+            return parse(key, new Object[] { arg });
         }
 
+        var parser = getParser(key);
+
+        try {
+            return parser.fixedArity.invokeExact(arg);
+        } catch (Throwable e) {
+            throw new RuntimeException("Problems while invoking method '" + parser.method.getName() + "'", e);
+        }
+    }
+
+    public Object parse(String key, Object arg1, Object arg2) {
+        if (arity != 2) {
+            return parse(key, new Object[] { arg1, arg2 });
+        }
+
+        var parser = getParser(key);
+
         try {
-            return method.invoke(null, args);
-        } catch (Exception e) {
-            throw new RuntimeException("Problems while invoking method '" + methodName + "'", e);
+            return parser.fixedArity.invokeExact(arg1, arg2);
+        } catch (Throwable e) {
+            throw new RuntimeException("Problems while invoking method '" + parser.method.getName() + "'", e);
         }
     }
 }
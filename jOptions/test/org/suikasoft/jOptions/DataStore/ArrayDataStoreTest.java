@@ -0,0 +1,140 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.DataStore;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.suikasoft.jOptions.Datakey.DataKey;
+import org.suikasoft.jOptions.Datakey.KeyFactory;
+import org.suikasoft.jOptions.Interfaces.DataStore;
+import org.suikasoft.jOptions.storedefinition.StoreDefinition;
+
+public class ArrayDataStoreTest {
+
+    private static final DataKey<String> NAME = KeyFactory.string("name");
+    private static final DataKey<Integer> SIZE = KeyFactory.integer("size", 10);
+    private static final DataKey<String> OTHER = KeyFactory.string("other");
+
+    private static final StoreDefinition DEFINITION = StoreDefinition.newInstance("Test", NAME, SIZE);
+
+    @Test
+    public void testSetAndGet() {
+        var data = new ArrayDataStore(DEFINITION);
+
+        assertFalse(data.hasValue(NAME));
+        assertEquals(Integer.valueOf(10), data.get(SIZE));
+
+        data.set(NAME, "aName");
+        assertEquals("aName", data.get(NAME));
+        assertEquals("aName", data.get("name"));
+
+        // Keys that are not in the definition are ignored
+        data.set(OTHER, "ignored");
+        assertEquals(Arrays.asList("name", "size"), data.getKeysWithValues());
+        assertEquals(Arrays.asList(NAME, SIZE), data.getDataKeysWithValues());
+
+        assertEquals("aName", data.remove(NAME).get());
+        assertFalse(data.hasValue(NAME));
+    }
+
+    @Test
+    public void testCopiedKey() {
+        var data = new ArrayDataStore(DEFINITION);
+
+        // Copies of a key have the same name, and therefore the same ordinal
+        var sizeCopy = SIZE.setDefault(() -> 20);
+        data.set(sizeCopy, 30);
+
+        assertEquals(SIZE.getOrdinal(), sizeCopy.getOrdinal());
+        assertEquals(Integer.valueOf(30), data.get(SIZE));
+    }
+
+    @Test
+    public void testCopy() {
+        var data = new ArrayDataStore(DEFINITION);
+        data.set(NAME, "aName");
+
+        var copy = data.copy();
+        assertEquals(data, copy);
+
+        copy.set(NAME, "anotherName");
+        assertEquals("aName", data.get(NAME));
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        var data = new ArrayDataStore(DEFINITION);
+        data.set(NAME, "aName");
+
+        // Changes in the copy are not seen in the original
+        var copy1 = data.copy();
+        copy1.set(NAME, "copy1");
+        assertEquals("aName", data.get(NAME));
+
+        // Changes in the original are not seen in the copy
+        var copy2 = data.copy();
+        data.set(SIZE, 5);
+        data.remove(NAME);
+        assertEquals("aName", copy2.get(NAME));
+        assertFalse(copy2.hasValue(SIZE));
+        assertEquals("copy1", copy1.get(NAME));
+    }
+
+    @Test
+    public void testCopyFunction() {
+        DataKey<StringBuilder> builderKey = KeyFactory.object("builder", StringBuilder.class)
+                .setCopyFunction(builder -> new StringBuilder(builder));
+        var definition = StoreDefinition.newInstance("Copyable", NAME, builderKey);
+
+        var data = new ArrayDataStore(definition);
+        data.set(builderKey, new StringBuilder("a"));
+
+        // Values with a copy function are copied, not shared
+        var copy = data.copy();
+        copy.get(builderKey).append("b");
+        assertEquals("a", data.get(builderKey).toString());
+        assertEquals("ab", copy.get(builderKey).toString());
+    }
+
+    @Test
+    public void testConcurrentDefinitions() {
+        // Definitions and keys created in several threads share the same ordinals
+        var ordinals = new ConcurrentHashMap<Integer, Integer>();
+
+        IntStream.range(0, 100).parallel().forEach(i -> {
+            List<DataKey<?>> keys = new ArrayList<>();
+            for (int j = 0; j < 10; j++) {
+                keys.add(KeyFactory.integer("concurrent" + j));
+            }
+
+            DataStore data = DataStore.newInstance(StoreDefinition.newInstance("Concurrent", keys), true);
+            for (var key : keys) {
+                @SuppressWarnings("unchecked")
+                var intKey = (DataKey<Integer>) key;
+                data.set(intKey, i);
+                assertEquals(Integer.valueOf(i), data.get(intKey));
+
+                var previous = ordinals.putIfAbsent(key.getOrdinal(), key.getName().hashCode());
+                assertTrue(previous == null || previous == key.getName().hashCode());
+            }
+        });
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.storedefinition;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.suikasoft.jOptions.Datakey.DataKey;
+import org.suikasoft.jOptions.Datakey.KeyFactory;
+import org.suikasoft.jOptions.Interfaces.DataStore;
+
+public class StoreDefinitionIndexesTest {
+
+    private static final DataKey<String> NAME = KeyFactory.string("name");
+    private static final DataKey<Integer> SIZE = KeyFactory.integer("size");
+    private static final DataKey<String> LABEL = KeyFactory.string("label");
+
+    private static StoreDefinition newDefinition() {
+        return new StoreDefinitionBuilder("Test")
+                .startSection("First")
+                .addKeys(NAME, SIZE)
+                .startSection("Second")
+                .addKey(LABEL)
+                .build();
+    }
+
+    @Test
+    public void testIndexes() {
+        var definition = newDefinition();
+        var indexes = definition.getIndexes();
+
+        // Built only once
+        assertSame(indexes, definition.getIndexes());
+
+        assertEquals(Arrays.asList(NAME, SIZE, LABEL), definition.getKeys());
+        assertEquals(Arrays.asList("name", "size", "label"), Arrays.asList(
+                definition.getKeyMap().keySet().toArray(new String[0])));
+
+        assertEquals(3, indexes.size());
+        assertEquals(1, indexes.getIndex("size"));
+        assertSame(LABEL, indexes.getKey(2));
+        assertSame(SIZE, definition.getKey("size"));
+        assertTrue(definition.hasKey("label"));
+        assertFalse(definition.hasKey("other"));
+
+        assertEquals(0, indexes.getSectionIndex(SIZE));
+        assertEquals(1, indexes.getSectionIndex(LABEL));
+        assertEquals(Arrays.asList(LABEL), indexes.getSectionKeys(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutableKeys() {
+        newDefinition().getKeys().add(KeyFactory.string("other"));
+    }
+
+    @Test
+    public void testClosedDataStore() {
+        var definition = newDefinition();
+
+        var data = DataStore.newInstance(definition, true);
+        data.set(LABEL, "aLabel");
+        data.set(NAME, "aName");
+
+        assertEquals("aLabel", data.get(LABEL));
+        assertEquals(Arrays.asList("name", "label"), data.getKeysWithValues());
+    }
+}
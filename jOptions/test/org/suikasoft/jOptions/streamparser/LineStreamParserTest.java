@@ -0,0 +1,165 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.streamparser;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.suikasoft.jOptions.DataStore.ADataClass;
+import org.suikasoft.jOptions.Datakey.DataKey;
+import org.suikasoft.jOptions.Datakey.KeyFactory;
+import org.suikasoft.jOptions.Interfaces.DataStore;
+
+import pt.up.fe.specs.util.utilities.LineStream;
+
+public class LineStreamParserTest {
+
+    private static class TestData extends ADataClass<TestData> {
+        public TestData() {
+            super(DataStore.newInstance("LineStreamParserTest"));
+        }
+    }
+
+    private static final String STREAM = String.join("\n", "leading", "<list>", "2", "a", "b", "<single>", "x",
+            "<list>", "1", "c", "not parsed", "ignored", "<single>", "y") + "\n";
+
+    private static LineStreamParser<TestData> newParser(List<String> list, List<String> singles) {
+        Map<String, LineStreamWorker<TestData>> workers = new HashMap<>();
+        workers.put("<list>", LineStreamWorker.newInstance("<list>",
+                (lines, data) -> list.addAll(LineStreamParsers.stringList(lines))));
+        workers.put("<single>", LineStreamWorker.newInstance("<single>",
+                (lines, data) -> singles.add(lines.nextLine())));
+
+        var parser = LineStreamParser.newInstance(new TestData(), workers);
+        parser.setLineIgnore(line -> line.equals("ignored"));
+        return parser;
+    }
+
+    private static void testParse(int numThreads) {
+        var list = Collections.synchronizedList(new ArrayList<String>());
+        var singles = Collections.synchronizedList(new ArrayList<String>());
+
+        var parser = newParser(list, singles);
+        parser.setNumThreads(numThreads);
+
+        var linesNotParsed = parser.parse(LineStream.newInstance(STREAM), null, false, true);
+
+        assertEquals("leading\nnot parsed\n", linesNotParsed);
+        assertEquals(Arrays.asList("a", "b", "c"), list);
+        assertEquals(Arrays.asList("x", "y"), singles);
+        assertEquals(14, parser.getMetrics().getReadLines());
+    }
+
+    @Test
+    public void testSequential() {
+        testParse(0);
+    }
+
+    @Test
+    public void testPipelined() {
+        testParse(1);
+        testParse(4);
+    }
+
+    @Test
+    public void testPipelinedOrder() {
+        int numSections = 10_000;
+
+        var builder = new StringBuilder();
+        for (int i = 0; i < numSections; i++) {
+            builder.append("<list>\n1\n").append(i).append("\n");
+            builder.append("<single>\n").append(i).append("\n");
+        }
+
+        var list = Collections.synchronizedList(new ArrayList<String>());
+        var singles = Collections.synchronizedList(new ArrayList<String>());
+
+        var parser = newParser(list, singles);
+        parser.setNumThreads(4);
+
+        assertEquals("", parser.parse(LineStream.newInstance(builder.toString()), null, false, true));
+
+        // Ordered workers keep the order of their sections
+        assertEquals(numSections, list.size());
+        assertEquals(numSections, singles.size());
+        for (int i = 0; i < numSections; i++) {
+            assertEquals(Integer.toString(i), list.get(i));
+            assertEquals(Integer.toString(i), singles.get(i));
+        }
+
+        var metrics = parser.getMetrics();
+        assertEquals(numSections * 5, metrics.getReadLines());
+        assertTrue(metrics.getLinesPerSecond() > 0);
+    }
+
+    private static final DataKey<Long> SUM = KeyFactory.longInt("sum");
+    private static final DataKey<Long> LAST_SUM = KeyFactory.longInt("lastSum");
+    private static final DataKey<Integer> COUNT = KeyFactory.integer("count");
+    private static final DataKey<String> LAST_NAME = KeyFactory.string("lastName");
+
+    @Test
+    public void testPipelinedData() {
+        int numSections = 10_000;
+
+        var builder = new StringBuilder();
+        long expectedSum = 0;
+        for (int i = 0; i < numSections; i++) {
+            builder.append("<sum>\n3\n");
+            for (int j = 0; j < 3; j++) {
+                builder.append(i + j).append("\n");
+                expectedSum += i + j;
+            }
+            builder.append("<name>\nname").append(i).append("\n");
+        }
+
+        Map<String, LineStreamWorker<TestData>> workers = new HashMap<>();
+
+        // Parsed by the pool, merged in order
+        workers.put("<sum>", ParallelLineStreamWorker.newInstance("<sum>",
+                data -> data.set(SUM, 0L),
+                lines -> LineStreamParsers.list(lines, LineStreamParsers::longInt).stream()
+                        .mapToLong(Long::longValue).sum(),
+                (sectionSum, data) -> {
+                    data.set(SUM, data.get(SUM) + sectionSum);
+                    data.set(LAST_SUM, sectionSum);
+                }));
+
+        // Applied in order
+        workers.put("<name>", LineStreamWorker.newInstance("<name>",
+                data -> data.set(COUNT, 0),
+                (lines, data) -> {
+                    data.set(COUNT, data.get(COUNT) + 1);
+                    data.set(LAST_NAME, lines.nextLine());
+                }));
+
+        var parser = LineStreamParser.newInstance(new TestData(), workers);
+        parser.setNumThreads(4);
+
+        assertEquals("", parser.parse(LineStream.newInstance(builder.toString()), null, false, true));
+
+        var data = parser.getData();
+        assertEquals(expectedSum, data.get(SUM).longValue());
+        assertEquals(3L * (numSections - 1) + 3, data.get(LAST_SUM).longValue());
+        assertEquals(numSections, data.get(COUNT).intValue());
+        assertEquals("name" + (numSections - 1), data.get(LAST_NAME));
+        assertEquals(0, parser.getNumExceptions());
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.treenode;
+
+import static org.junit.Assert.*;
+
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.suikasoft.jOptions.Interfaces.DataStore;
+
+public class ClassesServiceTest {
+
+    private static final String PACKAGE = ClassesServiceTest.class.getPackageName();
+
+    private static void assertNotMapped(ClassesService<ServiceTestNode> service, String classname) {
+        try {
+            service.getClass(classname);
+            fail("Expected exception");
+        } catch (RuntimeException e) {
+            // Expected
+        }
+    }
+
+    private static void testService(ClassesService<ServiceTestNode> service) {
+        // Repeated calls use the cached classes
+        for (int i = 0; i < 2; i++) {
+            assertEquals(ServiceTestNode.class, service.getClass("ServiceTestNode"));
+
+            // Class exists, but is not a node of the service
+            assertNotMapped(service, "DataNode");
+
+            // Class does not exist
+            assertNotMapped(service, "MissingNode");
+        }
+
+        // Names that were not found before map to the default class
+        service.setDefaultClass(ServiceTestNode.class);
+        assertEquals(ServiceTestNode.class, service.getClass("MissingNode"));
+        assertEquals(ServiceTestNode.class, service.getClass("OtherMissingNode"));
+    }
+
+    @Test
+    public void testLazy() {
+        testService(new ClassesService<>(ServiceTestNode.class, "missing.nodes.package", PACKAGE));
+    }
+
+    @Test
+    public void testEager() {
+        testService(new ClassesService<>(ServiceTestNode.class, "missing.nodes.package", PACKAGE).scanPackages());
+    }
+
+    @Test
+    public void testReentrant() {
+        // Resolving a name requests another name, as a class initializer could
+        var service = new ClassesService<ServiceTestNode>(ServiceTestNode.class, PACKAGE) {
+            @Override
+            protected String customSimpleNameToFullName(String nodeClassname) {
+                if (nodeClassname.equals("Alias")) {
+                    return getClass("ServiceTestNode").getName();
+                }
+
+                return null;
+            }
+        };
+
+        assertEquals(ServiceTestNode.class, service.getClass("Alias"));
+    }
+
+    @Test
+    public void testConcurrent() {
+        var service = new ClassesService<>(ServiceTestNode.class, PACKAGE)
+                .setDefaultClass(ServiceTestNode.class);
+
+        IntStream.range(0, 10_000).parallel()
+                .forEach(i -> assertEquals(ServiceTestNode.class, service.getClass("Node" + (i % 100))));
+    }
+
+    @Test
+    public void testConcurrentDefaultClass() throws InterruptedException {
+        for (int i = 0; i < 1_000; i++) {
+            var service = new ClassesService<>(ServiceTestNode.class, PACKAGE);
+
+            // Resolves the name while the default class is set, it may or may not be used
+            var thread = new Thread(() -> {
+                try {
+                    service.getClass("MissingNode");
+                } catch (RuntimeException e) {
+                    // Not mapped yet
+                }
+            });
+            thread.start();
+            service.setDefaultClass(ServiceTestNode.class);
+            thread.join();
+
+            assertEquals(ServiceTestNode.class, service.getClass("MissingNode"));
+        }
+    }
+}
+
+class ServiceTestNode extends DataNode<ServiceTestNode> {
+
+    public ServiceTestNode(DataStore data, Collection<? extends ServiceTestNode> children) {
+        super(data, children);
+    }
+
+    @Override
+    protected ServiceTestNode getThis() {
+        return this;
+    }
+
+    @Override
+    public String toContentString() {
+        return "";
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.treenode;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.suikasoft.jOptions.Datakey.DataKey;
+import org.suikasoft.jOptions.Datakey.KeyFactory;
+import org.suikasoft.jOptions.Interfaces.DataStore;
+
+public class DataNodeTest {
+
+    public static class TestNode extends DataNode<TestNode> {
+
+        public static final DataKey<String> NAME = KeyFactory.string("name");
+
+        public TestNode(DataStore data, Collection<? extends TestNode> children) {
+            super(data, children);
+        }
+
+        @Override
+        protected TestNode getThis() {
+            return this;
+        }
+
+        @Override
+        public String toContentString() {
+            return get(NAME);
+        }
+    }
+
+    private static TestNode newNode(String name, TestNode... children) {
+        return DataNode.newInstance(TestNode.class, Arrays.asList(children)).set(TestNode.NAME, name);
+    }
+
+    @Test
+    public void testCopy() {
+        var root = newNode("root", newNode("child1"), newNode("child2"));
+
+        var copy = root.copy();
+        assertEquals("root", copy.get(TestNode.NAME));
+        assertEquals("child2", copy.getChild(1).get(TestNode.NAME));
+
+        // Nodes do not share changes
+        copy.getChild(0).set(TestNode.NAME, "changed");
+        root.set(TestNode.NAME, "rootChanged");
+        assertEquals("child1", root.getChild(0).get(TestNode.NAME));
+        assertEquals("root", copy.get(TestNode.NAME));
+
+        var shallow = root.copyShallow();
+        assertEquals("rootChanged", shallow.get(TestNode.NAME));
+        assertEquals(Collections.emptyList(), shallow.getChildren());
+    }
+}
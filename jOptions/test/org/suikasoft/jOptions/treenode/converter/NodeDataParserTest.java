@@ -0,0 +1,80 @@
+/**
+ * Copyright 2026 SPeCS.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License. under the License.
+ */
+
+package org.suikasoft.jOptions.treenode.converter;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class NodeDataParserTest {
+
+    public static Object parseDefault(String value, Integer number) {
+        return "default:" + value + number;
+    }
+
+    public static String parseFooData(String value, Integer number) {
+        return "foo:" + value + number;
+    }
+
+    public static Object parseSingleDefault(Object value) {
+        return "single:" + value;
+    }
+
+    public static String parseBarData(Object value) {
+        return "bar:" + value;
+    }
+
+    private static NodeDataParser newParser(String defaultMethod, Class<?>... parameterTypes) {
+        try {
+            var method = NodeDataParserTest.class.getMethod(defaultMethod, parameterTypes);
+            return new NodeDataParser(method, Arrays.asList(NodeDataParserTest.class));
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void testTwoArguments() {
+        var parser = newParser("parseDefault", String.class, Integer.class);
+
+        assertEquals("foo:a1", parser.parse("Foo", "a", 1));
+        assertEquals("foo:a1", parser.parse("Foo", new Object[] { "a", 1 }));
+
+        // Unknown keys use the default method
+        assertEquals("default:b2", parser.parse("Other", "b", 2));
+        assertEquals("default:b2", parser.parse("Other", "b", 2));
+    }
+
+    @Test
+    public void testOneArgument() {
+        var parser = newParser("parseSingleDefault", Object.class);
+
+        assertEquals("bar:a", parser.parse("Bar", "a"));
+        assertEquals("single:a", parser.parse("Other", "a"));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        var parser = newParser("parseDefault", String.class, Integer.class);
+
+        try {
+            parser.parse("Foo", "a", "not a number");
+            fail("Expected exception");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("parseFooData"));
+        }
+    }
+}